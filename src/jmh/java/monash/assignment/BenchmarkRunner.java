@@ -0,0 +1,30 @@
+package monash.assignment;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the Commandle benchmarks with the GC profiler, so every result has both ns/op and
+ * bytes/op (gc.alloc.rate.norm). Results are written to jmh-result.json for tracking between changes
+ *
+ * <p>Run from the project root so the dictionary path resolves:</p>
+ * <pre>
+ *     mvn -Pjmh package -DskipTests
+ *     java -jar target/benchmarks.jar [JMH options, e.g. GameBenchmark]
+ * </pre>
+ */
+public class BenchmarkRunner {
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		new Runner(new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result("jmh-result.json")
+				.build()).run();
+	}
+}
@@ -0,0 +1,35 @@
+package monash.assignment;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for loading the text dictionary with {@link Commandle#loadDictionary(String)}
+ * and the compiled dictionary from the classpath with {@link Commandle#loadDictionary()}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandleBenchmark {
+	@Param("src/main/resources/dictionary.txt")
+	private String dictionaryPath;
+
+	@Benchmark
+	public WordIndex loadDictionary() throws IOException {
+		Commandle commandle = new Commandle();
+		commandle.loadDictionary(dictionaryPath);
+		return commandle.getDictionary();
+	}
+
+	@Benchmark
+	public WordIndex loadCompiledDictionary() throws IOException {
+		Commandle commandle = new Commandle();
+		commandle.loadDictionary();
+		return commandle.getDictionary();
+	}
+}
@@ -0,0 +1,45 @@
+package monash.assignment;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for analysing a finished six guess game over the whole dictionary with {@link GameAnalysis}
+ * The solver's opening guess is computed in the setup, as it is once per dictionary on a server
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameAnalysisBenchmark {
+	@Param("src/main/resources/dictionary.txt")
+	private String dictionaryPath;
+
+	private Solver solver;
+	private List<Game.Turn> turns;
+
+	@Setup
+	public void setup() throws IOException {
+		WordIndex dictionary = new WordIndex(Files.readAllLines(Path.of(dictionaryPath)));
+		solver = new Solver(FeedbackTable.direct(dictionary));
+
+		Game game = new Game("mummy", dictionary, Commandle.DEFAULT_TRIES);
+		for (String guess : List.of("crane", "pilot", "dumpy", "humph", "yummy", "mummy")) {
+			game.play(guess);
+		}
+		turns = List.copyOf(game.getTurns());
+		GameAnalysis.analyze(turns, solver);
+	}
+
+	@Benchmark
+	public GameAnalysis analyze() {
+		return GameAnalysis.analyze(turns, solver);
+	}
+}
@@ -0,0 +1,131 @@
+package monash.assignment;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for scoring and validating a guess in {@link Game}, scoring a guess against
+ * every board of a {@link MultiBoardGame}, and scoring a guess against the whole dictionary
+ * with a {@link BulkScorer}
+ * Guesses cycle through the dictionary so each invocation scores a different pair
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+	@Param("src/main/resources/dictionary.txt")
+	private String dictionaryPath;
+
+	private WordIndex dictionary;
+	private String[] words;
+	private String[] hardModeWords;
+	private Game game;
+	private Game hardGame;
+	private long[] boards;
+	private int[] codes;
+	private BulkScorer scorer;
+	private int[] candidateCodes;
+	private int[] histogram;
+	private int next;
+
+	@Setup
+	public void setup() throws IOException {
+		dictionary = new WordIndex(Files.readAllLines(Path.of(dictionaryPath)));
+		words = dictionary.toArray(new String[0]);
+		game = new Game("tares", dictionary, Commandle.DEFAULT_TRIES);
+		hardGame = new Game("tares", dictionary, Commandle.DEFAULT_TRIES);
+		hardGame.setHardMode(true);
+		hardGame.guessValidity("crane");
+		hardGame.play("crane");
+		hardGame.getGuesses().clear();
+		HardMode hints = new HardMode(dictionary.length());
+		hints.update(WordIndex.pack("crane"), Feedback.score(WordIndex.pack("crane"), WordIndex.pack("tares")));
+		hardModeWords = Arrays.stream(words).filter(word -> hints.allows(WordIndex.pack(word))).toArray(String[]::new);
+		boards = new long[MultiBoardGame.MAX_BOARDS];
+		for (int i = 0; i < boards.length; i++) {
+			boards[i] = dictionary.packedAt(i * 397 % dictionary.size());
+		}
+		codes = new int[boards.length];
+		scorer = new BulkScorer(dictionary.words(), dictionary.size());
+		candidateCodes = new int[dictionary.size()];
+		histogram = new int[Feedback.PATTERNS];
+		System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+	}
+
+	private String nextWord() {
+		next = next + 1 == words.length ? 0 : next + 1;
+		return words[next];
+	}
+
+	@Benchmark
+	public String checkGuess() {
+		return game.checkGuess(nextWord());
+	}
+
+	@Benchmark
+	public int scoreGuess() {
+		return game.scoreGuess(nextWord());
+	}
+
+	@Benchmark
+	public boolean guessValidity_whenValid() {
+		game.getGuesses().clear();
+		return game.guessValidity(nextWord());
+	}
+
+	@Benchmark
+	public boolean guessValidity_whenNotInDictionary() {
+		return game.guessValidity("zzzzz");
+	}
+
+	@Benchmark
+	public boolean guessValidity_hardMode() {
+		hardGame.getGuesses().clear();
+		next = next + 1 >= hardModeWords.length ? 0 : next + 1;
+		return hardGame.guessValidity(hardModeWords[next]);
+	}
+
+	@Benchmark
+	public int[] scoreBoards_batch() {
+		Feedback.score(WordIndex.pack(nextWord()), boards, codes);
+		return codes;
+	}
+
+	@Benchmark
+	public int[] scoreBoards_eachTarget() {
+		long guess = WordIndex.pack(nextWord());
+		for (int i = 0; i < boards.length; i++) {
+			codes[i] = Feedback.score(guess, boards[i]);
+		}
+		return codes;
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public int[] histogram_bulk() {
+		Arrays.fill(histogram, 0);
+		scorer.histogram(WordIndex.pack(nextWord()), candidateCodes, histogram);
+		return histogram;
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public int[] histogram_scalar() {
+		Arrays.fill(histogram, 0);
+		long guess = WordIndex.pack(nextWord());
+		for (int i = 0; i < dictionary.size(); i++) {
+			histogram[Feedback.score(guess, dictionary.packedAt(i))]++;
+		}
+		return histogram;
+	}
+}
@@ -0,0 +1,51 @@
+package monash.assignment;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for serving a hint from an {@link OpeningBook} after two turns that follow the book.
+ * The book is built in a temporary directory once per fork
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpeningBookBenchmark {
+	@Param("src/main/resources/dictionary.txt")
+	private String dictionaryPath;
+
+	private OpeningBook book;
+	private Solver solver;
+	private List<Game.Turn> turns;
+
+	@Setup
+	public void setup() throws IOException {
+		WordIndex dictionary = new WordIndex(Files.readAllLines(Path.of(dictionaryPath)));
+		solver = new Solver(FeedbackTable.direct(dictionary));
+		book = OpeningBook.open(solver, Commandle.DEFAULT_TRIES, Files.createTempDirectory("book"));
+		solver.setBook(book);
+
+		Game game = new Game(dictionary.get(dictionary.size() / 2), dictionary, Commandle.DEFAULT_TRIES);
+		game.play(dictionary.get(book.guess(game.getTurns())));
+		game.play(dictionary.get(book.guess(game.getTurns())));
+		turns = List.copyOf(game.getTurns());
+	}
+
+	@Benchmark
+	public int guess() {
+		return book.guess(turns);
+	}
+
+	@Benchmark
+	public String bestGuess() {
+		return solver.bestGuess(turns);
+	}
+}
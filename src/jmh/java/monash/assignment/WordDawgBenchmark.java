@@ -0,0 +1,63 @@
+package monash.assignment;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for building a {@link WordDawg} from the dictionary, and for the membership and
+ * prefix lookups used to autocomplete a guess
+ * Prefixes cycle through the first two and three letters of the dictionary words
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordDawgBenchmark {
+	@Param("src/main/resources/dictionary.txt")
+	private String dictionaryPath;
+
+	private WordIndex dictionary;
+	private WordDawg dawg;
+	private String[] words;
+	private int next;
+
+	@Setup
+	public void setup() throws IOException {
+		dictionary = new WordIndex(Files.readAllLines(Path.of(dictionaryPath)));
+		dawg = dictionary.dawg();
+		words = dictionary.toArray(new String[0]);
+	}
+
+	private String nextWord() {
+		next = next + 1 == words.length ? 0 : next + 1;
+		return words[next];
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public WordDawg build() {
+		return new WordDawg(dictionary);
+	}
+
+	@Benchmark
+	public boolean contains() {
+		return dawg.contains(nextWord());
+	}
+
+	@Benchmark
+	public int count() {
+		return dawg.count(nextWord().substring(0, 2));
+	}
+
+	@Benchmark
+	public List<String> complete() {
+		return dawg.complete(nextWord().substring(0, 3), Game.COMPLETIONS);
+	}
+}
@@ -0,0 +1,53 @@
+package monash.assignment;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link WordGenerator#generateTargetWord()} as the session grows
+ * Each iteration starts from a session that has already used sessionSize targets, then draws
+ * a batch of targets, so the benchmark never runs out of unused words
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, batchSize = WordGeneratorBenchmark.BATCH)
+@Measurement(iterations = 20, batchSize = WordGeneratorBenchmark.BATCH)
+@Fork(1)
+public class WordGeneratorBenchmark {
+	static final int BATCH = 1000;
+
+	@Param("src/main/resources/dictionary.txt")
+	private String dictionaryPath;
+
+	@Param({"0", "1000", "5000", "10000"})
+	private int sessionSize;
+
+	private WordIndex dictionary;
+	private WordGenerator wordGenerator;
+
+	@Setup(Level.Trial)
+	public void loadDictionary() throws IOException {
+		dictionary = new WordIndex(Files.readAllLines(Path.of(dictionaryPath)));
+	}
+
+	@Setup(Level.Iteration)
+	public void startSession() {
+		Set<String> sessionTargets = new HashSet<>();
+		wordGenerator = new WordGenerator(dictionary, sessionTargets, 42);
+		for (int i = 0; i < sessionSize; i++) {
+			wordGenerator.generateTargetWord();
+		}
+	}
+
+	@Benchmark
+	public String generateTargetWord() {
+		return wordGenerator.generateTargetWord();
+	}
+}
@@ -1,15 +1,234 @@
 package monash.assignment;
 
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
 
 /**
  * Commandle is a Wordle clone that runs in the command line.
+ * The dictionary bundled on the classpath is used unless the commandle.dictionary system property
+ * names a text or compiled dictionary file. Words have 5 letters and players get 6 tries unless the
+ * commandle.length (4 to 8) and commandle.tries system properties say otherwise, and
+ * -Dcommandle.hard=true turns on hard mode, where every guess must reuse the hints revealed so far.
+ * The commandle.boards system property plays 2 to 32 target words at once, with one more try per
+ * extra board unless commandle.tries is set, see {@link MultiBoardGame}. Several boards cannot be
+ * played in hard mode.
+ * If the commandle.stats system property names a directory, every game played interactively, from a
+ * script or as the daily puzzle is recorded there by a {@link StatsJournal}. Games of several boards
+ * are not recorded, as the journal holds a single target word per game.
+ * With -Dcommandle.watch=true, a dictionary file named by commandle.dictionary is reloaded when it
+ * changes, and new games are played on the new words, see {@link DictionaryWatcher}.
+ * -Dcommandle.analysis=true follows every finished game of one board with a {@link GameAnalysis} of its guesses.
+ * With an ISO-8601 duration in the commandle.sessions.ttl system property, e.g. PT30M, the server
+ * pauses games left in progress in a {@link SessionStore} for that long, within the bytes in
+ * commandle.sessions.bytes, 64 MiB by default, so players can reconnect and resume them
+ *
+ * <p>Modes selected by the first argument:</p>
+ * <ol>
+ *     <li>--simulate [games|all] [entropy|first] - plays games headlessly and prints the results, see {@link Simulation}</li>
+ *     <li>--server [port] - serves games to many players over TCP, see {@link GameServer}</li>
+ *     <li>--load [players] [games] [host:port] - drives simulated players through games in this JVM, or
+ *     against a server, and prints the throughput, latencies and allocation, see {@link LoadGenerator}</li>
+ *     <li>--script [file] - plays games from a script file, or piped standard input, with buffered output</li>
+ *     <li>--daily [yyyy-mm-dd] - plays the daily puzzle for today or the given date, see {@link DailySchedule}</li>
+ *     <li>--stats - prints the player's statistics</li>
+ *     <li>--book - builds the {@link OpeningBook} for the dictionary and tries in the commandle.cache directory</li>
+ *     <li>anything else - starts an interactive game, an optional argument is used as the first target word</li>
+ * </ol>
+ *
+ * For production, -Dlog4j.configurationFile=log4j2-production.xml switches to asynchronous,
+ * garbage-free logging at the level in the commandle.log.level system property.
+ * {@link Metrics} are registered with JMX, and written to the log at the ISO-8601 interval in the
+ * commandle.metrics.interval system property, e.g. PT1M, if it is set
  */
 public class Application {
+	private static final int SCRIPT_BUFFER = 1 << 16;
+	private static final long SESSION_BYTES = 64L << 20;
+
 	public static void main(String[] args) throws IOException {
+		Metrics.register();
+		String metricsInterval = System.getProperty("commandle.metrics.interval");
+		if (metricsInterval != null) {
+			Metrics.dumpEvery(Duration.parse(metricsInterval));
+		}
+
 		Commandle commandle = new Commandle();
-		commandle.loadDictionary("src/main/resources/dictionary.txt");
-		commandle.run(args);
+		commandle.setWordLength(Integer.getInteger("commandle.length", WordIndex.WORD_LENGTH));
+		int boards = Integer.getInteger("commandle.boards", 1);
+		commandle.setBoards(boards);
+		commandle.setTries(Integer.getInteger("commandle.tries", Commandle.DEFAULT_TRIES + boards - 1));
+		commandle.setHardMode(Boolean.getBoolean("commandle.hard"));
+		commandle.setAnalysis(Boolean.getBoolean("commandle.analysis"));
+
+		String dictionary = System.getProperty("commandle.dictionary");
+		if (dictionary != null) {
+			commandle.loadDictionary(dictionary);
+		} else {
+			commandle.loadDictionary();
+		}
+
+		String feedbackCache = System.getProperty("commandle.cache");
+		if (feedbackCache != null) {
+			commandle.setFeedbackCache(Path.of(feedbackCache));
+		}
+
+		String stats = System.getProperty("commandle.stats");
+		if (stats != null) {
+			StatsJournal journal = StatsJournal.open(Path.of(stats));
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				try {
+					journal.close();
+				} catch (IOException e) {
+					System.err.println("Could not write the stats journal: " + e.getMessage());
+				}
+			}));
+			commandle.setStats(journal);
+		}
+
+		if (dictionary != null && Boolean.getBoolean("commandle.watch")) {
+			commandle.watchDictionary(Path.of(dictionary));
+		}
+
+		if (args.length > 0 && args[0].equals("--simulate")) {
+			simulate(commandle, args);
+		} else if (args.length > 0 && args[0].equals("--server")) {
+			int port = args.length > 1 ? Integer.parseInt(args[1]) : 4000;
+			GameServer server = new GameServer(commandle.getDictionary(), commandle.solver(), commandle.getTries(), port);
+			server.setWatcher(commandle.getWatcher());
+			server.setFeedbackCache(commandle.getFeedbackCache());
+			server.setBoards(commandle.getBoards());
+			server.setHardMode(commandle.isHardMode());
+			server.setAnalysis(commandle.isAnalysis());
+			String sessionTtl = System.getProperty("commandle.sessions.ttl");
+			if (sessionTtl != null) {
+				server.setStore(new SessionStore(commandle.getDictionary(), commandle.solver(), Duration.parse(sessionTtl),
+						Long.getLong("commandle.sessions.bytes", SESSION_BYTES)));
+			}
+			server.serve();
+		} else if (args.length > 0 && args[0].equals("--load")) {
+			load(commandle, args);
+		} else if (args.length > 0 && args[0].equals("--daily")) {
+			LocalDate date = args.length > 1 ? LocalDate.parse(args[1]) : LocalDate.now(ZoneOffset.UTC);
+			commandle.playTarget(dailySchedule(commandle).target(date));
+		} else if (args.length > 0 && args[0].equals("--stats")) {
+			System.out.print(commandle.getStats() == null ? "Set commandle.stats to keep statistics" + System.lineSeparator() : commandle.getStats().stats());
+		} else if (args.length > 0 && args[0].equals("--book")) {
+			if (commandle.getFeedbackCache() == null) {
+				System.out.print("Set commandle.cache to build the opening book" + System.lineSeparator());
+			} else {
+				commandle.solver();
+				System.out.print(OpeningBook.cacheFile(commandle.getDictionary(), commandle.getTries(), commandle.getFeedbackCache()) + System.lineSeparator());
+			}
+		} else if (args.length > 0 && args[0].equals("--script")) {
+			script(commandle, args.length > 1 ? Path.of(args[1]) : null);
+		} else {
+			commandle.run(args);
+		}
+	}
+
+	/**
+	 * Loads the daily schedule for the dictionary. The schedule is seeded by the commandle.daily.seed
+	 * system property and starts on the date in commandle.daily.start, so nodes with the same
+	 * settings agree on every puzzle. It is stored in the file named by commandle.schedule, or in
+	 * the feedback cache directory, and only kept in memory if neither is set
+	 */
+	private static DailySchedule dailySchedule(Commandle commandle) throws IOException {
+		WordIndex dictionary = commandle.getDictionary();
+		List<String> pinned = DailySchedule.loadPinnedResource();
+		LocalDate start = LocalDate.parse(System.getProperty("commandle.daily.start", DailySchedule.DEFAULT_START.toString()));
+		long seed = Long.getLong("commandle.daily.seed", DailySchedule.DEFAULT_SEED);
+
+		String file = System.getProperty("commandle.schedule");
+		if (file == null && commandle.getFeedbackCache() != null) {
+			file = commandle.getFeedbackCache().resolve("daily-schedule.bin").toString();
+		}
+
+		return file == null
+				? DailySchedule.build(dictionary, pinned, start, seed)
+				: DailySchedule.load(Path.of(file), dictionary, pinned, start, seed);
+	}
+
+	/**
+	 * Plays games non-interactively, reading answers from the script and writing every message
+	 * through one buffered writer that is only flushed when it fills and at the end.
+	 * Target words are drawn with the commandle.seed system property if it is set, so a script
+	 * can be replayed against the same targets
+	 *
+	 * @param script The script file, or null to read standard input
+	 */
+	private static void script(Commandle commandle, Path script) throws IOException {
+		BufferedReader reader = script == null
+				? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), SCRIPT_BUFFER)
+				: new BufferedReader(new InputStreamReader(Files.newInputStream(script), StandardCharsets.UTF_8), SCRIPT_BUFFER);
+		Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), SCRIPT_BUFFER);
+
+		Long seed = Long.getLong("commandle.seed");
+		if (seed != null) {
+			commandle.setWordGenerator(new WordGenerator(commandle.getDictionary(), commandle.getSessionTargets(), seed));
+		}
+
+		try (StreamIO io = new StreamIO(reader, writer, false)) {
+			commandle.setIo(io);
+			commandle.run(new String[0]);
+		}
+	}
+
+	/**
+	 * Plays games with simulated players, 64 players playing 100 games each unless the arguments
+	 * say otherwise. Players guess from the dictionary of the session, so a server must serve the
+	 * same one. The shares of invalid and duplicate guesses are read from the
+	 * commandle.load.invalid and commandle.load.duplicate system properties, and guesses are
+	 * drawn with commandle.seed if it is set
+	 */
+	private static void load(Commandle commandle, String[] args) throws IOException {
+		int players = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+		int games = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+		long seed = Long.getLong("commandle.seed", System.nanoTime());
+
+		LoadGenerator generator = new LoadGenerator(commandle.getDictionary(), commandle.solver(), commandle.getTries());
+		generator.setRates(
+				Double.parseDouble(System.getProperty("commandle.load.invalid", String.valueOf(LoadGenerator.DEFAULT_INVALID_RATE))),
+				Double.parseDouble(System.getProperty("commandle.load.duplicate", String.valueOf(LoadGenerator.DEFAULT_DUPLICATE_RATE))));
+
+		LoadGenerator.Result result;
+		if (args.length > 3) {
+			int colon = args[3].lastIndexOf(':');
+			result = generator.run(args[3].substring(0, colon), Integer.parseInt(args[3].substring(colon + 1)), players, games, seed);
+		} else {
+			result = generator.run(players, games, seed);
+		}
+
+		System.out.print(result);
+	}
+
+	/**
+	 * Plays every target in the dictionary, or the given number of random targets, with the
+	 * chosen strategy. Random targets are drawn with the commandle.seed system property if it is set
+	 */
+	private static void simulate(Commandle commandle, String[] args) {
+		String games = args.length > 1 ? args[1] : "all";
+		GuessStrategy strategy = args.length > 2 && args[2].equals("first")
+				? GuessStrategy.firstCandidate()
+				: GuessStrategy.entropy(commandle.solver());
+
+		Simulation simulation = new Simulation(commandle.getDictionary(), commandle.getTries(), strategy);
+		Simulation.Result result = games.equals("all")
+				? simulation.runAll()
+				: simulation.run(Integer.parseInt(games), Long.getLong("commandle.seed", System.nanoTime()));
+
+		System.out.print(result);
 	}
 }
@@ -0,0 +1,295 @@
+package monash.assignment;
+
+/**
+ * The BulkScorer class scores one guess against every word of a fixed set of candidates, such as
+ * the words that can still be the target of a game, and buckets the results by feedback code
+ *
+ * <p>The candidates are stored by letter position instead of by word: one array holds the first
+ * letter of every candidate, the next the second letter, and so on, with one more array of the
+ * letters each candidate contains as a bitmask. The guess is then scored one position at a time
+ * over all candidates, in loops of plain int arithmetic with no branches that the JIT compiles
+ * to SIMD instructions, rather than one candidate at a time. A guess letter that is not repeated
+ * in the guess is present if the candidate contains it anywhere and it is not correct, which is
+ * one mask test. A repeated letter is matched against a count of its copies in each candidate,
+ * so the codes are the same as {@link Feedback#score(long, long)} for every guess.</p>
+ *
+ * <p>{@link #score(long, int[], int, int[])} scores a subset of the candidates chosen by index,
+ * such as the words of a game that are still possible, by first copying their letters into scratch
+ * columns, so the same loops run over the subset and nothing is allocated once the scratch exists.</p>
+ *
+ * <p>{@link #scoreScalar(long, int[])} scores each candidate with {@link Feedback#score(long, long)}
+ * instead, and is used for every guess when the commandle.scorer.scalar system property is true.
+ * A scorer holds the scratch arrays of the guess being scored, so it is not thread safe. Each
+ * thread should score with its own {@link #BulkScorer(BulkScorer) copy}, which shares the candidates.</p>
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>candidates - the packed candidate words</li>
+ *     <li>count - the number of candidates</li>
+ *     <li>length - the number of letters in every candidate</li>
+ *     <li>letterAt - the letter of every candidate at each position, 0 for a, by position</li>
+ *     <li>letters - a bitmask of the letters each candidate contains, bit 0 is a</li>
+ *     <li>guessLetters - scratch, the letters of the guess being scored</li>
+ *     <li>correct - scratch, a bitmask of the positions where each candidate matches the guess</li>
+ *     <li>remaining - scratch, the copies of a repeated guess letter not yet matched in each candidate</li>
+ *     <li>subsetAt - scratch, letterAt for the subset being scored, created on the first subset</li>
+ *     <li>subsetLetters - scratch, letters for the subset being scored, created on the first subset</li>
+ * </ol>
+ */
+public final class BulkScorer {
+	static final boolean SCALAR = Boolean.getBoolean("commandle.scorer.scalar");
+
+	private static final int[] POW3 = {1, 3, 9, 27, 81, 243, 729, 2187, 6561};
+
+	private final long[] candidates;
+	private final int count;
+	private final int length;
+	private final int[][] letterAt;
+	private final int[] letters;
+	private final int[] guessLetters;
+	private final int[] correct;
+	private final int[] remaining;
+	private int[][] subsetAt;
+	private int[] subsetLetters;
+
+	/**
+	 * @param candidates The packed candidate words, all of the same length. The array is not copied
+	 * @param count      The number of candidates in the array
+	 */
+	public BulkScorer(long[] candidates, int count) {
+		this.candidates = candidates;
+		this.count = count;
+		this.length = count == 0 ? WordIndex.WORD_LENGTH : WordIndex.length(candidates[0]);
+		this.letterAt = new int[length][count];
+		this.letters = new int[count];
+		this.guessLetters = new int[length];
+		this.correct = new int[count];
+		this.remaining = new int[count];
+
+		for (int c = 0; c < count; c++) {
+			for (int i = 0; i < length; i++) {
+				int letter = WordIndex.letter(candidates[c], length, i);
+				letterAt[i][c] = letter;
+				letters[c] |= 1 << letter;
+			}
+		}
+	}
+
+	/**
+	 * Creates a scorer for the same candidates with its own scratch arrays, for another thread
+	 *
+	 * @param other The scorer to share the candidates of
+	 */
+	public BulkScorer(BulkScorer other) {
+		this.candidates = other.candidates;
+		this.count = other.count;
+		this.length = other.length;
+		this.letterAt = other.letterAt;
+		this.letters = other.letters;
+		this.guessLetters = new int[length];
+		this.correct = new int[count];
+		this.remaining = new int[count];
+	}
+
+	/**
+	 * Scores the guess against every candidate
+	 *
+	 * @param guess The packed guess, with the length of the candidates
+	 * @param codes The array the feedback code for each candidate is written to, at least count long
+	 */
+	public void score(long guess, int[] codes) {
+		if (SCALAR) {
+			scoreScalar(guess, codes);
+			return;
+		}
+
+		score(guess, letterAt, letters, count, codes);
+	}
+
+	/**
+	 * Scores the guess against a subset of the candidates. The letters of the subset are copied
+	 * into scratch columns, which are created on the first call, and scored like every candidate
+	 *
+	 * @param guess   The packed guess, with the length of the candidates
+	 * @param indices The indices of the candidates to score, which must be less than count
+	 * @param n       The number of indices
+	 * @param codes   The array the feedback code for indices[k] is written to at k, at least n long
+	 */
+	public void score(long guess, int[] indices, int n, int[] codes) {
+		if (SCALAR) {
+			for (int k = 0; k < n; k++) {
+				codes[k] = Feedback.score(guess, candidates[indices[k]]);
+			}
+			return;
+		}
+
+		if (subsetAt == null) {
+			subsetAt = new int[length][count];
+			subsetLetters = new int[count];
+		}
+		for (int i = 0; i < length; i++) {
+			int[] from = letterAt[i];
+			int[] to = subsetAt[i];
+			for (int k = 0; k < n; k++) {
+				to[k] = from[indices[k]];
+			}
+		}
+		for (int k = 0; k < n; k++) {
+			subsetLetters[k] = letters[indices[k]];
+		}
+
+		score(guess, subsetAt, subsetLetters, n, codes);
+	}
+
+	/**
+	 * Scores the guess against the first n candidates of the columns
+	 *
+	 * <p>Variables defined in this method:</p>
+	 * <ol>
+	 *     <li>letter - the letter of the guess at the position being scored</li>
+	 *     <li>copies - the positions of the guess that hold the letter</li>
+	 *     <li>green - 1 if the candidate has the letter at the position, otherwise 0</li>
+	 *     <li>present - 1 if the letter is present in the candidate, but not at the position, otherwise 0</li>
+	 * </ol>
+	 *
+	 * @param guess    The packed guess, with the length of the candidates
+	 * @param columns  The letter of every candidate at each position, by position
+	 * @param contains A bitmask of the letters each candidate contains
+	 * @param n        The number of candidates in the columns to score
+	 * @param codes    The array the feedback code for each candidate is written to, at least n long
+	 */
+	private void score(long guess, int[][] columns, int[] contains, int n, int[] codes) {
+		for (int i = 0; i < length; i++) {
+			guessLetters[i] = WordIndex.letter(guess, length, i);
+		}
+
+		for (int c = 0; c < n; c++) {
+			codes[c] = 0;
+			correct[c] = 0;
+		}
+
+		for (int i = 0; i < length; i++) {
+			int letter = guessLetters[i];
+			int[] at = columns[i];
+			int weight = Feedback.CORRECT * POW3[i];
+			for (int c = 0; c < n; c++) {
+				int green = ((at[c] ^ letter) - 1) >>> 31;
+				codes[c] += green * weight;
+				correct[c] |= green << i;
+			}
+		}
+
+		int done = 0;
+		for (int i = 0; i < length; i++) {
+			int letter = guessLetters[i];
+			if ((done & (1 << letter)) != 0) {
+				continue;
+			}
+			done |= 1 << letter;
+
+			int copies = 0;
+			for (int j = i; j < length; j++) {
+				if (guessLetters[j] == letter) {
+					copies |= 1 << j;
+				}
+			}
+
+			if (copies == 1 << i) {
+				int weight = POW3[i];
+				for (int c = 0; c < n; c++) {
+					int present = (contains[c] >>> letter) & ~(correct[c] >>> i) & 1;
+					codes[c] += present * weight;
+				}
+			} else {
+				scoreRepeated(letter, copies, columns, n, codes);
+			}
+		}
+	}
+
+	/**
+	 * Scores the positions of a letter that is repeated in the guess. The copies of the letter in
+	 * each candidate that are not matched by a correct position are counted, and then given to
+	 * the guess positions that are not correct from left to right until they run out
+	 *
+	 * @param letter  The letter, 0 for a
+	 * @param copies  A bitmask of the guess positions that hold the letter
+	 * @param columns The letter of every candidate at each position, by position
+	 * @param n       The number of candidates in the columns to score
+	 * @param codes   The feedback codes being built
+	 */
+	private void scoreRepeated(int letter, int copies, int[][] columns, int n, int[] codes) {
+		for (int c = 0; c < n; c++) {
+			remaining[c] = -Integer.bitCount(correct[c] & copies);
+		}
+		for (int j = 0; j < length; j++) {
+			int[] at = columns[j];
+			for (int c = 0; c < n; c++) {
+				remaining[c] += ((at[c] ^ letter) - 1) >>> 31;
+			}
+		}
+
+		for (int i = 0; i < length; i++) {
+			if (guessLetters[i] != letter) {
+				continue;
+			}
+
+			int weight = POW3[i];
+			for (int c = 0; c < n; c++) {
+				int present = ((-remaining[c]) >>> 31) & ~(correct[c] >>> i) & 1;
+				codes[c] += present * weight;
+				remaining[c] -= present;
+			}
+		}
+	}
+
+	/**
+	 * Scores the guess against every candidate with {@link Feedback#score(long, long)}
+	 *
+	 * @param guess The packed guess, with the length of the candidates
+	 * @param codes The array the feedback code for each candidate is written to, at least count long
+	 */
+	public void scoreScalar(long guess, int[] codes) {
+		for (int c = 0; c < count; c++) {
+			codes[c] = Feedback.score(guess, candidates[c]);
+		}
+	}
+
+	/**
+	 * Counts the candidates that give each feedback code for the guess
+	 *
+	 * @param guess     The packed guess, with the length of the candidates
+	 * @param codes     Scratch for the feedback codes, at least count long
+	 * @param histogram The counts of each code are added to this array, which is at least
+	 *                  {@link Feedback#patterns(int)} long and is not cleared first
+	 */
+	public void histogram(long guess, int[] codes, int[] histogram) {
+		score(guess, codes);
+		for (int c = 0; c < count; c++) {
+			histogram[codes[c]]++;
+		}
+	}
+
+	/**
+	 * Counts the candidates of a subset that give each feedback code for the guess
+	 *
+	 * @param guess     The packed guess, with the length of the candidates
+	 * @param indices   The indices of the candidates to score, which must be less than count
+	 * @param n         The number of indices
+	 * @param codes     Scratch for the feedback codes, at least n long
+	 * @param histogram The counts of each code are added to this array, which is at least
+	 *                  {@link Feedback#patterns(int)} long and is not cleared first
+	 */
+	public void histogram(long guess, int[] indices, int n, int[] codes, int[] histogram) {
+		score(guess, indices, n, codes);
+		for (int k = 0; k < n; k++) {
+			histogram[codes[k]]++;
+		}
+	}
+
+	/**
+	 * @return The number of candidates
+	 */
+	public int count() {
+		return count;
+	}
+}
@@ -0,0 +1,118 @@
+package monash.assignment;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * The CandidateSet class tracks the dictionary words that can still be the target word of a game
+ * The set is a bitset over dictionary indices that starts with every word and is narrowed by
+ * the {@link ConstraintIndex} after each guess
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>dictionary - the {@link WordIndex} the indices refer to</li>
+ *     <li>bits - the bitset of dictionary indices that are still candidates</li>
+ * </ol>
+ */
+public final class CandidateSet {
+	private final WordIndex dictionary;
+	private final long[] bits;
+
+	/**
+	 * @param dictionary The dictionary to track candidates for
+	 * @return A set containing every word in the dictionary
+	 */
+	public static CandidateSet all(WordIndex dictionary) {
+		CandidateSet set = new CandidateSet(dictionary);
+		int size = dictionary.size();
+		for (int i = 0; i < size >>> 6; i++) {
+			set.bits[i] = -1L;
+		}
+		if ((size & 63) != 0) {
+			set.bits[size >>> 6] = (1L << size) - 1;
+		}
+		return set;
+	}
+
+	private CandidateSet(WordIndex dictionary) {
+		this.dictionary = dictionary;
+		this.bits = new long[dictionary.constraints().length()];
+	}
+
+	/**
+	 * Removes every candidate that would not give the feedback code for the guess
+	 *
+	 * @param guess    The guess, packed with {@link WordIndex#pack(CharSequence)}
+	 * @param feedback The {@link Feedback} code of the guess
+	 */
+	public void apply(long guess, int feedback) {
+		dictionary.constraints().apply(bits, guess, feedback);
+	}
+
+	/**
+	 * @param index A dictionary index
+	 * @return true if the word at the index is still a candidate
+	 */
+	public boolean contains(int index) {
+		return (bits[index >>> 6] & (1L << index)) != 0;
+	}
+
+	/**
+	 * @return The number of candidates left
+	 */
+	public int count() {
+		int count = 0;
+		for (long word : bits) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	/**
+	 * @param out The array the dictionary indices are written to, at least {@link #count()} long
+	 * @return The number of indices written
+	 */
+	public int toArray(int[] out) {
+		int count = 0;
+		for (int i = 0; i < bits.length; i++) {
+			long word = bits[i];
+			while (word != 0) {
+				out[count++] = (i << 6) + Long.numberOfTrailingZeros(word);
+				word &= word - 1;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @return An iterator over the dictionary indices of the candidates, in dictionary order
+	 */
+	public PrimitiveIterator.OfInt iterator() {
+		return new PrimitiveIterator.OfInt() {
+			private int i;
+			private long word = bits.length == 0 ? 0 : bits[0];
+
+			@Override
+			public boolean hasNext() {
+				while (word == 0 && i + 1 < bits.length) {
+					word = bits[++i];
+				}
+				return word != 0;
+			}
+
+			@Override
+			public int nextInt() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				int index = (i << 6) + Long.numberOfTrailingZeros(word);
+				word &= word - 1;
+				return index;
+			}
+		};
+	}
+
+	public WordIndex dictionary() {
+		return dictionary;
+	}
+}
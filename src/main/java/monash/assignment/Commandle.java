@@ -3,12 +3,14 @@ package monash.assignment;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -21,27 +23,65 @@ import java.util.*;
  *     <li>targetWord - the word that the user is trying to guess</li>
  *     <li>wordGenerator - the {@link WordGenerator} used to generate the target word </li>
  *     <li>game - the {@link Game} that is currently being played </li>
- *     <li>dictionary - the list of words that are used for generating targetWords and to validate user guesses</li>
+ *     <li>dictionary - the {@link WordIndex} of words that are used for generating targetWords and to validate user guesses</li>
+ *     <li>dictionaries - the {@link PartitionedDictionary} loaded from the dictionary file, which dictionary is chosen from by wordLength</li>
+ *     <li>wordLength - the number of letters in the words of the session</li>
+ *     <li>tries - the number of tries the user has to guess each target word</li>
+ *     <li>hardMode - whether games are played in hard mode, see {@link HardMode}</li>
+ *     <li>boards - the number of target words played at once, more than one plays a {@link MultiBoardGame}</li>
+ *     <li>targetWords - the target word of each board of the current game</li>
  *     <li>sessionTargets - the list of words that have been used as a target word in the current session</li>
+ *     <li>feedbackCache - the directory for {@link FeedbackMatrix} and {@link OpeningBook} cache files, or null to score without them</li>
+ *     <li>solver - the {@link Solver} used for hints, which can be shared between sessions with the same dictionary</li>
+ *     <li>io - the {@link GameIO} used by the session and its games</li>
+ *     <li>stats - the {@link StatsJournal} every finished single board game is recorded in, or null to keep no statistics</li>
+ *     <li>analysis - whether each finished game is followed by a {@link GameAnalysis} of its guesses, which only games of one board have</li>
+ *     <li>watcher - the {@link DictionaryWatcher} new games take the latest dictionary from, or null to keep the loaded one</li>
  * </ol>
  *
  */
 @Data
 public class Commandle {
+	private static final Logger log = LogManager.getLogger(Commandle.class);
 
-	private static final int MAX_TRIES = 6;
+	static final int DEFAULT_TRIES = 6;
 
 	private String targetWord;
-	private List<String> dictionary = new ArrayList<>();
+	private WordIndex dictionary = WordIndex.EMPTY;
+	@Setter(AccessLevel.NONE)
+	private PartitionedDictionary dictionaries = PartitionedDictionary.EMPTY;
+	@Setter(AccessLevel.NONE)
+	private int wordLength = WordIndex.WORD_LENGTH;
+	private int tries = DEFAULT_TRIES;
+	private boolean hardMode;
+	@Setter(AccessLevel.NONE)
+	private int boards = 1;
+	@Setter(AccessLevel.NONE)
+	private List<String> targetWords = List.of();
 	private Set<String> sessionTargets = new HashSet<>();
 	private Game game;
 	@Getter(AccessLevel.NONE)
 	private WordGenerator wordGenerator;
 	@Getter(AccessLevel.NONE)
 	private boolean testFlag;
+	private Path feedbackCache;
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private FeedbackTable feedbackTable;
+	@Getter(AccessLevel.NONE)
+	private Solver solver;
+	@NonNull
+	@Getter(AccessLevel.NONE)
+	private GameIO io = GameIO.console();
+	@Setter(AccessLevel.NONE)
+	private StatsJournal stats;
+	private boolean analysis;
+	private DictionaryWatcher watcher;
 
 	/**
 	 * Method that starts the game
+	 * Games are played in a loop until the user stops playing, so a session of any number of
+	 * games runs in constant stack depth
 	 *
 	 * @param args Argument that allows the user to specify a target word for the first game of the session
 	 */
@@ -50,45 +90,243 @@ public class Commandle {
 			wordGenerator = new WordGenerator(getDictionary(), sessionTargets);
 		}
 
-		if (args.length > 0) {
-			setTargetWord(args);
-		} else {
-			setTargetWord();
-		}
+		do {
+			refreshDictionary();
+			if (args.length > 0) {
+				setTargetWord(args);
+				args = new String[0];
+			} else {
+				setTargetWord();
+			}
+
+			if (targetWord == null) {
+				return;
+			}
 
-		if (targetWord != null) {
 			sessionTargets.add(targetWord);
+			playGame();
+		} while (!testFlag && wantsToPlayAgain());
 
-			startGame();
-		}
+		flushStats();
 	}
 
 	/**
-	 * Loads the dictionary file into dictionary list
+	 * Loads the dictionary file and uses the words of wordLength letters.
+	 * The file can be a text dictionary or a dictionary compiled by {@link DictionaryFile}
 	 */
 	protected void loadDictionary(String filePath) throws IOException {
-		FileReader fr = new FileReader(filePath);
-		BufferedReader br = new BufferedReader(fr);
-		String line = br.readLine();
+		long started = System.nanoTime();
+		dictionaries = DictionaryFile.load(Path.of(filePath));
+		dictionary = dictionaries.forLength(wordLength);
+		Metrics.global().loadDictionary.recordSince(started);
+	}
+
+	/**
+	 * Loads the dictionary bundled on the classpath and uses the words of wordLength letters
+	 */
+	protected void loadDictionary() throws IOException {
+		long started = System.nanoTime();
+		dictionaries = DictionaryFile.loadResource();
+		dictionary = dictionaries.forLength(wordLength);
+		Metrics.global().loadDictionary.recordSince(started);
+	}
+
+	/**
+	 * Watches the dictionary file and reloads it in the background when it changes, see
+	 * {@link DictionaryWatcher}. The {@link Solver} for a new dictionary is built on the watcher's
+	 * thread before it is published, with its opening guess worked out, and shared by every
+	 * session that plays it. When feedbackCache is set, it reads a {@link FeedbackMatrix} and an
+	 * {@link OpeningBook} stored there, so the next game only has to take it
+	 *
+	 * @param file The dictionary file, which should be the file the dictionary was loaded from
+	 * @return The running watcher, which the caller should close when the session ends
+	 * @throws IOException if the directory of the file cannot be watched
+	 */
+	public DictionaryWatcher watchDictionary(Path file) throws IOException {
+		int length = wordLength;
+		int depth = tries;
+		Path cache = feedbackCache;
+		watcher = DictionaryWatcher.start(file, dictionaries, dictionary.isEmpty() ? null : solver(), snapshot -> {
+			WordIndex words = snapshot.forLength(length);
+			if (words.isEmpty()) {
+				return null;
+			}
+
+			try {
+				Solver next = new Solver(cache == null ? FeedbackTable.direct(words) : FeedbackMatrix.open(words, cache));
+				if (cache != null) {
+					next.setBook(OpeningBook.open(next, depth, cache));
+				}
+				int[] all = new int[words.size()];
+				next.bestGuess(all, next.candidates(List.of(), all));
+				return next;
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		return watcher;
+	}
+
+	/**
+	 * Takes the latest dictionary from the watcher, if there is one, before a new game starts.
+	 * The game being played keeps the dictionary it was created with. A snapshot with no words
+	 * of wordLength letters is skipped, and a snapshot with the same words keeps the current
+	 * dictionary so the solver does not have to be rebuilt. Otherwise the session takes the
+	 * solver the watcher prepared for the snapshot
+	 */
+	private void refreshDictionary() {
+		if (watcher == null || watcher.current() == dictionaries) {
+			return;
+		}
+
+		dictionaries = watcher.current();
+		WordIndex latest = dictionaries.forLength(wordLength);
+		if (latest.isEmpty()) {
+			log.warn("The reloaded dictionary has no words of {} letters, keeping the current one", wordLength);
+		} else if (latest.fingerprint() != dictionary.fingerprint()) {
+			log.info("Switching to the reloaded dictionary of {} words", latest.size());
+			dictionary = latest;
+			Solver prepared = watcher.solver(latest);
+			if (prepared != null) {
+				solver = prepared;
+			}
+			if (wordGenerator != null) {
+				wordGenerator.setWordList(latest);
+			}
+		}
+	}
+
+	/**
+	 * Switches the session to words of another length. If a dictionary has been loaded, the
+	 * partition of that length becomes the dictionary and new target words are drawn from it
+	 *
+	 * @param wordLength The number of letters, from {@value WordIndex#MIN_LENGTH} to {@value WordIndex#MAX_LENGTH}
+	 */
+	public void setWordLength(int wordLength) {
+		this.wordLength = WordIndex.checkLength(wordLength);
+		if (dictionaries != PartitionedDictionary.EMPTY) {
+			dictionary = dictionaries.forLength(wordLength);
+			wordGenerator = null;
+		}
+	}
+
+	/**
+	 * @param boards The number of target words to play at once, 1 for a normal game or
+	 *               {@value MultiBoardGame#MIN_BOARDS} to {@value MultiBoardGame#MAX_BOARDS} for a {@link MultiBoardGame}
+	 * @throws IllegalArgumentException if the number of boards is not supported, or more than one board is played in hard mode
+	 */
+	public void setBoards(int boards) {
+		if (boards != 1 && (boards < MultiBoardGame.MIN_BOARDS || boards > MultiBoardGame.MAX_BOARDS)) {
+			throw new IllegalArgumentException(String.format("Boards must be 1 or %d to %d", MultiBoardGame.MIN_BOARDS, MultiBoardGame.MAX_BOARDS));
+		}
+		if (boards > 1 && hardMode) {
+			throw new IllegalArgumentException(MultiBoardGame.NO_HARD_MODE);
+		}
+		this.boards = boards;
+	}
+
+	/**
+	 * @param hardMode Whether games are played in hard mode, see {@link HardMode}
+	 * @throws IllegalArgumentException if hard mode is turned on while more than one board is played
+	 */
+	public void setHardMode(boolean hardMode) {
+		if (hardMode && boards > 1) {
+			throw new IllegalArgumentException(MultiBoardGame.NO_HARD_MODE);
+		}
+		this.hardMode = hardMode;
+	}
+
+	/**
+	 * Records every game finished from now on in the journal. The targets of the player's current
+	 * cycle through the dictionary become the sessionTargets, so they are not drawn again straight away
+	 *
+	 * @param stats The journal, or null to stop recording
+	 */
+	public void setStats(StatsJournal stats) {
+		this.stats = stats;
+		if (stats != null) {
+			sessionTargets.addAll(stats.stats().recentTargets(dictionary));
+		}
+	}
+
+	/**
+	 * @return The {@link FeedbackTable} for the current dictionary. When feedbackCache is set the
+	 * table is a {@link FeedbackMatrix} stored in that directory, which is rebuilt whenever the
+	 * dictionary changes. Otherwise each pair is scored when it is asked for
+	 */
+	protected FeedbackTable feedbackTable() {
+		if (feedbackTable == null || feedbackTable.dictionary() != dictionary) {
+			try {
+				feedbackTable = feedbackCache == null
+						? FeedbackTable.direct(dictionary)
+						: FeedbackMatrix.open(dictionary, feedbackCache);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
 
-		while (line != null) {
-			String word = line.trim().toLowerCase();
-			dictionary.add(word);
-			line = br.readLine();
+		return feedbackTable;
+	}
+
+	/**
+	 * @return The {@link Solver} for the current dictionary, shared by every game in the session.
+	 * When feedbackCache is set the solver looks guesses up in an {@link OpeningBook} for the
+	 * tries of a game, stored in that directory and rebuilt whenever the dictionary changes
+	 */
+	protected Solver solver() {
+		if (solver == null || solver.getTable().dictionary() != dictionary) {
+			solver = new Solver(feedbackTable());
+			if (feedbackCache != null) {
+				try {
+					solver.setBook(OpeningBook.open(solver, tries, feedbackCache));
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
 		}
+
+		return solver;
 	}
 
 	protected void setTargetWord(String[] args) {
 		String word = args[0].trim().toLowerCase();
 		if (getDictionary().contains(word)) {
 			targetWord = wordGenerator.generateTargetWord(word);
+			targetWords = List.of(targetWord);
 		} else {
-			System.err.printf("Word [%s] is not in the game dictionary. Game will now exit%n", word);
+			io.errorf("Word [%s] is not in the game dictionary. Game will now exit%n", word);
 		}
 	}
 
+	/**
+	 * Generates a new target word, or one for each board. Once too few words in the dictionary are
+	 * left that have not been a target in the session, sessionTargets is cleared so long sessions
+	 * start over instead of running out of words
+	 */
 	protected void setTargetWord() {
-		targetWord = wordGenerator.generateTargetWord();
+		if (!dictionary.isEmpty() && sessionTargets.size() + boards > dictionary.size()) {
+			log.debug("Every word has been a target in this session, starting over");
+			sessionTargets.clear();
+		}
+
+		if (boards == 1) {
+			targetWord = wordGenerator.generateTargetWord();
+			targetWords = List.of(targetWord);
+		} else if (dictionary.size() < boards) {
+			io.errorf("The game dictionary has fewer than %d words. Game will now exit%n", boards);
+			targetWord = null;
+		} else {
+			targetWords = List.of(wordGenerator.generateTargetWords(boards));
+			targetWord = targetWords.get(0);
+		}
+	}
+
+	/**
+	 * Sets the target word directly, for a session restored by {@link SessionStore}
+	 */
+	protected void setTargetWord(String targetWord) {
+		this.targetWord = targetWord;
+		this.targetWords = List.of(targetWord);
 	}
 
 	/**
@@ -101,40 +339,116 @@ public class Commandle {
 	 *
 	 */
 	protected void startGame() {
-		if (game == null) {
-			game = new Game(targetWord, dictionary, MAX_TRIES);
-		}
-
-		messages(game.start() ? "win" : "lose");
+		playGame();
 
 		if (!testFlag) {
 			playAgain();
 		}
 	}
 
+	/**
+	 * Plays a single game for a chosen target without asking to play again, such as the daily puzzle
+	 *
+	 * @param target The target word, which must be in the dictionary
+	 */
+	protected void playTarget(String target) {
+		targetWord = target;
+		targetWords = List.of(target);
+		sessionTargets.add(target);
+		game = null;
+		playGame();
+		flushStats();
+	}
+
 	/**
 	 * Method that prompts the user to play again
 	 */
 	protected void playAgain() {
-		Scanner scanner = new Scanner(System.in);
+		if (wantsToPlayAgain()) {
+			run(new String[]{});
+		}
+	}
+
+	/**
+	 * Plays the current game, creating it for the target word if there is none. A game left
+	 * unfinished because the input ran out is neither recorded in the stats nor announced
+	 */
+	private void playGame() {
+		if (game == null) {
+			game = targetWords.size() > 1
+					? new MultiBoardGame(targetWords, dictionary, tries)
+					: new Game(targetWord, dictionary, tries);
+			game.setHardMode(hardMode);
+			game.setSolver(solver());
+			game.setIo(io);
+		}
+
+		boolean won = game.start();
+		if (!game.isOver()) {
+			return;
+		}
+
+		if (stats != null && !(game instanceof MultiBoardGame)) {
+			try {
+				stats.record(targetWord, game, won);
+			} catch (IOException e) {
+				log.warn("Could not record the game in the stats journal: {}", e.getMessage());
+			}
+		}
+
+		messages(won ? "win" : "lose");
+		if (analysis) {
+			if (game instanceof MultiBoardGame) {
+				io.println("Analysis is only available for games of one board");
+			} else {
+				io.print(GameAnalysis.analyze(game.getTurns(), solver()).toString());
+			}
+		}
+	}
+
+	/**
+	 * Writes the games recorded in the session to the stats journal, if there is one
+	 */
+	private void flushStats() {
+		if (stats != null) {
+			try {
+				stats.flush();
+			} catch (IOException e) {
+				log.warn("Could not write the stats journal: {}", e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Asks the user to play again. If they do, the finished game is cleared
+	 *
+	 * @return true if the user chose to play again
+	 */
+	private boolean wantsToPlayAgain() {
 		messages("again");
-		String answer = scanner.nextLine().trim().toLowerCase();
+		String answer = io.readLine();
 
-		if (answer.equals("y")) {
+		if (answer != null && answer.trim().equalsIgnoreCase("y")) {
 			game = testFlag ? game : null;
-			targetWord = wordGenerator.generateTargetWord();
-			run(new String[]{});
-		} else {
-			messages("end");
+			return true;
 		}
+
+		messages("end");
+		return false;
 	}
 
 	protected void messages(String id) {
 		switch (id) {
-			case "win" -> System.out.println("Congratulations! You have guessed the target word!");
-			case "lose" -> System.out.printf("You have run out of tries. The target word was [%s]%n", targetWord);
-			case "again" -> System.out.print("Play again? (Y/N): ");
-			case "end" -> System.out.println("Thank you for playing Commandle!");
+			case "win" -> io.println("Congratulations! You have guessed the target word!");
+			case "lose" -> {
+				if (targetWords.size() > 1) {
+					io.printf("You have run out of tries. The target words were %s%n", targetWords);
+				} else {
+					io.printf("You have run out of tries. The target word was [%s]%n", targetWord);
+				}
+			}
+			case "again" -> io.print("Play again? (Y/N): ");
+			case "end" -> io.println("Thank you for playing Commandle!");
 		}
 	}
 }
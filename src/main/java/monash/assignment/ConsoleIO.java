@@ -0,0 +1,40 @@
+package monash.assignment;
+
+import java.io.InputStream;
+import java.util.Scanner;
+
+/**
+ * The ConsoleIO class reads the player's input from System.in and writes to System.out and System.err
+ * The standard streams are looked up on every call, so replacing them with System.setIn,
+ * System.setOut or System.setErr takes effect straight away
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>in - the input stream the scanner reads from</li>
+ *     <li>scanner - the scanner used to read user input, shared between games so no buffered input is lost</li>
+ * </ol>
+ */
+class ConsoleIO implements GameIO {
+	private InputStream in;
+	private Scanner scanner;
+
+	@Override
+	public String readLine() {
+		if (scanner == null || in != System.in) {
+			in = System.in;
+			scanner = new Scanner(in);
+		}
+
+		return scanner.hasNextLine() ? scanner.nextLine() : null;
+	}
+
+	@Override
+	public void print(String text) {
+		System.out.print(text);
+	}
+
+	@Override
+	public void error(String text) {
+		System.err.print(text);
+	}
+}
@@ -0,0 +1,141 @@
+package monash.assignment;
+
+/**
+ * The ConstraintIndex class holds one bitset over the dictionary for every (position, letter)
+ * pair and every (letter, minimum count) pair. Bit i of a bitset is set when the word at
+ * dictionary index i has that letter at that position, or has at least that many copies of the letter
+ *
+ * <p>The feedback for a guess narrows a {@link CandidateSet} with a few AND / ANDNOT passes over
+ * these bitsets, without looking at the words again. The index is immutable and shared by every
+ * game that uses the same {@link WordIndex}, see {@link WordIndex#constraints()}.</p>
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>length - the number of longs in each bitset</li>
+ *     <li>wordLength - the number of letters in each word of the dictionary</li>
+ *     <li>atPosition - the bitsets for each (position, letter) pair, indexed by position * 26 + letter</li>
+ *     <li>atLeast - the bitsets for each (letter, count) pair, indexed by letter * (wordLength + 1) + count</li>
+ * </ol>
+ */
+public final class ConstraintIndex {
+	static final int LETTERS = 26;
+
+	private final int length;
+	private final int wordLength;
+	private final long[][] atPosition;
+	private final long[][] atLeast;
+
+	ConstraintIndex(WordIndex dictionary) {
+		int size = dictionary.size();
+		length = (size + 63) >>> 6;
+		wordLength = dictionary.length();
+		atPosition = new long[wordLength * LETTERS][length];
+		atLeast = new long[LETTERS * (wordLength + 1)][length];
+
+		int[] counts = new int[LETTERS];
+		for (int index = 0; index < size; index++) {
+			long word = dictionary.packedAt(index);
+			long bit = 1L << index;
+
+			for (int i = 0; i < wordLength; i++) {
+				int letter = WordIndex.letter(word, wordLength, i);
+				atPosition[i * LETTERS + letter][index >>> 6] |= bit;
+				atLeast[letter * (wordLength + 1) + ++counts[letter]][index >>> 6] |= bit;
+			}
+			for (int i = 0; i < wordLength; i++) {
+				counts[WordIndex.letter(word, wordLength, i)] = 0;
+			}
+		}
+
+		for (int letter = 0; letter < LETTERS; letter++) {
+			long[] all = atLeast[letter * (wordLength + 1)];
+			for (int i = 0; i < size; i++) {
+				all[i >>> 6] |= 1L << i;
+			}
+		}
+	}
+
+	/**
+	 * @return The number of longs in each bitset, and so in each {@link CandidateSet}
+	 */
+	int length() {
+		return length;
+	}
+
+	/**
+	 * Removes every candidate that would not give the feedback code for the guess
+	 * <ol>
+	 *     <li>A correct letter keeps the words with that letter at that position</li>
+	 *     <li>A present or absent letter removes the words with that letter at that position</li>
+	 *     <li>The correct and present copies of a letter keep the words with at least that many copies</li>
+	 *     <li>An absent copy of a letter also removes the words with more copies than that</li>
+	 * </ol>
+	 *
+	 * <p>Variables defined in this method:</p>
+	 * <ol>
+	 *     <li>marked - the number of correct and present copies of a letter in the guess</li>
+	 *     <li>absent - whether any copy of the letter in the guess is absent</li>
+	 * </ol>
+	 *
+	 * @param candidates The bitset of candidates to narrow
+	 * @param guess      The guess, packed with {@link WordIndex#pack(CharSequence)}
+	 * @param feedback   The {@link Feedback} code of the guess
+	 */
+	void apply(long[] candidates, long guess, int feedback) {
+		for (int i = 0; i < wordLength; i++) {
+			int letter = WordIndex.letter(guess, wordLength, i);
+			if (Feedback.digit(feedback, i) == Feedback.CORRECT) {
+				and(candidates, atPosition[i * LETTERS + letter]);
+			} else {
+				andNot(candidates, atPosition[i * LETTERS + letter]);
+			}
+		}
+
+		for (int i = 0; i < wordLength; i++) {
+			int letter = WordIndex.letter(guess, wordLength, i);
+			if (firstIndexOf(guess, letter) < i) {
+				continue;
+			}
+
+			int marked = 0;
+			boolean absent = false;
+			for (int j = i; j < wordLength; j++) {
+				if (WordIndex.letter(guess, wordLength, j) == letter) {
+					if (Feedback.digit(feedback, j) == Feedback.ABSENT) {
+						absent = true;
+					} else {
+						marked++;
+					}
+				}
+			}
+
+			int row = letter * (wordLength + 1);
+			if (marked > 0) {
+				and(candidates, atLeast[row + marked]);
+			}
+			if (absent) {
+				andNot(candidates, atLeast[row + marked + 1]);
+			}
+		}
+	}
+
+	private int firstIndexOf(long word, int letter) {
+		int i = 0;
+		while (WordIndex.letter(word, wordLength, i) != letter) {
+			i++;
+		}
+		return i;
+	}
+
+	private static void and(long[] candidates, long[] constraint) {
+		for (int i = 0; i < candidates.length; i++) {
+			candidates[i] &= constraint[i];
+		}
+	}
+
+	private static void andNot(long[] candidates, long[] constraint) {
+		for (int i = 0; i < candidates.length; i++) {
+			candidates[i] &= ~constraint[i];
+		}
+	}
+}
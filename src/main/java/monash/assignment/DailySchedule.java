@@ -0,0 +1,288 @@
+package monash.assignment;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.zip.CRC32;
+
+/**
+ * The DailySchedule class decides the target word of the daily puzzle for every date
+ * The schedule is built once from the dictionary and a seed: the pinned words from target.txt
+ * come first, in order, followed by every other dictionary word in a seeded shuffle. Day n after
+ * the start date plays entry n, and the schedule repeats once every word has been played
+ *
+ * <p>Building only depends on the dictionary, the pinned words, the seed and the start date, so every
+ * node that builds a schedule from the same inputs agrees on the word of the day without coordination.
+ * The schedule is stored as a file of packed words, so looking up a date is one read of a mapped long.</p>
+ *
+ * <p>The file format is big-endian:</p>
+ * <ol>
+ *     <li>magic - 0x434D4453, "CMDS"</li>
+ *     <li>version - the format version</li>
+ *     <li>start - the start date as an epoch day</li>
+ *     <li>key - a hash of the dictionary fingerprint, the seed and the pinned words the schedule was built from</li>
+ *     <li>count - the number of days before the schedule repeats</li>
+ *     <li>checksum - the CRC32 of the packed words</li>
+ *     <li>words - count packed words as longs, see {@link WordIndex#pack(CharSequence)}</li>
+ * </ol>
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>start - the date of the first entry</li>
+ *     <li>key - the hash of the inputs the schedule was built from</li>
+ *     <li>words - the packed target word of each day</li>
+ * </ol>
+ */
+public final class DailySchedule {
+	private static final Logger log = LogManager.getLogger(DailySchedule.class);
+
+	public static final String PINNED_RESOURCE = "/target.txt";
+	public static final LocalDate DEFAULT_START = LocalDate.of(2024, 1, 1);
+	public static final long DEFAULT_SEED = 0x434D4453L;
+
+	private static final int MAGIC = 0x434D4453;
+	private static final int VERSION = 2;
+	private static final int HEADER_BYTES = 32;
+
+	private final LocalDate start;
+	private final long key;
+	private final LongBuffer words;
+
+	private DailySchedule(LocalDate start, long key, LongBuffer words) {
+		this.start = start;
+		this.key = key;
+		this.words = words;
+	}
+
+	/**
+	 * Builds the schedule in memory
+	 *
+	 * <p>Variables defined in this method:</p>
+	 * <ol>
+	 *     <li>order - the dictionary indices in schedule order, the pinned words first</li>
+	 *     <li>pinnedCount - the number of pinned words that are in the dictionary</li>
+	 * </ol>
+	 *
+	 * @param dictionary The words that can be targets
+	 * @param pinned     The words to play first, in order. Words not in the dictionary and repeats are skipped
+	 * @param start      The date of the first entry
+	 * @param seed       The seed for shuffling the rest of the dictionary
+	 * @return The schedule
+	 * @throws IllegalArgumentException if the dictionary is empty
+	 */
+	public static DailySchedule build(WordIndex dictionary, List<String> pinned, LocalDate start, long seed) {
+		if (dictionary.isEmpty()) {
+			throw new IllegalArgumentException("Cannot schedule daily puzzles from an empty dictionary");
+		}
+
+		int[] order = new int[dictionary.size()];
+		boolean[] scheduled = new boolean[dictionary.size()];
+		int pinnedCount = 0;
+		for (String word : pinned) {
+			int index = dictionary.indexOf(word);
+			if (index >= 0 && !scheduled[index]) {
+				scheduled[index] = true;
+				order[pinnedCount++] = index;
+			}
+		}
+
+		int next = pinnedCount;
+		for (int i = 0; i < order.length; i++) {
+			if (!scheduled[i]) {
+				order[next++] = i;
+			}
+		}
+
+		SplittableRandom random = new SplittableRandom(seed);
+		for (int i = order.length - 1; i > pinnedCount; i--) {
+			int j = pinnedCount + random.nextInt(i - pinnedCount + 1);
+			int swap = order[i];
+			order[i] = order[j];
+			order[j] = swap;
+		}
+
+		long[] packed = new long[order.length];
+		for (int i = 0; i < order.length; i++) {
+			packed[i] = dictionary.packedAt(order[i]);
+		}
+
+		return new DailySchedule(start, key(dictionary, pinned, seed), LongBuffer.wrap(packed));
+	}
+
+	/**
+	 * Opens the schedule file if it was built from the same inputs, otherwise builds the schedule
+	 * and replaces the file with it
+	 *
+	 * @param file       The schedule file
+	 * @param dictionary The words that can be targets
+	 * @param pinned     The words to play first, in order
+	 * @param start      The date of the first entry
+	 * @param seed       The seed for shuffling the rest of the dictionary
+	 * @return The schedule
+	 * @throws IOException if the file cannot be written
+	 */
+	public static DailySchedule load(Path file, WordIndex dictionary, List<String> pinned, LocalDate start, long seed) throws IOException {
+		if (Files.isRegularFile(file)) {
+			try {
+				DailySchedule schedule = open(file);
+				if (schedule.start.equals(start) && schedule.key == key(dictionary, pinned, seed)) {
+					return schedule;
+				}
+			} catch (IOException e) {
+				log.warn("Rebuilding unreadable daily schedule {}: {}", file, e.getMessage());
+			}
+		}
+
+		DailySchedule schedule = build(dictionary, pinned, start, seed);
+		schedule.write(file);
+		log.info("Built daily schedule of {} days from {} into {}", schedule.size(), start, file);
+		return schedule;
+	}
+
+	/**
+	 * Maps a schedule file
+	 *
+	 * @param file The schedule file
+	 * @return The schedule
+	 * @throws IOException if the file cannot be read, or the header or checksum does not match
+	 */
+	public static DailySchedule open(Path file) throws IOException {
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		if (buffer.remaining() < HEADER_BYTES
+				|| buffer.getInt() != MAGIC
+				|| buffer.getInt() != VERSION) {
+			throw new IOException("Not a daily schedule of this version");
+		}
+
+		LocalDate start = LocalDate.ofEpochDay(buffer.getLong());
+		long key = buffer.getLong();
+		int count = buffer.getInt();
+		int checksum = buffer.getInt();
+		if (count <= 0 || buffer.remaining() != (long) count * Long.BYTES) {
+			throw new IOException(String.format("Daily schedule should hold %d words but has %d bytes", count, buffer.remaining()));
+		}
+
+		CRC32 crc = new CRC32();
+		crc.update(buffer.duplicate());
+		if ((int) crc.getValue() != checksum) {
+			throw new IOException("Daily schedule checksum does not match");
+		}
+
+		return new DailySchedule(start, key, buffer.asLongBuffer());
+	}
+
+	/**
+	 * Writes the schedule to a temporary file, which replaces the schedule file once it is complete
+	 *
+	 * @param file The schedule file
+	 */
+	public void write(Path file) throws IOException {
+		ByteBuffer body = ByteBuffer.allocate(size() * Long.BYTES);
+		body.asLongBuffer().put(words.duplicate().rewind());
+
+		CRC32 crc = new CRC32();
+		crc.update(body.duplicate());
+
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+				.putInt(MAGIC)
+				.putInt(VERSION)
+				.putLong(start.toEpochDay())
+				.putLong(key)
+				.putInt(size())
+				.putInt((int) crc.getValue())
+				.flip();
+
+		Path parent = file.toAbsolutePath().getParent();
+		Files.createDirectories(parent);
+		Path temp = Files.createTempFile(parent, "schedule", ".tmp");
+
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+			ByteBuffer[] buffers = {header, body};
+			while (header.hasRemaining() || body.hasRemaining()) {
+				channel.write(buffers);
+			}
+			channel.force(false);
+		} catch (IOException e) {
+			Files.deleteIfExists(temp);
+			throw e;
+		}
+
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Reads the pinned words bundled on the classpath
+	 *
+	 * @return The words in target.txt of every length, or an empty list if it is not on the classpath
+	 */
+	public static List<String> loadPinnedResource() throws IOException {
+		try (InputStream in = DailySchedule.class.getResourceAsStream(PINNED_RESOURCE)) {
+			if (in == null) {
+				return List.of();
+			}
+			BufferedReader br = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+			return br.lines().map(line -> line.trim().toLowerCase(Locale.ROOT)).toList();
+		}
+	}
+
+	/**
+	 * @param date The date of the puzzle
+	 * @return The target word of the puzzle, packed with {@link WordIndex#pack(CharSequence)}
+	 */
+	public long packedTarget(LocalDate date) {
+		long day = date.toEpochDay() - start.toEpochDay();
+		return words.get((int) Math.floorMod(day, (long) size()));
+	}
+
+	/**
+	 * @param date The date of the puzzle
+	 * @return The target word of the puzzle
+	 */
+	public String target(LocalDate date) {
+		return WordIndex.unpack(packedTarget(date));
+	}
+
+	public LocalDate start() {
+		return start;
+	}
+
+	/**
+	 * @return The number of days before the schedule repeats
+	 */
+	public int size() {
+		return words.limit();
+	}
+
+	/**
+	 * @return A 64-bit FNV-1a hash of the dictionary fingerprint, the seed and the packed pinned words
+	 */
+	private static long key(WordIndex dictionary, List<String> pinned, long seed) {
+		long hash = 0xcbf29ce484222325L;
+		hash = (hash ^ dictionary.fingerprint()) * 0x100000001b3L;
+		hash = (hash ^ seed) * 0x100000001b3L;
+		for (String word : pinned) {
+			hash = (hash ^ WordIndex.pack(word)) * 0x100000001b3L;
+		}
+		return hash;
+	}
+}
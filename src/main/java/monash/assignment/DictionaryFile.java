@@ -0,0 +1,202 @@
+package monash.assignment;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+/**
+ * The DictionaryFile class reads and writes dictionaries
+ * Dictionaries are compiled at build time from dictionary.txt into a binary file, so starting
+ * the game only copies packed words into a {@link PartitionedDictionary} without creating a String per word
+ *
+ * <p>The compiled format is big-endian:</p>
+ * <ol>
+ *     <li>magic - 0x434D4444, "CMDD"</li>
+ *     <li>version - the format version</li>
+ *     <li>count - the number of words</li>
+ *     <li>checksum - the CRC32 of the packed words</li>
+ *     <li>words - count packed words as longs, see {@link WordIndex#pack(CharSequence)}. Each word
+ *     carries its own length, so words of every length are stored together</li>
+ * </ol>
+ *
+ * The text format, one word per line in UTF-8, is still accepted wherever a dictionary is loaded
+ */
+public final class DictionaryFile {
+	private static final Logger log = LogManager.getLogger(DictionaryFile.class);
+
+	public static final String COMPILED_RESOURCE = "/dictionary.bin";
+	public static final String TEXT_RESOURCE = "/dictionary.txt";
+
+	private static final int MAGIC = 0x434D4444;
+	private static final int VERSION = 2;
+	private static final int HEADER_BYTES = 16;
+
+	private DictionaryFile() {
+	}
+
+	/**
+	 * Compiles a text dictionary into the binary format. Used by the build to create dictionary.bin
+	 *
+	 * @param args The text dictionary to read and the binary dictionary to write
+	 */
+	public static void main(String[] args) throws IOException {
+		PartitionedDictionary dictionary = readText(Path.of(args[0]));
+		write(dictionary, Path.of(args[1]));
+		log.info("Compiled {} words from {} into {}", dictionary.size(), args[0], args[1]);
+	}
+
+	/**
+	 * Loads a dictionary file, in the compiled format if it starts with the magic number and
+	 * in the text format otherwise
+	 *
+	 * @param file The dictionary file
+	 * @return The loaded dictionary
+	 * @throws IOException if the file cannot be read or a compiled file is corrupt
+	 */
+	public static PartitionedDictionary load(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() >= HEADER_BYTES) {
+				ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				if (buffer.getInt(0) == MAGIC) {
+					return read(buffer);
+				}
+			}
+		}
+
+		return readText(file);
+	}
+
+	/**
+	 * Loads the dictionary bundled on the classpath. The compiled dictionary is used if the build
+	 * created it, otherwise the text dictionary is parsed
+	 *
+	 * @return The bundled dictionary
+	 * @throws IOException if neither resource exists or the compiled resource is corrupt
+	 */
+	public static PartitionedDictionary loadResource() throws IOException {
+		try (InputStream in = DictionaryFile.class.getResourceAsStream(COMPILED_RESOURCE)) {
+			if (in != null) {
+				return read(ByteBuffer.wrap(in.readAllBytes()));
+			}
+		}
+
+		try (InputStream in = DictionaryFile.class.getResourceAsStream(TEXT_RESOURCE)) {
+			if (in == null) {
+				throw new IOException(String.format("Neither %s nor %s is on the classpath", COMPILED_RESOURCE, TEXT_RESOURCE));
+			}
+			log.warn("Compiled dictionary not found, parsing {}", TEXT_RESOURCE);
+			return readText(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+		}
+	}
+
+	/**
+	 * Reads a dictionary in the compiled format
+	 *
+	 * @param buffer The compiled dictionary, starting at the magic number
+	 * @return The dictionary
+	 * @throws IOException if the header or checksum does not match
+	 */
+	public static PartitionedDictionary read(ByteBuffer buffer) throws IOException {
+		if (buffer.remaining() < HEADER_BYTES
+				|| buffer.getInt() != MAGIC
+				|| buffer.getInt() != VERSION) {
+			throw new IOException("Not a compiled dictionary of this version");
+		}
+
+		int count = buffer.getInt();
+		int checksum = buffer.getInt();
+		if (count < 0 || buffer.remaining() != (long) count * Long.BYTES) {
+			throw new IOException(String.format("Compiled dictionary should hold %d words but has %d bytes", count, buffer.remaining()));
+		}
+
+		CRC32 crc = new CRC32();
+		crc.update(buffer.duplicate());
+		if ((int) crc.getValue() != checksum) {
+			throw new IOException("Compiled dictionary checksum does not match");
+		}
+
+		long[] words = new long[count];
+		buffer.asLongBuffer().get(words);
+
+		try {
+			return PartitionedDictionary.ofPacked(words);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Compiled dictionary holds an invalid word", e);
+		}
+	}
+
+	/**
+	 * Writes a dictionary in the compiled format
+	 *
+	 * @param dictionary The dictionary to write
+	 * @param file       The file to write to
+	 */
+	public static void write(PartitionedDictionary dictionary, Path file) throws IOException {
+		ByteBuffer words = ByteBuffer.allocate(dictionary.size() * Long.BYTES);
+		words.asLongBuffer().put(dictionary.words());
+
+		CRC32 crc = new CRC32();
+		crc.update(words.duplicate());
+
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+				.putInt(MAGIC)
+				.putInt(VERSION)
+				.putInt(dictionary.size())
+				.putInt((int) crc.getValue())
+				.flip();
+
+		Path parent = file.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer[] buffers = {header, words};
+			while (words.hasRemaining() || header.hasRemaining()) {
+				channel.write(buffers);
+			}
+		}
+	}
+
+	/**
+	 * Reads a dictionary in the text format
+	 *
+	 * @param file The text dictionary, one word per line in UTF-8
+	 * @return The dictionary
+	 */
+	public static PartitionedDictionary readText(Path file) throws IOException {
+		try (BufferedReader br = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			return readText(br);
+		}
+	}
+
+	/**
+	 * Reads a dictionary in the text format. Each line is trimmed and lowercased,
+	 * and lines that are not valid words are skipped by {@link PartitionedDictionary}
+	 */
+	public static PartitionedDictionary readText(BufferedReader br) throws IOException {
+		List<String> words = new ArrayList<>();
+		String line = br.readLine();
+
+		while (line != null) {
+			words.add(line.trim().toLowerCase(Locale.ROOT));
+			line = br.readLine();
+		}
+
+		return new PartitionedDictionary(words);
+	}
+}
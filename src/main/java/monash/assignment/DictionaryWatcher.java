@@ -0,0 +1,169 @@
+package monash.assignment;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * The DictionaryWatcher class reloads a dictionary file whenever it changes, without stopping
+ * the games being played. The file's directory is watched with a {@link WatchService} on a
+ * background thread. Once the file has been quiet for {@value #QUIET_MILLIS} ms it is loaded
+ * with {@link DictionaryFile#load(Path)}, so an editor's partial writes are not picked up
+ *
+ * <p>Each load builds a new {@link PartitionedDictionary}, which is immutable, and publishes it
+ * together with the {@link Solver} prepared for it by swapping a single reference. Readers only
+ * read that reference, so they never lock or wait for a reload, and every session that takes
+ * the snapshot shares its solver instead of building its own. A {@link Game} keeps the {@link WordIndex} it was created with, so games in
+ * progress finish on their snapshot while {@link Commandle} picks up the new one for the next
+ * game. A file that cannot be loaded is logged and the current snapshot is kept.</p>
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>file - the dictionary file being watched</li>
+ *     <li>prepare - called on the background thread with each new snapshot before it is published,
+ *     to build the solver shared by the sessions that play it, a snapshot it throws for is not published</li>
+ *     <li>current - the latest snapshot and its solver</li>
+ *     <li>reloads - the number of snapshots published since the watcher started</li>
+ *     <li>watchService - the service watching the directory of the file</li>
+ *     <li>thread - the background thread that waits for changes and reloads the file</li>
+ * </ol>
+ */
+public final class DictionaryWatcher implements Closeable {
+	private static final Logger log = LogManager.getLogger(DictionaryWatcher.class);
+
+	static final long QUIET_MILLIS = 200;
+
+	private final Path file;
+	private final Function<PartitionedDictionary, Solver> prepare;
+	private final AtomicReference<Snapshot> current;
+	private volatile int reloads;
+	private final WatchService watchService;
+	private final Thread thread;
+
+	private DictionaryWatcher(Path file, PartitionedDictionary initial, Solver solver, Function<PartitionedDictionary, Solver> prepare) throws IOException {
+		this.file = file.toAbsolutePath();
+		this.prepare = prepare;
+		this.current = new AtomicReference<>(new Snapshot(initial, solver));
+		this.watchService = FileSystems.getDefault().newWatchService();
+		this.file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+		this.thread = new Thread(this::watch, "commandle-dictionary-watcher");
+		this.thread.setDaemon(true);
+	}
+
+	/**
+	 * Starts watching a dictionary file
+	 *
+	 * @param file    The dictionary file, in either format {@link DictionaryFile#load(Path)} reads
+	 * @param initial The snapshot to serve until the file changes, usually the file as already loaded
+	 * @param solver  The solver for the initial snapshot, or null
+	 * @param prepare Called on the background thread with each new snapshot before it is published,
+	 *                returns the solver for it, or null
+	 * @return The running watcher
+	 * @throws IOException if the directory of the file cannot be watched
+	 */
+	public static DictionaryWatcher start(Path file, PartitionedDictionary initial, Solver solver, Function<PartitionedDictionary, Solver> prepare) throws IOException {
+		DictionaryWatcher watcher = new DictionaryWatcher(file, initial, solver, prepare);
+		watcher.thread.start();
+		return watcher;
+	}
+
+	/**
+	 * @return The latest snapshot of the dictionary
+	 */
+	public PartitionedDictionary current() {
+		return current.get().dictionary();
+	}
+
+	/**
+	 * @param dictionary A word list of the latest snapshot
+	 * @return The solver prepared for the latest snapshot if it plays the word list, otherwise null
+	 */
+	public Solver solver(WordIndex dictionary) {
+		Solver solver = current.get().solver();
+		return solver != null && solver.getTable().dictionary() == dictionary ? solver : null;
+	}
+
+	/**
+	 * @return The number of snapshots published since the watcher started
+	 */
+	public int reloads() {
+		return reloads;
+	}
+
+	/**
+	 * Waits for changes to the file until the watcher is closed. After a change, events are
+	 * drained until none arrive for {@value #QUIET_MILLIS} ms, then the file is reloaded once
+	 */
+	private void watch() {
+		try {
+			while (true) {
+				if (!changed(watchService.take())) {
+					continue;
+				}
+
+				WatchKey key;
+				while ((key = watchService.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+					changed(key);
+				}
+				reload();
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			log.debug("Stopped watching {}", file);
+		}
+	}
+
+	/**
+	 * @return true if any event of the key is for the file, or events may have been lost
+	 */
+	private boolean changed(WatchKey key) {
+		boolean changed = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context())) {
+				changed = true;
+			}
+		}
+		key.reset();
+		return changed;
+	}
+
+	/**
+	 * Loads the file, prepares the new snapshot and publishes it. If any step fails, the
+	 * current snapshot is kept
+	 *
+	 * @return true if a new snapshot was published
+	 */
+	boolean reload() {
+		long started = System.nanoTime();
+		try {
+			PartitionedDictionary next = DictionaryFile.load(file);
+			current.set(new Snapshot(next, prepare.apply(next)));
+			reloads++;
+			log.info("Reloaded {} words from {} in {} ms", next.size(), file, (System.nanoTime() - started) / 1_000_000);
+			return true;
+		} catch (IOException | RuntimeException e) {
+			log.warn("Could not reload the dictionary from {}, keeping the current one: {}", file, e.getMessage());
+			return false;
+		}
+	}
+
+	private record Snapshot(PartitionedDictionary dictionary, Solver solver) {
+	}
+
+	@Override
+	public void close() throws IOException {
+		watchService.close();
+		thread.interrupt();
+	}
+}
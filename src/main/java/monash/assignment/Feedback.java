@@ -0,0 +1,192 @@
+package monash.assignment;
+
+/**
+ * The Feedback class scores a guess against a target word without allocating
+ * The feedback for a guess is encoded as a base-3 number, one digit per letter position
+ * with position 0 as the least significant digit
+ * <ol>
+ *     <li>{@link #ABSENT} - the letter is not in the target word, rendered as #</li>
+ *     <li>{@link #PRESENT} - the letter is in the target word, but not in the correct position, rendered as ?</li>
+ *     <li>{@link #CORRECT} - the letter is in the correct position, rendered as the letter itself</li>
+ * </ol>
+ * A 5-letter feedback code is therefore a number between 0 and 242, which fits in a byte,
+ * and an 8-letter feedback code is a number between 0 and 6560
+ */
+public final class Feedback {
+
+	public static final int ABSENT = 0;
+	public static final int PRESENT = 1;
+	public static final int CORRECT = 2;
+
+	/**
+	 * The number of feedback codes for a {@value WordIndex#WORD_LENGTH} letter word, see {@link #patterns(int)} for other lengths
+	 */
+	public static final int PATTERNS = 243;
+	public static final int ALL_CORRECT = PATTERNS - 1;
+
+	private static final int[] POW3 = {1, 3, 9, 27, 81, 243, 729, 2187, 6561};
+
+	/**
+	 * The low 4 bits, and the high bit, of every 5-bit letter of a packed word
+	 */
+	private static final long LOW_BITS = 0x07BDEF7BDEF7BDEFL;
+	private static final long HIGH_BITS = 0x0842108421084210L;
+
+	private Feedback() {
+	}
+
+	/**
+	 * Scores a packed guess against a packed target.
+	 * Correct letters are matched first, then each remaining guess letter consumes the first
+	 * unmatched occurrence of the same letter in the target. Once every occurrence is consumed,
+	 * further copies of the letter in the guess are absent.
+	 *
+	 * <p>Variables defined in this method:</p>
+	 * <ol>
+	 *     <li>correct - a bitmask of the positions where the guess and target letters match</li>
+	 *     <li>used - a bitmask of the target positions already matched by a guess letter</li>
+	 *     <li>code - the base-3 feedback code</li>
+	 * </ol>
+	 *
+	 * @param guess  The guess packed with {@link WordIndex#pack(CharSequence)}
+	 * @param target The target packed with {@link WordIndex#pack(CharSequence)}, with the same length as the guess
+	 * @return The feedback code, between 0 and {@link #allCorrect(int)}
+	 */
+	public static int score(long guess, long target) {
+		int length = WordIndex.length(guess);
+		int correct = 0;
+		int code = 0;
+
+		for (int i = 0; i < length; i++) {
+			if (WordIndex.letter(guess, length, i) == WordIndex.letter(target, length, i)) {
+				correct |= 1 << i;
+				code += CORRECT * POW3[i];
+			}
+		}
+
+		int used = correct;
+		for (int i = 0; i < length; i++) {
+			if ((correct & (1 << i)) != 0) {
+				continue;
+			}
+
+			int letter = WordIndex.letter(guess, length, i);
+			for (int j = 0; j < length; j++) {
+				if ((used & (1 << j)) == 0 && WordIndex.letter(target, length, j) == letter) {
+					used |= 1 << j;
+					code += PRESENT * POW3[i];
+					break;
+				}
+			}
+		}
+
+		return code;
+	}
+
+	/**
+	 * Scores one packed guess against many packed targets in a single pass, such as the boards of a
+	 * {@link MultiBoardGame}. The letters that match are found for all positions of a target at once
+	 * by XORing the packed words and testing every 5-bit letter for zero with a carry into its high
+	 * bit, so only the positions that differ are looked at one by one. The present letters are then
+	 * matched against a count of the unmatched target letters held in a long, 2 bits per letter,
+	 * instead of searching the target for each one. A target with more than 3 unmatched copies of a
+	 * letter is scored with {@link #score(long, long)}. The codes are the same as scoring each target
+	 *
+	 * <p>Variables defined in this method:</p>
+	 * <ol>
+	 *     <li>differs - the high bit of every letter that is not the same in the guess and target</li>
+	 *     <li>counts - the number of unmatched copies of each letter in the target, 2 bits per letter</li>
+	 * </ol>
+	 *
+	 * @param guess   The guess packed with {@link WordIndex#pack(CharSequence)}
+	 * @param targets The targets packed with {@link WordIndex#pack(CharSequence)}, with the same length as the guess
+	 * @param codes   The array the feedback codes are written to, at least as long as targets
+	 */
+	public static void score(long guess, long[] targets, int[] codes) {
+		int length = WordIndex.length(guess);
+
+		targets:
+		for (int t = 0; t < targets.length; t++) {
+			long target = targets[t];
+			long x = guess ^ target;
+			if (x == 0) {
+				codes[t] = allCorrect(length);
+				continue;
+			}
+
+			long differs = (((x & LOW_BITS) + LOW_BITS) | x) & HIGH_BITS;
+			long counts = 0;
+			int code = 0;
+			for (int i = 0; i < length; i++) {
+				int shift = WordIndex.BITS_PER_LETTER * (length - 1 - i);
+				if ((differs & (16L << shift)) == 0) {
+					code += CORRECT * POW3[i];
+					continue;
+				}
+
+				int count = 2 * ((int) (target >>> shift) & 31);
+				if ((counts >>> count & 3) == 3) {
+					codes[t] = score(guess, target);
+					continue targets;
+				}
+				counts += 1L << count;
+			}
+
+			for (int i = 0; i < length; i++) {
+				int shift = WordIndex.BITS_PER_LETTER * (length - 1 - i);
+				int count = 2 * ((int) (guess >>> shift) & 31);
+				if ((differs & (16L << shift)) != 0 && (counts >>> count & 3) != 0) {
+					counts -= 1L << count;
+					code += PRESENT * POW3[i];
+				}
+			}
+			codes[t] = code;
+		}
+	}
+
+	/**
+	 * @param length The word length
+	 * @return The number of feedback codes for words of the length
+	 */
+	public static int patterns(int length) {
+		return POW3[length];
+	}
+
+	/**
+	 * @param length The word length
+	 * @return The feedback code of a correct guess of the length
+	 */
+	public static int allCorrect(int length) {
+		return POW3[length] - 1;
+	}
+
+	/**
+	 * @param code     A feedback code
+	 * @param position The letter position, starting from 0
+	 * @return {@link #ABSENT}, {@link #PRESENT} or {@link #CORRECT}
+	 */
+	public static int digit(int code, int position) {
+		return (code / POW3[position]) % 3;
+	}
+
+	/**
+	 * Renders a feedback code the way it is shown to the user, e.g. ##??e
+	 *
+	 * @param guess The guess the feedback code was created for
+	 * @param code  The feedback code
+	 * @return A string containing the feedback for the guess
+	 */
+	public static String render(String guess, int code) {
+		char[] result = new char[guess.length()];
+
+		for (int i = 0; i < result.length; i++) {
+			result[i] = switch (digit(code, i)) {
+				case CORRECT -> guess.charAt(i);
+				case PRESENT -> '?';
+				default -> '#';
+			};
+		}
+
+		return new String(result);
+	}
+}
@@ -0,0 +1,198 @@
+package monash.assignment;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ * The FeedbackMatrix class holds the feedback code of every (guess, target) pair in a dictionary
+ * The matrix is computed in parallel the first time it is needed and written to a cache file,
+ * which is memory mapped on later starts. Scoring is then a single lookup of one byte per cell,
+ * or two bytes for words longer than {@value WordIndex#WORD_LENGTH} letters whose codes do not fit in a byte
+ *
+ * <p>The cache file is named after {@link WordIndex#fingerprint()} and the fingerprint is also
+ * stored in its header, so a different dictionary always gets its own matrix.</p>
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>dictionary - the {@link WordIndex} the matrix was computed for</li>
+ *     <li>size - the number of words in the dictionary</li>
+ *     <li>wide - whether each cell is two bytes instead of one</li>
+ *     <li>matrix - the mapped cache file, one row of size cells per guess after the header</li>
+ * </ol>
+ */
+public final class FeedbackMatrix implements FeedbackTable {
+	private static final Logger log = LogManager.getLogger(FeedbackMatrix.class);
+
+	private static final int MAGIC = 0x434D4642;
+	private static final int VERSION = 2;
+	private static final int HEADER_BYTES = 24;
+
+	private final WordIndex dictionary;
+	private final int size;
+	private final boolean wide;
+	private final MappedByteBuffer matrix;
+
+	private FeedbackMatrix(WordIndex dictionary, MappedByteBuffer matrix) {
+		this.dictionary = dictionary;
+		this.size = dictionary.size();
+		this.wide = isWide(dictionary);
+		this.matrix = matrix;
+	}
+
+	/**
+	 * Opens the matrix for a dictionary from the cache directory, computing and saving it first
+	 * if there is no valid cache file for the dictionary
+	 *
+	 * @param dictionary The dictionary to score
+	 * @param cacheDir   The directory that holds the cache files
+	 * @return The mapped matrix
+	 * @throws IOException if the cache file cannot be read or written
+	 */
+	public static FeedbackMatrix open(WordIndex dictionary, Path cacheDir) throws IOException {
+		long bytes = HEADER_BYTES + (long) dictionary.size() * dictionary.size() * cellBytes(dictionary);
+		if (bytes > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException(String.format("Dictionary of %d words is too large for a feedback matrix", dictionary.size()));
+		}
+
+		Path file = cacheFile(dictionary, cacheDir);
+		if (!isValid(file, dictionary, bytes)) {
+			build(dictionary, file);
+		}
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return new FeedbackMatrix(dictionary, channel.map(FileChannel.MapMode.READ_ONLY, 0, bytes));
+		}
+	}
+
+	/**
+	 * @param dictionary The dictionary to score
+	 * @param cacheDir   The directory that holds the cache files
+	 * @return The path of the cache file for the dictionary
+	 */
+	public static Path cacheFile(WordIndex dictionary, Path cacheDir) {
+		return cacheDir.resolve(String.format("feedback-%016x.bin", dictionary.fingerprint()));
+	}
+
+	@Override
+	public int feedback(int guess, int target) {
+		int cell = guess * size + target;
+		return wide
+				? matrix.getShort(HEADER_BYTES + 2 * cell) & 0xFFFF
+				: matrix.get(HEADER_BYTES + cell) & 0xFF;
+	}
+
+	@Override
+	public boolean isPrecomputed() {
+		return true;
+	}
+
+	@Override
+	public WordIndex dictionary() {
+		return dictionary;
+	}
+
+	private static boolean isValid(Path file, WordIndex dictionary, long bytes) throws IOException {
+		if (!Files.isRegularFile(file) || Files.size(file) != bytes) {
+			return false;
+		}
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+			channel.read(header, 0);
+			header.flip();
+
+			return header.getInt() == MAGIC
+					&& header.getInt() == VERSION
+					&& header.getInt() == dictionary.size()
+					&& header.getInt() == dictionary.length()
+					&& header.getLong() == dictionary.fingerprint();
+		}
+	}
+
+	/**
+	 * Computes every row of the matrix in parallel and writes it to a temporary file,
+	 * which replaces the cache file once it is complete
+	 *
+	 * <p>Variables defined in this method:</p>
+	 * <ol>
+	 *     <li>temp - the file the matrix is written to before it is moved into place</li>
+	 *     <li>scorer - the {@link BulkScorer} for every target, copied for each row so rows can be scored in parallel</li>
+	 *     <li>row - the feedback codes of one guess against every target</li>
+	 *     <li>buffer - the row as written to the file, one or two bytes per code</li>
+	 * </ol>
+	 */
+	private static void build(WordIndex dictionary, Path file) throws IOException {
+		long started = System.nanoTime();
+		int size = dictionary.size();
+		int cellBytes = cellBytes(dictionary);
+		long[] words = dictionary.words();
+		BulkScorer scorer = new BulkScorer(words, size);
+
+		Files.createDirectories(file.toAbsolutePath().getParent());
+		Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "feedback", ".tmp");
+
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+					.putInt(MAGIC)
+					.putInt(VERSION)
+					.putInt(size)
+					.putInt(dictionary.length())
+					.putLong(dictionary.fingerprint())
+					.flip();
+			channel.write(header, 0);
+
+			IntStream.range(0, size).parallel().forEach(guess -> {
+				ByteBuffer buffer = ByteBuffer.allocate(size * cellBytes);
+				int[] row = new int[size];
+				new BulkScorer(scorer).score(words[guess], row);
+				for (int code : row) {
+					if (cellBytes == 2) {
+						buffer.putShort((short) code);
+					} else {
+						buffer.put((byte) code);
+					}
+				}
+				buffer.flip();
+
+				try {
+					long position = HEADER_BYTES + (long) guess * size * cellBytes;
+					while (buffer.hasRemaining()) {
+						position += channel.write(buffer, position);
+					}
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+
+			channel.force(false);
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(temp);
+			if (e instanceof UncheckedIOException unchecked) {
+				throw unchecked.getCause();
+			}
+			throw e;
+		}
+
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		log.info("Built feedback matrix for {} words in {} ms", size, (System.nanoTime() - started) / 1_000_000);
+	}
+
+	private static boolean isWide(WordIndex dictionary) {
+		return Feedback.patterns(dictionary.length()) > 256;
+	}
+
+	private static int cellBytes(WordIndex dictionary) {
+		return isWide(dictionary) ? 2 : 1;
+	}
+}
@@ -0,0 +1,48 @@
+package monash.assignment;
+
+/**
+ * A FeedbackTable gives the {@link Feedback} code for a guess and target, both given as
+ * indices into the same {@link WordIndex}. Analysis, solver and hint features score through
+ * this interface so they can run on either {@link #direct(WordIndex)} scoring or a
+ * precomputed {@link FeedbackMatrix}
+ */
+public interface FeedbackTable {
+
+	/**
+	 * @param guess  The dictionary index of the guess
+	 * @param target The dictionary index of the target
+	 * @return The feedback code for the guess against the target
+	 */
+	int feedback(int guess, int target);
+
+	/**
+	 * @return The dictionary the indices refer to
+	 */
+	WordIndex dictionary();
+
+	/**
+	 * @return true if every code is looked up rather than scored when it is asked for. Callers that
+	 * score one guess against many targets use a {@link BulkScorer} instead of a table that is not
+	 */
+	default boolean isPrecomputed() {
+		return false;
+	}
+
+	/**
+	 * @param dictionary The dictionary the indices refer to
+	 * @return A table that scores each pair with {@link Feedback#score(long, long)} when it is asked for
+	 */
+	static FeedbackTable direct(WordIndex dictionary) {
+		return new FeedbackTable() {
+			@Override
+			public int feedback(int guess, int target) {
+				return Feedback.score(dictionary.packedAt(guess), dictionary.packedAt(target));
+			}
+
+			@Override
+			public WordIndex dictionary() {
+				return dictionary;
+			}
+		};
+	}
+}
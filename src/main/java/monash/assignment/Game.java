@@ -4,6 +4,7 @@ import lombok.AccessLevel;
 import lombok.Data;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 
 import java.util.*;
 
@@ -15,59 +16,111 @@ import java.util.*;
  * <p>Variables defined in this class:</p>
  * <ol>
  *     <li>targetWord - the word that the user is trying to guess</li>
- *     <li>wordList - the list of words considered a valid guess</li>
+ *     <li>dictionary - the {@link WordIndex} of words considered a valid guess</li>
  *     <li>tries - the number of tries the user has to guess the target word</li>
  *     <li>guesses - the guesses the user has made for the game</li>
+ *     <li>turns - the guesses the user has made for the game, in order, with their {@link Feedback} codes</li>
+ *     <li>solver - the {@link Solver} used to answer the hint command</li>
+ *     <li>candidates - the {@link CandidateSet} of words that can still be the target word, created on the first turn</li>
+ *     <li>scorer - the game's copy of the dictionary's {@link BulkScorer}, created the first time candidates are scored</li>
+ *     <li>indices - scratch, the dictionary indices of the remaining candidates</li>
+ *     <li>codes - scratch, the feedback code of each remaining candidate</li>
+ *     <li>hardMode - whether every guess must reuse the hints revealed by earlier guesses</li>
+ *     <li>hints - the {@link HardMode} hints revealed so far, created on the first guess of a hard mode game</li>
+ *     <li>io - the {@link GameIO} the user's guesses are read from and messages are written to</li>
  *</ol>
  */
 @Data
 public class Game {
+	public static final String HINT = "?";
+	public static final String COMPLETE = "*";
+	public static final int COMPLETIONS = 8;
+
+	private static final Metrics metrics = Metrics.global();
+
 	@NonNull
 	@Getter(AccessLevel.NONE)
 	private String targetWord;
 	@NonNull
 	@Getter(AccessLevel.NONE)
-	private List<String> dictionary;
+	private WordIndex dictionary;
 	@NonNull
-	@Getter(AccessLevel.NONE)
 	private int tries;
 
 	private int round = 1;
 
 	private Set<String> guesses = new HashSet<>();
 
+	private final List<Turn> turns = new ArrayList<>();
+
+	@Getter(AccessLevel.PROTECTED)
+	private Solver solver;
+
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private CandidateSet candidates;
+
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private BulkScorer scorer;
+
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private int[] indices;
+
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private int[] codes;
+
+	private boolean hardMode;
+
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private HardMode hints;
+
+	@NonNull
+	@Getter(AccessLevel.PROTECTED)
+	private GameIO io = GameIO.console();
+
+	/**
+	 * A guess made in the game and the feedback it was given
+	 *
+	 * @param guess    The guess, packed with {@link WordIndex#pack(CharSequence)}
+	 * @param feedback The {@link Feedback} code of the guess
+	 */
+	public record Turn(long guess, int feedback) {
+	}
+
 	/**
 	 * Starts the game.
 	 * <p>Variables defined in this method:</p>
 	 * <ol>
 	 *     <li>round - the current round of the game</li>
-	 *     <li>scanner - the scanner used to read user input</li>
-	 *     <li>guess - the user's guess</li>
-	 *     <li>result - the result of the user's guess from {@link #checkGuess(String)}</li>
+	 *     <li>guess - the user's guess, or null if the user has no more input</li>
 	 * </ol>
+	 * Each valid guess is played with {@link #playRound(String)}
 	 *
 	 * Upon completion of the game, the guesses set will be cleared. This is to ensure that
 	 * guesses from previous games are not carried over to the next game.
 	 *
-	 * @return true if the game was completed, either by the user guessing the target word or running out of tries
+	 * @return true if the user guessed the target word, false if the user ran out of tries or input
 	 */
 	public boolean start() {
 		messages("start");
-		Scanner scanner = new Scanner(System.in);
 
 		while (round <= tries) {
 			messages("input");
-			String guess = scanner.nextLine().trim().toLowerCase();
+			String guess = nextGuess();
 
-			while (!guessValidity(guess)) {
-				guess = scanner.nextLine().trim().toLowerCase();
+			while (guess != null && !guessValidity(guess)) {
+				guess = nextGuess();
 			}
 
-			String result = checkGuess(guess);
-
-			messages("round", String.valueOf(round), guess, result);
+			if (guess == null) {
+				return false;
+			}
 
-			if (result.equals(targetWord)) {
+			if (playRound(guess)) {
 				return true;
 			}
 
@@ -77,33 +130,90 @@ public class Game {
 		return false;
 	}
 
+	/**
+	 * Plays a valid guess as the current round and shows its feedback
+	 *
+	 * @param guess The user's guess, in lowercase
+	 * @return true if the guess won the game
+	 */
+	protected boolean playRound(String guess) {
+		int code = play(guess);
+		messages("round", String.valueOf(round), guess, Feedback.render(guess, code));
+		return code == Feedback.allCorrect(dictionary.length());
+	}
+
+	private String nextGuess() {
+		String line = io.readLine();
+		return line == null ? null : line.trim().toLowerCase();
+	}
+
 	/**
 	 * Checks if the user's guess is valid, and provides feedback if it is not.
 	 * A guess is valid if:
 	 * <ol>
-	 *     <li>It is 5 letters long</li>
+	 *     <li>It has as many letters as the words in the dictionary</li>
 	 *     <li>It has not been guessed before</li>
 	 *     <li>It is in the game dictionary</li>
+	 *     <li>In hard mode, it reuses every hint revealed so far, see {@link HardMode}</li>
 	 * </ol>
 	 * If the guess is not valid, the user will be prompted to enter another guess
-	 * until a valid guess is entered
+	 * until a valid guess is entered. If the user enters {@value #HINT}, which cannot be a word of
+	 * any length, the best next guess
+	 * from the {@link Solver} is shown instead, and if the user enters the start of a word
+	 * followed by {@value #COMPLETE}, up to {@value #COMPLETIONS} words that start with it are
+	 * shown from the dictionary's {@link WordDawg}
+	 *
+	 * <p>Only the checks are timed in {@link Metrics}, so the latency does not include writing the
+	 * message. The solver search for a hint is timed on its own, and completions are not timed.</p>
 	 *
 	 * @param guess The user's guess
 	 * @return true if the user's guess is valid
 	 */
 	public boolean guessValidity(String guess) {
-		if (guess.length() != 5) {
-			messages("invalidLength");
+		if (guess.equals(HINT)) {
+			metrics.hints.increment();
+			long started = System.nanoTime();
+			String hint = hint();
+			metrics.hint.recordSince(started);
+			messages("hint", hint);
+			return false;
+		}
+
+		if (guess.endsWith(COMPLETE)) {
+			metrics.completions.increment();
+			String prefix = guess.substring(0, guess.length() - COMPLETE.length());
+			WordDawg dawg = dictionary.dawg();
+			messages("complete", prefix, String.valueOf(dawg.count(prefix)), String.join(", ", dawg.complete(prefix, COMPLETIONS)));
+			return false;
+		}
+
+		long started = System.nanoTime();
+		String rejection = null;
+		String argument = guess;
+
+		if (guess.length() != dictionary.length()) {
+			metrics.invalidLengthGuesses.increment();
+			rejection = "invalidLength";
 		} else if (guesses.contains(guess)) {
-			messages("alreadyGuessed", guess);
+			metrics.duplicateGuesses.increment();
+			rejection = "alreadyGuessed";
 		} else if (!dictionary.contains(guess)) {
-			messages("invalidGuess", guess);
+			metrics.outOfDictionaryGuesses.increment();
+			rejection = "invalidGuess";
+		} else if (hardMode && !hints().allows(WordIndex.pack(guess))) {
+			metrics.hardModeGuesses.increment();
+			rejection = "hardMode";
+			argument = hints().violation(WordIndex.pack(guess));
 		} else {
+			metrics.validGuesses.increment();
 			guesses.add(guess);
-			return true;
 		}
 
-		return false;
+		metrics.guessValidity.recordSince(started);
+		if (rejection != null) {
+			messages(rejection, argument);
+		}
+		return rejection == null;
 	}
 
 	/**
@@ -115,61 +225,174 @@ public class Game {
 	 *     <li>If the user's guess is correct, the game will end</li>
 	 * </ol>
 	 *
-	 * Variables defined in this method:
-	 * <ol>
-	 *     <li>result - the result of the user's guess</li>
-	 *     <li>targetLetterCount - a map of the letters in the target word and how often the appear. Deals with duplicate letters</li>
-	 * </ol>
-	 *
 	 * @param guess The user's guess
 	 * @return A string containing the feedback for the user's guess
 	 */
 	public String checkGuess(String guess) {
-		StringBuilder result = new StringBuilder();
-
+		long started = System.nanoTime();
 		guess = guess.toLowerCase();
+		String result = Feedback.render(guess, scoreGuess(guess));
+		metrics.checkGuess.recordSince(started);
+		return result;
+	}
 
-		Map<Character, Integer> targetLetterCount = new HashMap<>();
-		for (char c : targetWord.toCharArray()) {
-			targetLetterCount.put(c, targetLetterCount.getOrDefault(c, 0) + 1);
+	/**
+	 * Scores the user's guess without allocating. Duplicate letters are handled by
+	 * {@link Feedback#score(long, long)}
+	 *
+	 * @param guess The user's guess, in lowercase
+	 * @return The {@link Feedback} code for the user's guess
+	 */
+	public int scoreGuess(String guess) {
+		long packedGuess = WordIndex.pack(guess);
+		if (packedGuess == WordIndex.INVALID || guess.length() != targetWord.length()) {
+			throw new IllegalArgumentException(String.format("Guess [%s] cannot be scored", guess));
+		}
+
+		return Feedback.score(packedGuess, WordIndex.pack(targetWord));
+	}
+
+	/**
+	 * Scores a guess against every word that can still be the target at once with the
+	 * dictionary's {@link BulkScorer}, and counts the words that give each feedback code.
+	 * The remaining candidates are scored through their indices, in scratch arrays the game
+	 * keeps, so nothing is allocated after the first call
+	 *
+	 * @param guess     The guess, in lowercase
+	 * @param histogram The counts of each code are added to this array, which is at least
+	 *                  {@link Feedback#patterns(int)} long for the length of the game
+	 * @return The number of candidates scored
+	 */
+	public int scoreCandidates(String guess, int[] histogram) {
+		long packedGuess = WordIndex.pack(guess);
+		if (packedGuess == WordIndex.INVALID || guess.length() != dictionary.length()) {
+			throw new IllegalArgumentException(String.format("Guess [%s] cannot be scored", guess));
+		}
+
+		CandidateSet remaining = candidates();
+		if (scorer == null) {
+			scorer = new BulkScorer(dictionary.scorer());
+			indices = new int[dictionary.size()];
+			codes = new int[dictionary.size()];
 		}
 
-		Map<Character, Integer> guessLetterCount = new HashMap<>();
-		for (char c : guess.toCharArray()) {
-			guessLetterCount.put(c, guessLetterCount.getOrDefault(c, 0) + 1);
+		int count = remaining.toArray(indices);
+		scorer.histogram(packedGuess, indices, count, codes, histogram);
+		return count;
+	}
+
+	/**
+	 * Scores the user's guess, records it as a turn of the game and narrows the remaining candidates
+	 *
+	 * @param guess The user's guess, in lowercase
+	 * @return The {@link Feedback} code for the user's guess
+	 */
+	public int play(String guess) {
+		int code = scoreGuess(guess);
+		Turn turn = new Turn(WordIndex.pack(guess), code);
+		turns.add(turn);
+		candidates().apply(turn.guess(), turn.feedback());
+		if (hints != null) {
+			hints.update(turn.guess(), turn.feedback());
+		}
+		return code;
+	}
+
+	/**
+	 * @return true once the target word has been guessed or every try has been used
+	 */
+	public boolean isOver() {
+		return round > tries || (!turns.isEmpty() && turns.get(turns.size() - 1).feedback() == Feedback.allCorrect(dictionary.length()));
+	}
+
+	/**
+	 * @return The number of dictionary words that are consistent with every turn so far
+	 */
+	public int remainingCandidateCount() {
+		return candidates().count();
+	}
+
+	/**
+	 * @return The dictionary words that are consistent with every turn so far, in dictionary order
+	 */
+	public Iterator<String> remainingCandidates() {
+		PrimitiveIterator.OfInt indices = candidates().iterator();
+		return new Iterator<>() {
+			@Override
+			public boolean hasNext() {
+				return indices.hasNext();
+			}
+
+			@Override
+			public String next() {
+				return dictionary.get(indices.nextInt());
+			}
+		};
+	}
+
+	/**
+	 * @return The {@link CandidateSet} for the game. If the dictionary has been replaced, the set is
+	 * rebuilt from the turns so far
+	 */
+	public CandidateSet candidates() {
+		if (candidates == null || candidates.dictionary() != dictionary) {
+			candidates = CandidateSet.all(dictionary);
+			scorer = null;
+			for (Turn turn : turns) {
+				candidates.apply(turn.guess(), turn.feedback());
+			}
 		}
 
-		for (int i = 0; i < guess.length(); i++) {
-			char c = guess.charAt(i);
-			if (c == targetWord.charAt(i)) {
-				result.append(c);
-				targetLetterCount.computeIfPresent(c, (k, v) -> v - 1);
-			} else if (targetLetterCount.containsKey(c) && targetLetterCount.get(c) > 0) {
-				if (guessLetterCount.get(c) > targetLetterCount.get(c)) {
-					result.append("#");
-				} else {
-					result.append("?");
-					targetLetterCount.computeIfPresent(c, (k, v) -> v - 1);
-				}
-			} else {
-				result.append("#");
+		return candidates;
+	}
+
+	/**
+	 * @return The {@link HardMode} hints for the game, created from the turns so far on first use
+	 */
+	private HardMode hints() {
+		if (hints == null) {
+			hints = new HardMode(dictionary.length());
+			for (Turn turn : turns) {
+				hints.update(turn.guess(), turn.feedback());
 			}
+		}
 
-			guessLetterCount.computeIfPresent(c, (k, v) -> v - 1);
+		return hints;
+	}
+
+	/**
+	 * @return The best next guess from the {@link Solver}. If no solver has been set, one that
+	 * scores guesses directly against the dictionary is created. In hard mode, a best guess that
+	 * does not reuse the hints is replaced by the best of the remaining candidates, which always do
+	 */
+	public String hint() {
+		if (solver == null) {
+			solver = new Solver(FeedbackTable.direct(dictionary));
+		}
 
+		String guess = solver.bestGuess(this);
+		if (guess == null || !hardMode || hints().allows(WordIndex.pack(guess))) {
+			return guess;
 		}
 
-		return result.toString();
+		int[] remaining = new int[dictionary.size()];
+		int best = solver.bestCandidate(remaining, candidates().toArray(remaining));
+		return best < 0 ? null : dictionary.get(best);
 	}
 
 	protected void messages(String id, String... args) {
 		switch (id) {
-			case "start" -> System.out.printf("You have %d tries to guess the target word.\n", tries);
-			case "input" -> System.out.print("Please enter your guess: ");
-			case "round" -> System.out.printf("%s: %s  %s: %s\n", args[0], args[1], args[0], args[2]);
-			case "invalidLength" -> System.err.print("Please enter a word of 5 letters: ");
-			case "invalidGuess" -> System.err.printf("[%s] is not in the dictionary or is invalid. Please try again: ", args[0]);
-			case "alreadyGuessed" -> System.err.printf("You have already guessed [%s]. Please try again: ", args[0]);
+			case "start" -> io.printf("You have %d tries to guess the target word.\n", tries);
+			case "input" -> io.print("Please enter your guess: ");
+			case "round" -> io.printf("%s: %s  %s: %s\n", args[0], args[1], args[0], args[2]);
+			case "invalidLength" -> io.errorf("Please enter a word of %d letters: ", dictionary.length());
+			case "invalidGuess" -> io.errorf("[%s] is not in the dictionary or is invalid. Please try again: ", args[0]);
+			case "alreadyGuessed" -> io.errorf("You have already guessed [%s]. Please try again: ", args[0]);
+			case "hardMode" -> io.errorf("Hard mode: %s. Please try again: ", args[0]);
+			case "hint" -> io.printf("Hint: try [%s]. Please enter your guess: ", args[0]);
+			case "complete" -> io.printf(args[1].equals("0")
+					? "No words start with [%s]. Please enter your guess: "
+					: "Words starting with [%s]: %3$s (%2$s in total). Please enter your guess: ", args[0], args[1], args[2]);
 		}
 	}
 }
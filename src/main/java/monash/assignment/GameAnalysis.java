@@ -0,0 +1,188 @@
+package monash.assignment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The GameAnalysis class rates the guesses of a finished game. For each guess it finds how many
+ * words could still have been the target, how many the guess was expected to leave, and how many
+ * a suggested guess would have been expected to leave. A guess that splits n candidates into
+ * feedback buckets of c words is expected to leave the sum of c·c/n words, not counting the
+ * bucket of the target itself, which ends the game
+ *
+ * <p>The candidates are narrowed turn by turn with a {@link CandidateSet}, and each guess is
+ * scored against all of them at once with a {@link BulkScorer} into a reused histogram. The
+ * suggested guess is an approximation of the best guess, not the result of a full search. It is
+ * the best of the candidates of the turn, or of {@value #SEARCH_LIMIT} of them spread evenly
+ * through the dictionary when there are more, so the search stays in the low milliseconds. Words
+ * that cannot be the target are not tried, although one of them can split the candidates better.
+ * At the opening, where every word is a candidate, the {@link Solver}'s opening guess is tried
+ * instead, which the solver computes once and caches, but it minimises entropy rather than the
+ * words expected to be left. The player's own guess is always a choice, so no guess scores better
+ * than the suggestion, and skill is measured against the suggestion.</p>
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>turns - the analysis of each guess, in the order they were made</li>
+ * </ol>
+ */
+public final class GameAnalysis {
+	static final int SEARCH_LIMIT = 512;
+
+	private final List<Turn> turns;
+
+	private GameAnalysis(List<Turn> turns) {
+		this.turns = turns;
+	}
+
+	/**
+	 * The analysis of one guess
+	 *
+	 * @param guess        The guess
+	 * @param remaining    The number of words that could still be the target before the guess
+	 * @param expected          The number of words the guess was expected to leave
+	 * @param suggested         The guess of those searched expected to leave the fewest words
+	 * @param suggestedExpected The number of words the suggested guess was expected to leave
+	 * @param left              The number of words the guess actually left
+	 */
+	public record Turn(String guess, int remaining, double expected, String suggested, double suggestedExpected, int left) {
+
+		/**
+		 * @return The share of the reduction of the candidates the suggested guess was expected
+		 * to make that the guess was expected to make, from 0 to 1
+		 */
+		public double skill() {
+			double possible = remaining - suggestedExpected;
+			return possible <= 0 ? 1 : Math.max(0, Math.min(1, (remaining - expected) / possible));
+		}
+
+		/**
+		 * @return How many times fewer words the guess left than expected, in bits. Positive is lucky
+		 */
+		public double luck() {
+			return Math.log((expected + 1) / (left + 1)) / Math.log(2);
+		}
+	}
+
+	/**
+	 * Analyses the turns of a game
+	 *
+	 * <p>Variables defined in this method:</p>
+	 * <ol>
+	 *     <li>candidates - the words that can still be the target before each turn</li>
+	 *     <li>indices - the dictionary indices of the candidates</li>
+	 *     <li>codes, histogram - scratch for the scorer, reused for every guess</li>
+	 * </ol>
+	 *
+	 * @param turns  The guesses of the game and their feedback codes
+	 * @param solver The solver for the dictionary of the game
+	 * @return The analysis of every turn
+	 */
+	public static GameAnalysis analyze(List<Game.Turn> turns, Solver solver) {
+		WordIndex dictionary = solver.getTable().dictionary();
+		CandidateSet candidates = CandidateSet.all(dictionary);
+		int[] indices = new int[dictionary.size()];
+		int[] codes = new int[dictionary.size()];
+		int[] histogram = new int[Feedback.patterns(dictionary.length())];
+		int allCorrect = Feedback.allCorrect(dictionary.length());
+		List<Turn> analysed = new ArrayList<>(turns.size());
+
+		for (Game.Turn turn : turns) {
+			int count = candidates.toArray(indices);
+			long[] packed = new long[count];
+			for (int i = 0; i < count; i++) {
+				packed[i] = dictionary.packedAt(indices[i]);
+			}
+			BulkScorer scorer = new BulkScorer(packed, count);
+
+			double expected = expected(scorer, turn.guess(), codes, histogram, allCorrect);
+			long suggested = turn.guess();
+			double suggestedExpected = expected;
+
+			if (count == dictionary.size()) {
+				int opening = solver.bestGuess(indices, count);
+				double openingExpected = opening < 0 ? Double.MAX_VALUE : expected(scorer, dictionary.packedAt(opening), codes, histogram, allCorrect);
+				if (openingExpected < suggestedExpected) {
+					suggested = dictionary.packedAt(opening);
+					suggestedExpected = openingExpected;
+				}
+			} else {
+				int step = Math.max(1, count / SEARCH_LIMIT);
+				for (int i = 0; i < count && suggestedExpected > 0; i += step) {
+					double candidate = expected(scorer, packed[i], codes, histogram, allCorrect);
+					if (candidate < suggestedExpected) {
+						suggested = packed[i];
+						suggestedExpected = candidate;
+					}
+				}
+			}
+
+			candidates.apply(turn.guess(), turn.feedback());
+			int left = turn.feedback() == allCorrect ? 0 : candidates.count();
+			analysed.add(new Turn(WordIndex.unpack(turn.guess()), count, expected, WordIndex.unpack(suggested), suggestedExpected, left));
+		}
+
+		return new GameAnalysis(List.copyOf(analysed));
+	}
+
+	/**
+	 * @return The number of candidates the guess is expected to leave, the sum of c·c/n over the
+	 * feedback buckets other than the all correct one. The histogram is cleared again
+	 */
+	private static double expected(BulkScorer scorer, long guess, int[] codes, int[] histogram, int allCorrect) {
+		if (scorer.count() == 0) {
+			return 0;
+		}
+
+		scorer.histogram(guess, codes, histogram);
+		histogram[allCorrect] = 0;
+		long sum = 0;
+		for (int code = 0; code < histogram.length; code++) {
+			sum += (long) histogram[code] * histogram[code];
+			histogram[code] = 0;
+		}
+		return (double) sum / scorer.count();
+	}
+
+	/**
+	 * @return The analysis of each guess, in the order they were made
+	 */
+	public List<Turn> turns() {
+		return turns;
+	}
+
+	/**
+	 * @return The average skill of the guesses from 0 to 100, where 100 means every guess was
+	 * expected to narrow the candidates as much as the suggested guess
+	 */
+	public int skill() {
+		double total = 0;
+		for (Turn turn : turns) {
+			total += turn.skill();
+		}
+		return turns.isEmpty() ? 0 : (int) Math.round(total * 100 / turns.size());
+	}
+
+	/**
+	 * @return The total luck of the guesses in bits, see {@link Turn#luck()}
+	 */
+	public double luck() {
+		double total = 0;
+		for (Turn turn : turns) {
+			total += turn.luck();
+		}
+		return total;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder report = new StringBuilder();
+		for (int i = 0; i < turns.size(); i++) {
+			Turn turn = turns.get(i);
+			report.append(String.format("%d: %s  %d words, expected to leave %.1f (suggested [%s] %.1f), left %d%n",
+					i + 1, turn.guess(), turn.remaining(), turn.expected(), turn.suggested(), turn.suggestedExpected(), turn.left()));
+		}
+		report.append(String.format("Skill: %d/100, luck: %+.1f bits%n", skill(), luck()));
+		return report.toString();
+	}
+}
@@ -0,0 +1,45 @@
+package monash.assignment;
+
+/**
+ * A GameIO is where a {@link Game} and {@link Commandle} read the player's input and write their messages
+ * Keeping the game loop behind this interface lets the same game run on the console, over a
+ * socket in {@link GameServer}, or against a script
+ */
+public interface GameIO {
+
+	/**
+	 * Waits for the next line of input from the player
+	 *
+	 * @return The line without its line terminator, or null if there is no more input
+	 */
+	String readLine();
+
+	/**
+	 * @param text The message to show the player
+	 */
+	void print(String text);
+
+	/**
+	 * @param text The error message to show the player
+	 */
+	void error(String text);
+
+	default void printf(String format, Object... args) {
+		print(String.format(format, args));
+	}
+
+	default void errorf(String format, Object... args) {
+		error(String.format(format, args));
+	}
+
+	default void println(String text) {
+		print(text + System.lineSeparator());
+	}
+
+	/**
+	 * @return A GameIO that reads from System.in and writes to System.out and System.err
+	 */
+	static GameIO console() {
+		return new ConsoleIO();
+	}
+}
@@ -0,0 +1,272 @@
+package monash.assignment;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.security.SecureRandom;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The GameServer class lets many players play Commandle at once over a plain TCP line protocol
+ * Each connection is a session with its own {@link Commandle}, so sessionTargets and guesses are
+ * never shared, while every session reads the same immutable {@link WordIndex} and {@link Solver}.
+ * The protocol is the console game: the server writes the prompts and the client sends one line per answer
+ *
+ * <p>Each session runs on its own virtual thread when the JVM supports them (Java 21 and later),
+ * and on a thread from a cached pool otherwise. With a {@link DictionaryWatcher}, each new game
+ * of every session is played on the latest dictionary, while games in progress keep theirs, and
+ * every session shares the solver the watcher prepared for it.</p>
+ *
+ * <p>With a {@link SessionStore}, each connection is first asked for a session id. A player who
+ * disconnects in the middle of a game is paused in the store as a compact snapshot, and can
+ * resume the game by reconnecting with the id they were given, until the store evicts it.
+ * Only single board games on the store's dictionary are paused.</p>
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>dictionary - the {@link WordIndex} shared by every session</li>
+ *     <li>solver - the {@link Solver} shared by every session for hints</li>
+ *     <li>tries - the number of tries each game has</li>
+ *     <li>boards - the number of target words each game has, see {@link MultiBoardGame}</li>
+ *     <li>hardMode - whether new sessions play in hard mode, see {@link HardMode}</li>
+ *     <li>serverSocket - the socket that accepts new sessions</li>
+ *     <li>sessions - the executor that runs one thread per session</li>
+ *     <li>analysis - whether every finished game is followed by a {@link GameAnalysis} of its guesses</li>
+ *     <li>watcher - the {@link DictionaryWatcher} sessions take the latest dictionary from, or null to serve only dictionary</li>
+ *     <li>feedbackCache - the cache directory given to every session, or null to score without one</li>
+ *     <li>store - the {@link SessionStore} games left in progress are paused in, or null to drop them</li>
+ * </ol>
+ */
+public final class GameServer implements Closeable {
+	private static final Logger log = LogManager.getLogger(GameServer.class);
+
+	static final String RESUME_PROMPT = "Enter your session id to resume it, or press enter to start a new session: ";
+
+	private static final SecureRandom ids = new SecureRandom();
+
+	private final WordIndex dictionary;
+	private final Solver solver;
+	private final int tries;
+	private final ServerSocket serverSocket;
+	private final ExecutorService sessions;
+	private volatile int boards = 1;
+	private volatile boolean hardMode;
+	private volatile boolean analysis;
+	private volatile DictionaryWatcher watcher;
+	private volatile Path feedbackCache;
+	private volatile SessionStore store;
+
+	/**
+	 * @param dictionary The dictionary shared by every session
+	 * @param solver     The solver shared by every session for hints
+	 * @param port       The port to listen on, or 0 for any free port
+	 */
+	public GameServer(WordIndex dictionary, Solver solver, int port) throws IOException {
+		this(dictionary, solver, Commandle.DEFAULT_TRIES, port);
+	}
+
+	/**
+	 * @param dictionary The dictionary shared by every session
+	 * @param solver     The solver shared by every session for hints
+	 * @param tries      The number of tries each game has
+	 * @param port       The port to listen on, or 0 for any free port
+	 */
+	public GameServer(WordIndex dictionary, Solver solver, int tries, int port) throws IOException {
+		this.dictionary = dictionary;
+		this.solver = solver;
+		this.tries = tries;
+		this.serverSocket = new ServerSocket(port, 1024);
+		this.sessions = sessionExecutor();
+	}
+
+	/**
+	 * @return The port the server is listening on
+	 */
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	/**
+	 * @param boards The number of target words each game of a new session has, see {@link Commandle#setBoards(int)}
+	 * @throws IllegalArgumentException if the number of boards is not allowed, or hard mode is on
+	 */
+	public void setBoards(int boards) {
+		if (boards != 1 && (boards < MultiBoardGame.MIN_BOARDS || boards > MultiBoardGame.MAX_BOARDS)) {
+			throw new IllegalArgumentException(String.format("Boards must be 1 or %d to %d", MultiBoardGame.MIN_BOARDS, MultiBoardGame.MAX_BOARDS));
+		}
+		if (boards > 1 && hardMode) {
+			throw new IllegalArgumentException(MultiBoardGame.NO_HARD_MODE);
+		}
+		this.boards = boards;
+	}
+
+	/**
+	 * @param hardMode Whether new sessions play in hard mode, see {@link HardMode}. A resumed
+	 *                 session keeps the mode it was paused in
+	 * @throws IllegalArgumentException if hard mode is turned on while more than one board is played
+	 */
+	public void setHardMode(boolean hardMode) {
+		if (hardMode && boards > 1) {
+			throw new IllegalArgumentException(MultiBoardGame.NO_HARD_MODE);
+		}
+		this.hardMode = hardMode;
+	}
+
+	/**
+	 * @param analysis Whether every finished game is followed by a {@link GameAnalysis} of its guesses
+	 */
+	public void setAnalysis(boolean analysis) {
+		this.analysis = analysis;
+	}
+
+	/**
+	 * @param watcher The watcher new games take the latest dictionary from, or null to serve only the dictionary
+	 */
+	public void setWatcher(DictionaryWatcher watcher) {
+		this.watcher = watcher;
+	}
+
+	/**
+	 * @param feedbackCache The cache directory given to every session, see {@link Commandle#setFeedbackCache(Path)}
+	 */
+	public void setFeedbackCache(Path feedbackCache) {
+		this.feedbackCache = feedbackCache;
+	}
+
+	/**
+	 * @param store The store games left in progress are paused in and resumed from, or null to drop them
+	 */
+	public void setStore(SessionStore store) {
+		this.store = store;
+	}
+
+	/**
+	 * Accepts sessions on a background thread
+	 */
+	public void start() {
+		Thread acceptor = new Thread(this::serve, "commandle-acceptor");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	/**
+	 * Accepts sessions until the server is closed
+	 */
+	public void serve() {
+		log.info("Serving Commandle on port {}", getPort());
+
+		while (!serverSocket.isClosed()) {
+			try {
+				Socket socket = serverSocket.accept();
+				sessions.execute(() -> session(socket));
+			} catch (SocketException e) {
+				log.debug("Server socket closed");
+			} catch (IOException e) {
+				log.warn("Failed to accept a session", e);
+			}
+		}
+	}
+
+	/**
+	 * Plays games with one client until it stops playing or disconnects. With a store, the client
+	 * can resume a paused session, and a game it leaves in progress is paused before the
+	 * connection is closed
+	 */
+	private void session(Socket socket) {
+		try (socket; StreamIO io = new StreamIO(
+				new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)),
+				new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)))) {
+			SessionStore store = this.store;
+			Commandle commandle = null;
+			String id = null;
+
+			if (store != null) {
+				io.print(RESUME_PROMPT);
+				String answer = io.readLine();
+				if (answer == null) {
+					return;
+				}
+				if (!answer.isBlank()) {
+					commandle = store.resume(answer.trim(), io);
+				}
+				id = commandle != null ? answer.trim() : String.format("%016x", ids.nextLong());
+				io.printf(commandle != null ? "Resumed session [%s]%n" : "Your session id is [%s]%n", id);
+			}
+
+			if (commandle == null) {
+				commandle = new Commandle();
+				commandle.setDictionary(dictionary);
+				commandle.setSolver(solver);
+				commandle.setTries(tries);
+				commandle.setBoards(boards);
+				commandle.setHardMode(hardMode);
+			}
+			commandle.setWordLength(commandle.getDictionary().length());
+			commandle.setFeedbackCache(feedbackCache);
+			commandle.setWatcher(watcher);
+			commandle.setAnalysis(analysis);
+			commandle.setIo(io);
+
+			try {
+				if (commandle.getGame() != null) {
+					commandle.startGame();
+				} else {
+					commandle.run(new String[0]);
+				}
+			} finally {
+				Game game = commandle.getGame();
+				if (store != null && game != null && !game.isOver() && !(game instanceof MultiBoardGame)
+						&& commandle.getDictionary().fingerprint() == store.dictionary().fingerprint()) {
+					store.pause(id, commandle);
+					log.debug("Paused session {} in round {}", id, game.getRound());
+				}
+			}
+		} catch (IOException | UncheckedIOException e) {
+			log.debug("Session ended by a connection error", e);
+		} catch (RuntimeException e) {
+			log.warn("Session failed", e);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		serverSocket.close();
+		sessions.shutdownNow();
+		try {
+			sessions.awaitTermination(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * @return A virtual thread per task executor if the JVM has one, otherwise a cached pool of daemon threads
+	 */
+	private static ExecutorService sessionExecutor() {
+		try {
+			Method virtual = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) virtual.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return Executors.newCachedThreadPool(task -> {
+				Thread thread = new Thread(task, "commandle-session");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package monash.assignment;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A GuessStrategy picks the next guess for a {@link Game} without any console I/O
+ * Strategies are used by {@link Simulation} from many threads at once, so they must be thread safe
+ */
+@FunctionalInterface
+public interface GuessStrategy {
+
+	/**
+	 * @param game The game being played
+	 * @return The next guess, or null to give up the game
+	 */
+	String nextGuess(Game game);
+
+	/**
+	 * @return A strategy that guesses the first word in the dictionary that is still a candidate
+	 */
+	static GuessStrategy firstCandidate() {
+		return game -> {
+			var candidates = game.remainingCandidates();
+			return candidates.hasNext() ? candidates.next() : null;
+		};
+	}
+
+	/**
+	 * The solver is deterministic, so its suggestion only depends on the turns played so far.
+	 * Suggestions are cached by turn history, which means a sweep over the whole dictionary
+	 * only asks the solver once for each distinct game state
+	 *
+	 * @param solver The solver to ask for the best guess
+	 * @return A strategy that guesses the suggestion of the solver
+	 */
+	static GuessStrategy entropy(Solver solver) {
+		Map<List<Game.Turn>, String> cache = new ConcurrentHashMap<>();
+		return game -> {
+			List<Game.Turn> turns = List.copyOf(game.getTurns());
+			String guess = cache.get(turns);
+			if (guess == null) {
+				guess = solver.bestGuess(game);
+				if (guess != null) {
+					cache.putIfAbsent(turns, guess);
+				}
+			}
+			return guess;
+		};
+	}
+}
@@ -0,0 +1,184 @@
+package monash.assignment;
+
+import java.util.Arrays;
+
+/**
+ * The HardMode class holds the hints revealed in a game, which every later guess must reuse
+ * <ol>
+ *     <li>A correct letter must be guessed again in the same position</li>
+ *     <li>A present letter must be guessed again, but not in the same position</li>
+ *     <li>An absent letter cannot be guessed in the same position again, or anywhere once the
+ *     target word is known not to contain it</li>
+ *     <li>A letter must be guessed at least as many times as it has been shown to be in the target word</li>
+ * </ol>
+ * The hints are kept as bitmasks that are updated after each turn, so checking a guess is a mask
+ * compare for the correct letters and a few bit operations per letter, without replaying the turns
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>length - the number of letters in the words of the game</li>
+ *     <li>fixedMask - the bits of a packed word that hold the letters of the correct positions</li>
+ *     <li>fixedLetters - the packed letters of the correct positions, with every other position 0</li>
+ *     <li>banned - a bitmask of the letters that cannot be guessed in each position, bit 0 is a</li>
+ *     <li>required - a bitmask per count of the letters that must be guessed at least that many
+ *     times, required[0] for once, required[1] for twice and so on</li>
+ *     <li>requiredCounts - the number of masks of required that are not empty</li>
+ *     <li>copies - the masks of the letters in the guess being checked or added, by count, like required</li>
+ * </ol>
+ */
+public final class HardMode {
+	private final int length;
+	private long fixedMask;
+	private long fixedLetters;
+	private final int[] banned;
+	private final int[] required;
+	private int requiredCounts;
+	private final int[] copies;
+
+	/**
+	 * @param length The number of letters in the words of the game
+	 */
+	public HardMode(int length) {
+		this.length = WordIndex.checkLength(length);
+		this.banned = new int[length];
+		this.required = new int[length];
+		this.copies = new int[length];
+	}
+
+	/**
+	 * Adds the hints revealed by a turn. The correct and present letters of the guess are counted
+	 * into copies, and a letter with an absent copy but no other copy is not in the target word at all
+	 *
+	 * <p>Variables defined in this method:</p>
+	 * <ol>
+	 *     <li>absent - a bitmask of the letters with an absent copy in the guess</li>
+	 *     <li>missing - a bitmask of the letters that are not in the target word</li>
+	 * </ol>
+	 *
+	 * @param guess    The packed guess
+	 * @param feedback The {@link Feedback} code of the guess
+	 */
+	public void update(long guess, int feedback) {
+		Arrays.fill(copies, 0);
+		int absent = 0;
+
+		for (int i = 0; i < length; i++) {
+			int letter = WordIndex.letter(guess, length, i);
+			int bit = 1 << letter;
+
+			switch (Feedback.digit(feedback, i)) {
+				case Feedback.CORRECT -> {
+					int shift = shift(i);
+					fixedMask |= 31L << shift;
+					fixedLetters |= (long) (letter + 1) << shift;
+					count(copies, bit);
+				}
+				case Feedback.PRESENT -> {
+					banned[i] |= bit;
+					count(copies, bit);
+				}
+				default -> {
+					banned[i] |= bit;
+					absent |= bit;
+				}
+			}
+		}
+
+		int missing = absent & ~copies[0];
+		for (int i = 0; i < length; i++) {
+			banned[i] |= missing;
+			required[i] |= copies[i];
+			if (required[i] != 0) {
+				requiredCounts = Math.max(requiredCounts, i + 1);
+			}
+		}
+	}
+
+	/**
+	 * Checks a guess against every hint revealed so far
+	 *
+	 * @param guess The packed guess, with the length of the game
+	 * @return true if the guess reuses every hint
+	 */
+	public boolean allows(long guess) {
+		if ((guess & fixedMask) != fixedLetters) {
+			return false;
+		}
+
+		Arrays.fill(copies, 0);
+		for (int i = 0; i < length; i++) {
+			int bit = 1 << WordIndex.letter(guess, length, i);
+			if ((banned[i] & bit) != 0) {
+				return false;
+			}
+			count(copies, bit);
+		}
+
+		for (int i = 0; i < requiredCounts; i++) {
+			if ((copies[i] & required[i]) != required[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Explains why a guess is not allowed, for the message shown to the player
+	 *
+	 * @param guess The packed guess, with the length of the game
+	 * @return The first hint the guess does not reuse, or null if it is allowed
+	 */
+	public String violation(long guess) {
+		for (int i = 0; i < length; i++) {
+			int shift = shift(i);
+			if (((guess ^ fixedLetters) & fixedMask & (31L << shift)) != 0) {
+				return String.format("position %d must be [%c]", i + 1, letter(fixedLetters, i));
+			}
+		}
+
+		for (int i = 0; i < length; i++) {
+			if ((banned[i] & (1 << WordIndex.letter(guess, length, i))) != 0) {
+				return String.format("[%c] cannot be in position %d", letter(guess, i), i + 1);
+			}
+		}
+
+		for (int letter = 0; letter < 26; letter++) {
+			int needed = 0;
+			while (needed < requiredCounts && (required[needed] & (1 << letter)) != 0) {
+				needed++;
+			}
+
+			int guessed = 0;
+			for (int i = 0; i < length; i++) {
+				if (WordIndex.letter(guess, length, i) == letter) {
+					guessed++;
+				}
+			}
+
+			if (guessed < needed) {
+				return String.format("[%c] must be used %s", (char) ('a' + letter), needed == 1 ? "once" : needed + " times");
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Sets the bit of a letter in the first mask that does not have it, so mask i holds the letters
+	 * counted more than i times
+	 */
+	private void count(int[] masks, int bit) {
+		int i = 0;
+		while ((masks[i] & bit) != 0) {
+			i++;
+		}
+		masks[i] |= bit;
+	}
+
+	private int shift(int position) {
+		return WordIndex.BITS_PER_LETTER * (length - 1 - position);
+	}
+
+	private char letter(long packed, int position) {
+		return (char) ('a' + WordIndex.letter(packed, length, position));
+	}
+}
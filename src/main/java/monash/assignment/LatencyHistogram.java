@@ -0,0 +1,124 @@
+package monash.assignment;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The LatencyHistogram class records latencies in nanoseconds into log-linear buckets, like an HDR histogram
+ * Each power of two is split into {@value #SUB_BUCKETS} buckets, so a percentile is reported within
+ * about 3% of the recorded value across the whole range of a long, using a fixed array of counters
+ *
+ * <p>Recording only increments atomic counters, so it is lock-free and allocation-free and can be
+ * called from any number of threads. Reads are not a consistent snapshot while values are being recorded.</p>
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>counts - the number of values recorded in each bucket</li>
+ *     <li>total - the sum of every value recorded</li>
+ *     <li>max - the largest value recorded</li>
+ * </ol>
+ */
+public final class LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final LongAdder total = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * @param nanos The latency to record. Negative values are recorded as 0
+	 */
+	public void record(long nanos) {
+		long value = Math.max(nanos, 0);
+		counts.incrementAndGet(index(value));
+		total.add(value);
+		max.accumulateAndGet(value, Math::max);
+	}
+
+	/**
+	 * Records the time since started
+	 *
+	 * @param started The value of {@link System#nanoTime()} when the timed work started
+	 */
+	public void recordSince(long started) {
+		record(System.nanoTime() - started);
+	}
+
+	/**
+	 * The first bucket holds 0 to 2 * {@value #SUB_BUCKETS} - 1 exactly, and every later bucket
+	 * holds values with the same top {@value #SUB_BUCKET_BITS} + 1 bits
+	 */
+	static int index(long value) {
+		int shift = Math.max(0, Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS - 1);
+		return shift * SUB_BUCKETS + (int) (value >>> shift);
+	}
+
+	/**
+	 * @return The largest value that is recorded into the bucket
+	 */
+	static long highestValue(int index) {
+		int shift = Math.max(0, index / SUB_BUCKETS - 1);
+		long lowest = (long) (index - shift * SUB_BUCKETS) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+
+	public long count() {
+		long count = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			count += counts.get(i);
+		}
+		return count;
+	}
+
+	public long max() {
+		return max.get();
+	}
+
+	public double mean() {
+		long count = count();
+		return count == 0 ? 0 : total.doubleValue() / count;
+	}
+
+	/**
+	 * @param percentile The percentile, from 0 to 100
+	 * @return The highest value in the bucket that holds the percentile, capped at the largest recorded
+	 * value, or 0 if nothing has been recorded
+	 */
+	public long percentile(double percentile) {
+		long count = count();
+		if (count == 0) {
+			return 0;
+		}
+
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(highestValue(i), max());
+			}
+		}
+
+		return max();
+	}
+
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0);
+		}
+		total.reset();
+		max.set(0);
+	}
+
+	/**
+	 * @return The count, mean and p50, p99, p999 and max in microseconds
+	 */
+	@Override
+	public String toString() {
+		return String.format("count=%d mean=%.1fus p50=%.1fus p99=%.1fus p999=%.1fus max=%.1fus",
+				count(), mean() / 1e3, percentile(50) / 1e3, percentile(99) / 1e3, percentile(99.9) / 1e3, max() / 1e3);
+	}
+}
@@ -0,0 +1,417 @@
+package monash.assignment;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The LoadGenerator class drives many simulated players through the game loop at once, to size
+ * nodes and catch regressions in {@link Game} and {@link WordGenerator} under contention
+ * Each player runs on its own thread and answers every prompt like a person would: it guesses
+ * random words from the dictionary, sends invalid and duplicate guesses at set rates, and plays
+ * again until it has played its games, like the play again flow of {@link Commandle}
+ *
+ * <p>Players either play in this JVM, each with its own {@link Commandle} sharing one dictionary
+ * and {@link Solver}, or against a {@link GameServer} over its line protocol. The latency of an
+ * operation is the time from answering a prompt to the next prompt, so it covers all the work
+ * the game does for the answer, and is recorded in a {@link LatencyHistogram} per operation.
+ * Allocation is measured per player thread, so it is the allocation of the games when they are
+ * played in this JVM, and only that of the clients against a server.</p>
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>dictionary - the {@link WordIndex} players guess from, which must be the dictionary being played</li>
+ *     <li>solver - the {@link Solver} shared by the players in this JVM</li>
+ *     <li>tries - the number of tries each game has in this JVM</li>
+ *     <li>invalidRate - the share of guesses that are not in the dictionary or have the wrong length</li>
+ *     <li>duplicateRate - the share of guesses that repeat an earlier guess of the game</li>
+ * </ol>
+ */
+public final class LoadGenerator {
+	static final double DEFAULT_INVALID_RATE = 0.1;
+	static final double DEFAULT_DUPLICATE_RATE = 0.05;
+
+	private static final String GUESS_PROMPT = "guess: ";
+	private static final String RETRY_PROMPT = "again: ";
+	private static final String LENGTH_PROMPT = "letters: ";
+	private static final String AGAIN_PROMPT = "Play again? (Y/N): ";
+
+	private final WordIndex dictionary;
+	private final Solver solver;
+	private final int tries;
+	private double invalidRate = DEFAULT_INVALID_RATE;
+	private double duplicateRate = DEFAULT_DUPLICATE_RATE;
+
+	public LoadGenerator(WordIndex dictionary, Solver solver, int tries) {
+		this.dictionary = dictionary;
+		this.solver = solver;
+		this.tries = tries;
+	}
+
+	/**
+	 * The answers a player sends
+	 */
+	public enum Operation {
+		GUESS, INVALID, DUPLICATE, PLAY_AGAIN;
+
+		@Override
+		public String toString() {
+			return name().toLowerCase().replace('_', ' ');
+		}
+	}
+
+	/**
+	 * @param invalidRate   The share of guesses that are not in the dictionary or have the wrong length
+	 * @param duplicateRate The share of guesses that repeat an earlier guess of the game
+	 */
+	public void setRates(double invalidRate, double duplicateRate) {
+		if (invalidRate < 0 || duplicateRate < 0 || invalidRate + duplicateRate >= 1) {
+			throw new IllegalArgumentException("The invalid and duplicate rates must be at least 0 and add up to less than 1");
+		}
+		this.invalidRate = invalidRate;
+		this.duplicateRate = duplicateRate;
+	}
+
+	/**
+	 * Plays every player's games in this JVM
+	 *
+	 * @param players The number of players playing at once
+	 * @param games   The number of games each player plays
+	 * @param seed    The seed the targets and guesses of every player are drawn from
+	 * @return The throughput, latencies and allocation of the run
+	 */
+	public Result run(int players, int games, long seed) {
+		try {
+			return run(players, games, seed, player -> {
+				Commandle commandle = new Commandle();
+				commandle.setDictionary(dictionary);
+				commandle.setSolver(solver);
+				commandle.setTries(tries);
+				commandle.setWordLength(dictionary.length());
+				commandle.setWordGenerator(new WordGenerator(dictionary, commandle.getSessionTargets(), player.random.nextLong()));
+				commandle.setIo(player);
+				commandle.run(new String[0]);
+			});
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Plays every player's games against a server, one connection per player
+	 *
+	 * @param host    The host of the {@link GameServer}
+	 * @param port    The port of the {@link GameServer}
+	 * @param players The number of players playing at once
+	 * @param games   The number of games each player plays
+	 * @param seed    The seed the guesses of every player are drawn from
+	 * @return The throughput, latencies and allocation of the run
+	 * @throws IOException if a player cannot connect, or the server ends a session early
+	 */
+	public Result run(String host, int port, int players, int games, long seed) throws IOException {
+		return run(players, games, seed, player -> {
+			try (Socket socket = new Socket(host, port)) {
+				socket.setTcpNoDelay(true);
+				player.play(new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)),
+						new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)));
+			}
+		});
+	}
+
+	private interface Session {
+		void play(Player player) throws IOException;
+	}
+
+	/**
+	 * Starts the players together on a thread each and waits for all of them to finish
+	 *
+	 * <p>Variables defined in this method:</p>
+	 * <ol>
+	 *     <li>latencies - the latency of each operation, shared by every player</li>
+	 *     <li>start - released once every player is ready, so they start at once</li>
+	 *     <li>allocated - the bytes each player's thread allocated, or -1 if the JVM cannot tell</li>
+	 * </ol>
+	 */
+	private Result run(int players, int games, long seed, Session session) throws IOException {
+		Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+		for (Operation operation : Operation.values()) {
+			latencies.put(operation, new LatencyHistogram());
+		}
+
+		SplittableRandom random = new SplittableRandom(seed);
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService threads = Executors.newFixedThreadPool(players, task -> {
+			Thread thread = new Thread(task, "commandle-load");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		List<Future<Long>> allocated = new ArrayList<>(players);
+		for (int i = 0; i < players; i++) {
+			Player player = new Player(random.split(), games, latencies);
+			Callable<Long> task = () -> {
+				start.await();
+				long before = allocatedBytes();
+				session.play(player);
+				long after = allocatedBytes();
+				if (player.played < games) {
+					throw new IOException("The session ended after " + player.played + " of " + games + " games");
+				}
+				return before < 0 || after < 0 ? -1 : after - before;
+			};
+			allocated.add(threads.submit(task));
+		}
+
+		long started = System.nanoTime();
+		start.countDown();
+		long bytes = 0;
+		try {
+			for (Future<Long> player : allocated) {
+				long playerBytes = player.get();
+				bytes = bytes < 0 || playerBytes < 0 ? -1 : bytes + playerBytes;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for the players", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException cause) {
+				throw cause;
+			}
+			throw new IllegalStateException("A player failed", e.getCause());
+		} finally {
+			threads.shutdownNow();
+		}
+
+		return new Result(players, (long) players * games, latencies, System.nanoTime() - started, bytes);
+	}
+
+	/**
+	 * @return The bytes allocated by the current thread so far, or -1 if the JVM cannot measure it
+	 */
+	private static long allocatedBytes() {
+		return ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+				&& threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()
+				? threads.getCurrentThreadAllocatedBytes()
+				: -1;
+	}
+
+	/**
+	 * A simulated player. In this JVM it is the {@link GameIO} of its {@link Commandle}, and against
+	 * a server it reads the prompts from the connection and writes its answers back
+	 *
+	 * <p>Variables defined in this class:</p>
+	 * <ol>
+	 *     <li>random - where the player's targets and guesses are drawn from</li>
+	 *     <li>games - the number of games the player plays</li>
+	 *     <li>played - the number of games the player has finished</li>
+	 *     <li>guessed - the valid guesses of the current game</li>
+	 *     <li>pending - the last answer sent, which is timed until the next prompt, or null</li>
+	 *     <li>sent - the value of {@link System#nanoTime()} when pending was sent</li>
+	 *     <li>againPrompt - whether the last message in this JVM asked to play again</li>
+	 * </ol>
+	 */
+	private final class Player implements GameIO {
+		private final SplittableRandom random;
+		private final int games;
+		private final Map<Operation, LatencyHistogram> latencies;
+		private int played;
+		private final List<String> guessed = new ArrayList<>();
+		private Operation pending;
+		private long sent;
+		private boolean againPrompt;
+
+		private Player(SplittableRandom random, int games, Map<Operation, LatencyHistogram> latencies) {
+			this.random = random;
+			this.games = games;
+			this.latencies = latencies;
+		}
+
+		@Override
+		public String readLine() {
+			return answer(againPrompt);
+		}
+
+		@Override
+		public void print(String text) {
+			againPrompt = text.equals(AGAIN_PROMPT);
+		}
+
+		@Override
+		public void error(String text) {
+			againPrompt = false;
+		}
+
+		/**
+		 * Answers prompts from a server until it closes the connection. A prompt is recognised by
+		 * how it ends, and the text before it is dropped once it has been answered. A server with a
+		 * {@link SessionStore} is asked for a new session, which is not timed
+		 */
+		private void play(BufferedReader reader, Writer writer) throws IOException {
+			StringBuilder text = new StringBuilder();
+			int c;
+
+			while ((c = reader.read()) != -1) {
+				text.append((char) c);
+				if (endsWith(text, GameServer.RESUME_PROMPT)) {
+					text.setLength(0);
+					writer.write('\n');
+					writer.flush();
+					continue;
+				}
+
+				boolean again = endsWith(text, AGAIN_PROMPT);
+				if (again || endsWith(text, GUESS_PROMPT) || endsWith(text, RETRY_PROMPT) || endsWith(text, LENGTH_PROMPT)) {
+					text.setLength(0);
+					String answer = answer(again);
+					writer.write(answer);
+					writer.write('\n');
+					writer.flush();
+					sent = System.nanoTime();
+				}
+			}
+		}
+
+		/**
+		 * Records the latency of the last answer and chooses the next one
+		 *
+		 * @param again Whether the prompt asks to play again
+		 * @return The answer to the prompt
+		 */
+		private String answer(boolean again) {
+			if (pending != null) {
+				latencies.get(pending).recordSince(sent);
+			}
+
+			String answer;
+			if (again) {
+				played++;
+				guessed.clear();
+				pending = played < games ? Operation.PLAY_AGAIN : null;
+				answer = pending == null ? "n" : "y";
+			} else {
+				double roll = random.nextDouble();
+				if (roll < invalidRate) {
+					pending = Operation.INVALID;
+					answer = invalidWord();
+				} else if (roll < invalidRate + duplicateRate && !guessed.isEmpty()) {
+					pending = Operation.DUPLICATE;
+					answer = guessed.get(random.nextInt(guessed.size()));
+				} else {
+					pending = Operation.GUESS;
+					answer = newWord();
+				}
+			}
+
+			sent = System.nanoTime();
+			return answer;
+		}
+
+		/**
+		 * @return A word from the dictionary that has not been guessed in the game, and remembers it
+		 */
+		private String newWord() {
+			String word;
+			do {
+				word = dictionary.get(random.nextInt(dictionary.size()));
+			} while (guessed.contains(word) && guessed.size() < dictionary.size());
+			guessed.add(word);
+			return word;
+		}
+
+		/**
+		 * @return Random letters that are not in the dictionary, half of them one letter too long
+		 */
+		private String invalidWord() {
+			int length = dictionary.length() + random.nextInt(2);
+			char[] letters = new char[length];
+			String word;
+			do {
+				for (int i = 0; i < length; i++) {
+					letters[i] = (char) ('a' + random.nextInt(26));
+				}
+				word = new String(letters);
+			} while (dictionary.contains(word));
+			return word;
+		}
+
+		private static boolean endsWith(StringBuilder text, String suffix) {
+			int offset = text.length() - suffix.length();
+			if (offset < 0) {
+				return false;
+			}
+			for (int i = 0; i < suffix.length(); i++) {
+				if (text.charAt(offset + i) != suffix.charAt(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * The results of a load test
+	 *
+	 * @param players        The number of players that played at once
+	 * @param games          The number of games played
+	 * @param latencies      The latency of each operation
+	 * @param nanos          The time taken to play every game
+	 * @param allocatedBytes The bytes allocated by the players' threads, or -1 if the JVM cannot tell
+	 */
+	public record Result(int players, long games, Map<Operation, LatencyHistogram> latencies, long nanos, long allocatedBytes) {
+
+		public long operations() {
+			long operations = 0;
+			for (LatencyHistogram histogram : latencies.values()) {
+				operations += histogram.count();
+			}
+			return operations;
+		}
+
+		public double gamesPerSecond() {
+			return games / (nanos / 1e9);
+		}
+
+		public double operationsPerSecond() {
+			return operations() / (nanos / 1e9);
+		}
+
+		/**
+		 * @return The bytes allocated per second, or -1 if the JVM cannot tell
+		 */
+		public double allocationRate() {
+			return allocatedBytes < 0 ? -1 : allocatedBytes / (nanos / 1e9);
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder report = new StringBuilder();
+			report.append(String.format("Played %d games with %d players in %.2f s (%.1f games/sec, %.1f operations/sec)%n",
+					games, players, nanos / 1e9, gamesPerSecond(), operationsPerSecond()));
+			for (Map.Entry<Operation, LatencyHistogram> latency : latencies.entrySet()) {
+				report.append(String.format("%s: %s%n", latency.getKey(), latency.getValue()));
+			}
+			report.append(allocatedBytes < 0
+					? String.format("Allocation: not measured by this JVM%n")
+					: String.format("Allocation: %.1f MB (%.1f MB/sec)%n", allocatedBytes / 1e6, allocationRate() / 1e6));
+			return report.toString();
+		}
+	}
+}
@@ -0,0 +1,226 @@
+package monash.assignment;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Metrics class counts and times the hot paths of the game so they can stay measured in production
+ * Counters are {@link LongAdder}s and latencies are {@link LatencyHistogram}s, so recording is
+ * lock-free and allocation-free from any number of sessions. The metrics are shared by every game
+ * in the JVM, exposed through JMX as {@value #OBJECT_NAME} and can be written to the log periodically
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>guessValidity - the latency of checking a guess in {@link Game#guessValidity(String)}, without hints, completions or its message</li>
+ *     <li>hint - the latency of the solver search for {@link Game#hint()}</li>
+ *     <li>checkGuess - the latency of {@link Game#checkGuess(String)}</li>
+ *     <li>generateTarget - the latency of {@link WordGenerator#generateTargetWord()}</li>
+ *     <li>loadDictionary - the latency of loading a dictionary in {@link Commandle}</li>
+ *     <li>validGuesses, invalidLengthGuesses, duplicateGuesses, outOfDictionaryGuesses, hardModeGuesses, hints, completions - the outcomes of guessValidity</li>
+ *     <li>targetsGenerated - the number of target words drawn</li>
+ *     <li>targetRegenerations - the number of requested or drawn targets that were replaced because they were already used</li>
+ * </ol>
+ */
+public final class Metrics implements MetricsMBean {
+	private static final Logger log = LogManager.getLogger(Metrics.class);
+
+	public static final String OBJECT_NAME = "monash.assignment:type=Metrics";
+
+	private static final Metrics GLOBAL = new Metrics();
+
+	final LatencyHistogram guessValidity = new LatencyHistogram();
+	final LatencyHistogram hint = new LatencyHistogram();
+	final LatencyHistogram checkGuess = new LatencyHistogram();
+	final LatencyHistogram generateTarget = new LatencyHistogram();
+	final LatencyHistogram loadDictionary = new LatencyHistogram();
+
+	final LongAdder validGuesses = new LongAdder();
+	final LongAdder invalidLengthGuesses = new LongAdder();
+	final LongAdder duplicateGuesses = new LongAdder();
+	final LongAdder outOfDictionaryGuesses = new LongAdder();
+	final LongAdder hints = new LongAdder();
+	final LongAdder hardModeGuesses = new LongAdder();
+	final LongAdder completions = new LongAdder();
+	final LongAdder targetsGenerated = new LongAdder();
+	final LongAdder targetRegenerations = new LongAdder();
+
+	Metrics() {
+	}
+
+	/**
+	 * @return The metrics shared by every game in the JVM
+	 */
+	public static Metrics global() {
+		return GLOBAL;
+	}
+
+	/**
+	 * Registers the global metrics with the platform MBean server. Registering more than once has no effect
+	 */
+	public static void register() {
+		try {
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+				ManagementFactory.getPlatformMBeanServer().registerMBean(GLOBAL, name);
+			}
+		} catch (JMException e) {
+			log.warn("Failed to register {}", OBJECT_NAME, e);
+		}
+	}
+
+	/**
+	 * Writes the report of the global metrics to the log at INFO on a daemon thread
+	 *
+	 * @param interval The time between reports
+	 * @return The executor writing the reports, shut it down to stop them
+	 */
+	public static ScheduledExecutorService dumpEvery(Duration interval) {
+		ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(task -> {
+			Thread thread = new Thread(task, "commandle-metrics");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long millis = interval.toMillis();
+		dumper.scheduleAtFixedRate(() -> log.info("Metrics\n{}", GLOBAL.getReport()), millis, millis, TimeUnit.MILLISECONDS);
+		return dumper;
+	}
+
+	@Override
+	public long getGuesses() {
+		return validGuesses.sum() + invalidLengthGuesses.sum() + duplicateGuesses.sum() + outOfDictionaryGuesses.sum() + hardModeGuesses.sum() + hints.sum() + completions.sum();
+	}
+
+	@Override
+	public long getValidGuesses() {
+		return validGuesses.sum();
+	}
+
+	@Override
+	public long getInvalidLengthGuesses() {
+		return invalidLengthGuesses.sum();
+	}
+
+	@Override
+	public long getDuplicateGuesses() {
+		return duplicateGuesses.sum();
+	}
+
+	@Override
+	public long getOutOfDictionaryGuesses() {
+		return outOfDictionaryGuesses.sum();
+	}
+
+	@Override
+	public long getHardModeGuesses() {
+		return hardModeGuesses.sum();
+	}
+
+	@Override
+	public long getCompletions() {
+		return completions.sum();
+	}
+
+	@Override
+	public long getHints() {
+		return hints.sum();
+	}
+
+	@Override
+	public long getTargetsGenerated() {
+		return targetsGenerated.sum();
+	}
+
+	@Override
+	public long getTargetRegenerations() {
+		return targetRegenerations.sum();
+	}
+
+	@Override
+	public long getDictionaryLoads() {
+		return loadDictionary.count();
+	}
+
+	@Override
+	public long getGuessValidityP50() {
+		return guessValidity.percentile(50);
+	}
+
+	@Override
+	public long getGuessValidityP99() {
+		return guessValidity.percentile(99);
+	}
+
+	@Override
+	public long getGuessValidityP999() {
+		return guessValidity.percentile(99.9);
+	}
+
+	@Override
+	public long getHintP99() {
+		return hint.percentile(99);
+	}
+
+	@Override
+	public long getCheckGuessP50() {
+		return checkGuess.percentile(50);
+	}
+
+	@Override
+	public long getCheckGuessP99() {
+		return checkGuess.percentile(99);
+	}
+
+	@Override
+	public long getCheckGuessP999() {
+		return checkGuess.percentile(99.9);
+	}
+
+	@Override
+	public long getGenerateTargetP99() {
+		return generateTarget.percentile(99);
+	}
+
+	@Override
+	public long getLoadDictionaryMax() {
+		return loadDictionary.max();
+	}
+
+	@Override
+	public String getReport() {
+		return String.format("guesses: %d valid, %d invalid length, %d duplicate, %d not in dictionary, %d breaking hard mode, %d hints, %d completions%n",
+				getValidGuesses(), getInvalidLengthGuesses(), getDuplicateGuesses(), getOutOfDictionaryGuesses(), getHardModeGuesses(), getHints(), getCompletions())
+				+ String.format("targets: %d generated, %d regenerated%n", getTargetsGenerated(), getTargetRegenerations())
+				+ String.format("guessValidity: %s%n", guessValidity)
+				+ String.format("hint: %s%n", hint)
+				+ String.format("checkGuess: %s%n", checkGuess)
+				+ String.format("generateTargetWord: %s%n", generateTarget)
+				+ String.format("loadDictionary: %s%n", loadDictionary);
+	}
+
+	@Override
+	public void reset() {
+		guessValidity.reset();
+		hint.reset();
+		checkGuess.reset();
+		generateTarget.reset();
+		loadDictionary.reset();
+		validGuesses.reset();
+		invalidLengthGuesses.reset();
+		duplicateGuesses.reset();
+		outOfDictionaryGuesses.reset();
+		hardModeGuesses.reset();
+		completions.reset();
+		hints.reset();
+		targetsGenerated.reset();
+		targetRegenerations.reset();
+	}
+}
@@ -0,0 +1,51 @@
+package monash.assignment;
+
+/**
+ * The JMX view of {@link Metrics}. Latencies are in nanoseconds
+ */
+public interface MetricsMBean {
+
+	long getGuesses();
+
+	long getValidGuesses();
+
+	long getInvalidLengthGuesses();
+
+	long getDuplicateGuesses();
+
+	long getOutOfDictionaryGuesses();
+
+	long getHardModeGuesses();
+
+	long getCompletions();
+
+	long getHints();
+
+	long getTargetsGenerated();
+
+	long getTargetRegenerations();
+
+	long getDictionaryLoads();
+
+	long getGuessValidityP50();
+
+	long getGuessValidityP99();
+
+	long getGuessValidityP999();
+
+	long getHintP99();
+
+	long getCheckGuessP50();
+
+	long getCheckGuessP99();
+
+	long getCheckGuessP999();
+
+	long getGenerateTargetP99();
+
+	long getLoadDictionaryMax();
+
+	String getReport();
+
+	void reset();
+}
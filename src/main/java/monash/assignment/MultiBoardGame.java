@@ -0,0 +1,217 @@
+package monash.assignment;
+
+import java.util.List;
+
+/**
+ * The MultiBoardGame class plays one game against several target words at once, one board each
+ * Every guess is played on every board that has not been solved yet, and the game is won once
+ * each board has been solved within the tries
+ *
+ * <p>A guess is scored against all the targets in one pass with {@link Feedback#score(long, long[], int[])},
+ * instead of one {@link Game#checkGuess(String)} per board. There is no hard mode, as the hints
+ * of different boards can contradict each other, so no guess could reuse all of them.</p>
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>dictionary - the {@link WordIndex} of words considered a valid guess</li>
+ *     <li>targets - the target word of each board</li>
+ *     <li>packedTargets - the target word of each board, packed with {@link WordIndex#pack(CharSequence)}</li>
+ *     <li>codes - the {@link Feedback} codes of the last guess on each board</li>
+ *     <li>candidates - the {@link CandidateSet} of words that can still be the target word of each board</li>
+ *     <li>solved - a bitmask of the boards that have been solved</li>
+ * </ol>
+ */
+public class MultiBoardGame extends Game {
+	public static final int MIN_BOARDS = 2;
+	public static final int MAX_BOARDS = 32;
+
+	static final String NO_HARD_MODE = "Hard mode cannot be played with more than one board";
+
+	private final WordIndex dictionary;
+	private final List<String> targets;
+	private final long[] packedTargets;
+	private final int[] codes;
+	private final CandidateSet[] candidates;
+	private int solved;
+
+	/**
+	 * @param targets    The target word of each board, all different and in the dictionary
+	 * @param dictionary The words considered a valid guess
+	 * @param tries      The number of tries to solve every board
+	 * @throws IllegalArgumentException if there are not between {@value #MIN_BOARDS} and {@value #MAX_BOARDS} targets,
+	 *                                  or a target is repeated or not in the dictionary
+	 */
+	public MultiBoardGame(List<String> targets, WordIndex dictionary, int tries) {
+		super(firstTarget(targets, dictionary), dictionary, tries);
+		this.dictionary = dictionary;
+		this.targets = List.copyOf(targets);
+		this.packedTargets = new long[targets.size()];
+		this.codes = new int[targets.size()];
+		this.candidates = new CandidateSet[targets.size()];
+		for (int i = 0; i < packedTargets.length; i++) {
+			packedTargets[i] = WordIndex.pack(targets.get(i));
+		}
+	}
+
+	/**
+	 * Checks the targets before the game is created, so a bad list is rejected before the
+	 * first target is taken from it
+	 *
+	 * @return The first target, which is the target word of the game
+	 * @throws IllegalArgumentException if there are not between {@value #MIN_BOARDS} and {@value #MAX_BOARDS} targets,
+	 *                                  or a target is repeated or not in the dictionary
+	 */
+	private static String firstTarget(List<String> targets, WordIndex dictionary) {
+		if (targets.size() < MIN_BOARDS || targets.size() > MAX_BOARDS) {
+			throw new IllegalArgumentException(String.format("A game needs %d to %d boards, not %d", MIN_BOARDS, MAX_BOARDS, targets.size()));
+		}
+
+		for (int i = 0; i < targets.size(); i++) {
+			String target = targets.get(i);
+			if (!dictionary.contains(target)) {
+				throw new IllegalArgumentException(String.format("Target [%s] is not in the dictionary", target));
+			}
+			if (targets.subList(0, i).contains(target)) {
+				throw new IllegalArgumentException(String.format("Target [%s] is on more than one board", target));
+			}
+		}
+		return targets.get(0);
+	}
+
+	/**
+	 * Scores the guess on every board and marks the boards it solves. The guess is recorded as a
+	 * turn with its feedback on the first board, which is the target word of the game
+	 *
+	 * @param guess The user's guess, in lowercase
+	 * @return The {@link Feedback} code of the guess on each board. The array is reused by the next guess
+	 * @throws IllegalArgumentException if the guess cannot be scored against the targets
+	 */
+	public int[] playAll(String guess) {
+		long packedGuess = WordIndex.pack(guess);
+		if (packedGuess == WordIndex.INVALID || guess.length() != dictionary.length()) {
+			throw new IllegalArgumentException(String.format("Guess [%s] cannot be scored", guess));
+		}
+
+		Feedback.score(packedGuess, packedTargets, codes);
+
+		int allCorrect = Feedback.allCorrect(dictionary.length());
+		for (int i = 0; i < codes.length; i++) {
+			if (isSolved(i)) {
+				continue;
+			}
+			if (codes[i] == allCorrect) {
+				solved |= 1 << i;
+			} else if (candidates[i] != null) {
+				candidates[i].apply(packedGuess, codes[i]);
+			}
+		}
+
+		getTurns().add(new Turn(packedGuess, codes[0]));
+		return codes;
+	}
+
+	/**
+	 * Plays the guess on every board and shows its feedback, with a board that was solved in an
+	 * earlier round shown as dashes
+	 */
+	@Override
+	protected boolean playRound(String guess) {
+		int before = solved;
+		playAll(guess);
+
+		StringBuilder boards = new StringBuilder();
+		for (int i = 0; i < codes.length; i++) {
+			if (i > 0) {
+				boards.append("  ");
+			}
+			boards.append((before & (1 << i)) != 0 ? "-".repeat(guess.length()) : Feedback.render(guess, codes[i]));
+		}
+
+		messages("boards", String.valueOf(getRound()), guess, boards.toString());
+		return solvedCount() == codes.length;
+	}
+
+	/**
+	 * @throws IllegalArgumentException if hard mode is turned on, which a game of several boards does not support
+	 */
+	@Override
+	public void setHardMode(boolean hardMode) {
+		if (hardMode) {
+			throw new IllegalArgumentException(NO_HARD_MODE);
+		}
+		super.setHardMode(false);
+	}
+
+	/**
+	 * @return true once every board has been solved or every try has been used
+	 */
+	@Override
+	public boolean isOver() {
+		return getRound() > getTries() || solvedCount() == codes.length;
+	}
+
+	/**
+	 * @return The best next guess for the unsolved board with the fewest candidates left, or null
+	 * if no word fits the feedback of that board
+	 */
+	@Override
+	public String hint() {
+		if (getSolver() == null) {
+			setSolver(new Solver(FeedbackTable.direct(dictionary)));
+		}
+
+		int[] remaining = new int[dictionary.size()];
+		int board = -1;
+		int fewest = Integer.MAX_VALUE;
+		for (int i = 0; i < codes.length; i++) {
+			if (!isSolved(i) && candidates(i).count() < fewest) {
+				board = i;
+				fewest = candidates(i).count();
+			}
+		}
+
+		if (board < 0) {
+			return null;
+		}
+
+		int best = getSolver().bestGuess(remaining, candidates(board).toArray(remaining));
+		return best < 0 ? null : dictionary.get(best);
+	}
+
+	/**
+	 * @param board The board, from 0
+	 * @return The {@link CandidateSet} of the board, created from the turns so far on first use
+	 */
+	private CandidateSet candidates(int board) {
+		if (candidates[board] == null) {
+			CandidateSet set = CandidateSet.all(dictionary);
+			for (Turn turn : getTurns()) {
+				set.apply(turn.guess(), Feedback.score(turn.guess(), packedTargets[board]));
+			}
+			candidates[board] = set;
+		}
+
+		return candidates[board];
+	}
+
+	public boolean isSolved(int board) {
+		return (solved & (1 << board)) != 0;
+	}
+
+	public int solvedCount() {
+		return Integer.bitCount(solved);
+	}
+
+	public List<String> getTargets() {
+		return targets;
+	}
+
+	@Override
+	protected void messages(String id, String... args) {
+		switch (id) {
+			case "start" -> getIo().printf("You have %d tries to guess %d target words.\n", getTries(), codes.length);
+			case "boards" -> getIo().printf("%s: %s  %s\n", args[0], args[1], args[2]);
+			default -> super.messages(id, args);
+		}
+	}
+}
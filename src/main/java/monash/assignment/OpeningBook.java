@@ -0,0 +1,330 @@
+package monash.assignment;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The OpeningBook class holds the {@link Solver}'s decision tree for a dictionary: the best guess
+ * at the start of a game, then the best guess for every feedback that guess can get, and so on
+ * for every turn up to the depth of the book. Serving a hint from the book is a walk of one node
+ * per turn played, instead of scoring every guess against the remaining candidates
+ *
+ * <p>The book is built once, by {@link #open(Solver, int, Path)} or the --book mode of
+ * {@link Application}, and written to a cache file that is memory mapped on later starts. Only
+ * the pages of the nodes a game reaches are read from disk. Like the {@link FeedbackMatrix}, the
+ * file is named after {@link WordIndex#fingerprint()}, which is also stored in its header, so a
+ * changed dictionary always gets a new book.</p>
+ *
+ * <p>Each node is the dictionary index of its guess as an int, the number of children as an
+ * unsigned short, then one entry per child of the feedback code as an unsigned short and the
+ * offset of the child node as an int. Entries are sorted by code so a child is found with a
+ * binary search. A feedback with every letter correct has no child, and nodes at the last turn
+ * of the book have no children.</p>
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>dictionary - the {@link WordIndex} the book was built for</li>
+ *     <li>depth - the number of turns the book covers</li>
+ *     <li>book - the mapped cache file, the root node follows the header</li>
+ * </ol>
+ */
+public final class OpeningBook {
+	private static final Logger log = LogManager.getLogger(OpeningBook.class);
+
+	private static final int MAGIC = 0x434D4F42;
+	private static final int VERSION = 1;
+	private static final int HEADER_BYTES = 32;
+	private static final int NODE_BYTES = 6;
+	private static final int ENTRY_BYTES = 6;
+
+	private final WordIndex dictionary;
+	private final int depth;
+	private final MappedByteBuffer book;
+
+	private OpeningBook(WordIndex dictionary, int depth, MappedByteBuffer book) {
+		this.dictionary = dictionary;
+		this.depth = depth;
+		this.book = book;
+	}
+
+	/**
+	 * Opens the book for the solver's dictionary from the cache directory, building and saving it
+	 * first if there is no valid cache file for the dictionary and depth
+	 *
+	 * @param solver   The solver whose guesses the book holds. It should not have a book set yet
+	 * @param depth    The number of turns the book covers, usually the tries of a game
+	 * @param cacheDir The directory that holds the cache files
+	 * @return The mapped book
+	 * @throws IOException if the cache file cannot be read or written
+	 */
+	public static OpeningBook open(Solver solver, int depth, Path cacheDir) throws IOException {
+		WordIndex dictionary = solver.getTable().dictionary();
+		if (depth < 1) {
+			throw new IllegalArgumentException(String.format("An opening book needs a depth of at least 1, not %d", depth));
+		}
+
+		Path file = cacheFile(dictionary, depth, cacheDir);
+		if (!isValid(file, dictionary, depth)) {
+			build(solver, depth, file);
+		}
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return new OpeningBook(dictionary, depth, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * @param dictionary The dictionary of the book
+	 * @param depth      The number of turns the book covers
+	 * @param cacheDir   The directory that holds the cache files
+	 * @return The path of the cache file for the dictionary and depth
+	 */
+	public static Path cacheFile(WordIndex dictionary, int depth, Path cacheDir) {
+		return cacheDir.resolve(String.format("book-%016x-%d.bin", dictionary.fingerprint(), depth));
+	}
+
+	/**
+	 * Walks the book along the turns played so far
+	 *
+	 * <p>Variables defined in this method:</p>
+	 * <ol>
+	 *     <li>node - the offset of the node for the turns walked so far</li>
+	 * </ol>
+	 *
+	 * @param turns The guesses made so far and their feedback codes
+	 * @return The dictionary index of the best next guess, or -1 if a guess was not the one in the
+	 * book, or the turns go past the depth of the book
+	 */
+	public int guess(List<Game.Turn> turns) {
+		if (turns.size() >= depth) {
+			return -1;
+		}
+
+		int node = HEADER_BYTES;
+		for (int i = 0; i < turns.size(); i++) {
+			Game.Turn turn = turns.get(i);
+			if (dictionary.packedAt(book.getInt(node)) != turn.guess()) {
+				return -1;
+			}
+
+			node = child(node, turn.feedback());
+			if (node < 0) {
+				return -1;
+			}
+		}
+
+		return book.getInt(node);
+	}
+
+	/**
+	 * @return The offset of the child of the node for the feedback code, or -1 if it has none
+	 */
+	private int child(int node, int code) {
+		int low = 0;
+		int high = (book.getShort(node + 4) & 0xFFFF) - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int entry = node + NODE_BYTES + mid * ENTRY_BYTES;
+			int entryCode = book.getShort(entry) & 0xFFFF;
+			if (entryCode < code) {
+				low = mid + 1;
+			} else if (entryCode > code) {
+				high = mid - 1;
+			} else {
+				return book.getInt(entry + 2);
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return The dictionary the book was built for
+	 */
+	public WordIndex dictionary() {
+		return dictionary;
+	}
+
+	/**
+	 * @return The number of turns the book covers
+	 */
+	public int depth() {
+		return depth;
+	}
+
+	private static boolean isValid(Path file, WordIndex dictionary, int depth) throws IOException {
+		if (!Files.isRegularFile(file) || Files.size(file) < HEADER_BYTES + NODE_BYTES) {
+			return false;
+		}
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+			channel.read(header, 0);
+			header.flip();
+
+			return header.getInt() == MAGIC
+					&& header.getInt() == VERSION
+					&& header.getInt() == dictionary.size()
+					&& header.getInt() == dictionary.length()
+					&& header.getLong() == dictionary.fingerprint()
+					&& header.getInt() == depth
+					&& header.getInt() == channel.size();
+		}
+	}
+
+	/**
+	 * Builds the whole tree in memory, depth first, and writes it to a temporary file which
+	 * replaces the cache file once it is complete
+	 *
+	 * <p>Variables defined in this method:</p>
+	 * <ol>
+	 *     <li>builder - the {@link Builder} the nodes are written to</li>
+	 *     <li>temp - the file the book is written to before it is moved into place</li>
+	 * </ol>
+	 */
+	private static void build(Solver solver, int depth, Path file) throws IOException {
+		long started = System.nanoTime();
+		WordIndex dictionary = solver.getTable().dictionary();
+
+		int[] all = new int[dictionary.size()];
+		Arrays.setAll(all, i -> i);
+		Builder builder = new Builder(solver, dictionary, depth);
+		builder.out.position(HEADER_BYTES);
+		builder.node(all, all.length, 0);
+
+		ByteBuffer out = builder.out.flip();
+		out.putInt(0, MAGIC)
+				.putInt(4, VERSION)
+				.putInt(8, dictionary.size())
+				.putInt(12, dictionary.length())
+				.putLong(16, dictionary.fingerprint())
+				.putInt(24, depth)
+				.putInt(28, out.limit());
+
+		Files.createDirectories(file.toAbsolutePath().getParent());
+		Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "book", ".tmp");
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+			while (out.hasRemaining()) {
+				channel.write(out);
+			}
+			channel.force(false);
+		} catch (IOException e) {
+			Files.deleteIfExists(temp);
+			throw e;
+		}
+
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		log.info("Built opening book of {} nodes and {} turns for {} words in {} ms",
+				builder.nodes, depth, dictionary.size(), (System.nanoTime() - started) / 1_000_000);
+	}
+
+	/**
+	 * Writes the nodes of the book to a buffer that grows as needed
+	 *
+	 * <p>Variables defined in this class:</p>
+	 * <ol>
+	 *     <li>out - the book written so far</li>
+	 *     <li>nodes - the number of nodes written so far</li>
+	 * </ol>
+	 */
+	private static final class Builder {
+		private final Solver solver;
+		private final WordIndex dictionary;
+		private final int depth;
+		private ByteBuffer out = ByteBuffer.allocate(1 << 16);
+		private int nodes;
+
+		private Builder(Solver solver, WordIndex dictionary, int depth) {
+			this.solver = solver;
+			this.dictionary = dictionary;
+			this.depth = depth;
+		}
+
+		/**
+		 * Writes the node for the candidates left after a number of turns, then its children.
+		 * The candidates are sorted into buckets by the feedback they give the node's guess,
+		 * and each bucket other than the all correct one becomes a child
+		 *
+		 * <p>Variables defined in this method:</p>
+		 * <ol>
+		 *     <li>codes - the feedback code each candidate gives the guess</li>
+		 *     <li>starts - the start of each code's bucket in sorted, with one more entry for the end</li>
+		 *     <li>sorted - the candidates sorted by code</li>
+		 *     <li>entry - the offset of the next child entry to fill in</li>
+		 * </ol>
+		 *
+		 * @param candidates The dictionary indices of the words that can still be the target
+		 * @param count      The number of candidates in the array
+		 * @param turn       The number of turns played before the node
+		 * @return The offset of the node
+		 */
+		private int node(int[] candidates, int count, int turn) {
+			int guess = solver.bestGuess(candidates, count);
+			int allCorrect = Feedback.allCorrect(dictionary.length());
+			int patterns = Feedback.patterns(dictionary.length());
+			int[] starts = new int[patterns + 1];
+			int[] codes = new int[count];
+			int children = 0;
+
+			if (turn + 1 < depth) {
+				long packedGuess = dictionary.packedAt(guess);
+				for (int i = 0; i < count; i++) {
+					codes[i] = Feedback.score(packedGuess, dictionary.packedAt(candidates[i]));
+					if (codes[i] != allCorrect && starts[codes[i] + 1]++ == 0) {
+						children++;
+					}
+				}
+			}
+
+			int position = out.position();
+			ensure(NODE_BYTES + children * ENTRY_BYTES);
+			out.putInt(guess).putShort((short) children);
+			out.position(position + NODE_BYTES + children * ENTRY_BYTES);
+			nodes++;
+			if (children == 0) {
+				return position;
+			}
+
+			for (int code = 0; code < patterns; code++) {
+				starts[code + 1] += starts[code];
+			}
+			int[] sorted = new int[count];
+			int[] next = Arrays.copyOf(starts, patterns);
+			for (int i = 0; i < count; i++) {
+				if (codes[i] != allCorrect) {
+					sorted[next[codes[i]]++] = candidates[i];
+				}
+			}
+
+			int entry = position + NODE_BYTES;
+			for (int code = 0; code < patterns; code++) {
+				if (starts[code + 1] > starts[code]) {
+					int[] bucket = Arrays.copyOfRange(sorted, starts[code], starts[code + 1]);
+					int child = node(bucket, bucket.length, turn + 1);
+					out.putShort(entry, (short) code).putInt(entry + 2, child);
+					entry += ENTRY_BYTES;
+				}
+			}
+			return position;
+		}
+
+		private void ensure(int bytes) {
+			if (out.remaining() < bytes) {
+				ByteBuffer grown = ByteBuffer.allocate(Math.max(out.capacity() * 2, out.position() + bytes));
+				out.flip();
+				grown.put(out);
+				out = grown;
+			}
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package monash.assignment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The PartitionedDictionary class holds a dictionary loaded once and split by word length
+ * Each length from {@value WordIndex#MIN_LENGTH} to {@value WordIndex#MAX_LENGTH} has its own
+ * {@link WordIndex}, so validating guesses and drawing targets for a length only touches the
+ * words of that length. Words of any other length are skipped
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>partitions - the {@link WordIndex} of each length, indexed by length - {@value WordIndex#MIN_LENGTH}</li>
+ * </ol>
+ */
+public final class PartitionedDictionary {
+
+	public static final PartitionedDictionary EMPTY = new PartitionedDictionary(List.of());
+
+	private final WordIndex[] partitions;
+
+	/**
+	 * @param words The words to index. Words that are not lowercase letters are skipped, as are duplicates
+	 */
+	public PartitionedDictionary(Iterable<String> words) {
+		List<List<String>> byLength = new ArrayList<>();
+		for (int length = WordIndex.MIN_LENGTH; length <= WordIndex.MAX_LENGTH; length++) {
+			byLength.add(new ArrayList<>());
+		}
+
+		for (String word : words) {
+			if (word != null && word.length() >= WordIndex.MIN_LENGTH && word.length() <= WordIndex.MAX_LENGTH) {
+				byLength.get(word.length() - WordIndex.MIN_LENGTH).add(word);
+			}
+		}
+
+		partitions = new WordIndex[byLength.size()];
+		for (int i = 0; i < partitions.length; i++) {
+			partitions[i] = new WordIndex(byLength.get(i), WordIndex.MIN_LENGTH + i);
+		}
+	}
+
+	private PartitionedDictionary(WordIndex[] partitions) {
+		this.partitions = partitions;
+	}
+
+	/**
+	 * Builds the partitions from words that are already packed, e.g. read from a compiled dictionary
+	 *
+	 * @param packed The packed words of any supported length, this array is not modified
+	 * @return The partitioned dictionary
+	 * @throws IllegalArgumentException if any value is not a packed word
+	 */
+	public static PartitionedDictionary ofPacked(long[] packed) {
+		long[][] byLength = new long[WordIndex.MAX_LENGTH - WordIndex.MIN_LENGTH + 1][];
+		int[] sizes = new int[byLength.length];
+		for (int i = 0; i < byLength.length; i++) {
+			byLength[i] = new long[16];
+		}
+
+		for (long word : packed) {
+			if (!WordIndex.isPacked(word)) {
+				throw new IllegalArgumentException(String.format("Value [%d] is not a packed word", word));
+			}
+			int i = WordIndex.length(word) - WordIndex.MIN_LENGTH;
+			if (sizes[i] == byLength[i].length) {
+				byLength[i] = Arrays.copyOf(byLength[i], sizes[i] * 2);
+			}
+			byLength[i][sizes[i]++] = word;
+		}
+
+		WordIndex[] partitions = new WordIndex[byLength.length];
+		for (int i = 0; i < partitions.length; i++) {
+			partitions[i] = WordIndex.ofPacked(Arrays.copyOf(byLength[i], sizes[i]), WordIndex.MIN_LENGTH + i);
+		}
+		return new PartitionedDictionary(partitions);
+	}
+
+	/**
+	 * @param length The word length
+	 * @return The words of the length, which may be empty
+	 * @throws IllegalArgumentException if the length is not between {@value WordIndex#MIN_LENGTH} and {@value WordIndex#MAX_LENGTH}
+	 */
+	public WordIndex forLength(int length) {
+		return partitions[WordIndex.checkLength(length) - WordIndex.MIN_LENGTH];
+	}
+
+	/**
+	 * @return The number of words of every length
+	 */
+	public int size() {
+		int size = 0;
+		for (WordIndex partition : partitions) {
+			size += partition.size();
+		}
+		return size;
+	}
+
+	/**
+	 * @return The packed words of every length, shortest words first
+	 */
+	long[] words() {
+		long[] words = new long[size()];
+		int offset = 0;
+		for (WordIndex partition : partitions) {
+			System.arraycopy(partition.words(), 0, words, offset, partition.size());
+			offset += partition.size();
+		}
+		return words;
+	}
+}
@@ -0,0 +1,173 @@
+package monash.assignment;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The PlayerStats class keeps the statistics of every game a player has finished
+ * Games are added in the order they were played, which is the order streaks are counted in.
+ * The statistics can be written to and read from a buffer, so {@link StatsJournal} can store
+ * them as a snapshot instead of replaying every game
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>played - the number of games played</li>
+ *     <li>wins - the number of games won</li>
+ *     <li>currentStreak - the number of games won since the last loss</li>
+ *     <li>maxStreak - the longest run of games won</li>
+ *     <li>distribution - the number of games won with each number of guesses, indexed by guesses - 1</li>
+ *     <li>targets - the packed target word of every game, in the order they were played</li>
+ * </ol>
+ */
+public final class PlayerStats {
+	private int played;
+	private int wins;
+	private int currentStreak;
+	private int maxStreak;
+	private int[] distribution = new int[Commandle.DEFAULT_TRIES];
+	private long[] targets = new long[16];
+
+	/**
+	 * Adds a finished game
+	 *
+	 * @param target  The target word, packed with {@link WordIndex#pack(CharSequence)}
+	 * @param guesses The number of guesses made
+	 * @param won     Whether the target word was guessed
+	 */
+	public void add(long target, int guesses, boolean won) {
+		if (played == targets.length) {
+			targets = Arrays.copyOf(targets, played * 2);
+		}
+		targets[played++] = target;
+
+		if (won) {
+			wins++;
+			currentStreak++;
+			maxStreak = Math.max(maxStreak, currentStreak);
+			if (guesses > distribution.length) {
+				distribution = Arrays.copyOf(distribution, guesses);
+			}
+			distribution[guesses - 1]++;
+		} else {
+			currentStreak = 0;
+		}
+	}
+
+	public int played() {
+		return played;
+	}
+
+	public int wins() {
+		return wins;
+	}
+
+	/**
+	 * @return The fraction of games won, or 0 if no games have been played
+	 */
+	public double winRate() {
+		return played == 0 ? 0 : (double) wins / played;
+	}
+
+	public int currentStreak() {
+		return currentStreak;
+	}
+
+	public int maxStreak() {
+		return maxStreak;
+	}
+
+	/**
+	 * @param guesses The number of guesses
+	 * @return The number of games won with exactly that many guesses
+	 */
+	public int wonIn(int guesses) {
+		return guesses < 1 || guesses > distribution.length ? 0 : distribution[guesses - 1];
+	}
+
+	/**
+	 * Finds the targets of the current cycle through the dictionary, which are the targets played
+	 * since a word of the dictionary was last a target twice. A new session starts with these as its
+	 * sessionTargets, so it carries on drawing words the player has not had yet
+	 *
+	 * @param dictionary The dictionary of the session
+	 * @return The distinct targets in the dictionary, from the most recent game back to the last repeat
+	 */
+	public Set<String> recentTargets(WordIndex dictionary) {
+		Set<String> recent = new HashSet<>();
+		for (int i = played - 1; i >= 0; i--) {
+			if (dictionary.containsPacked(targets[i]) && !recent.add(WordIndex.unpack(targets[i]))) {
+				break;
+			}
+		}
+		return recent;
+	}
+
+	/**
+	 * @return The number of bytes {@link #write(ByteBuffer)} writes
+	 */
+	int bytes() {
+		return 5 * Integer.BYTES + distribution.length * Integer.BYTES + played * Long.BYTES;
+	}
+
+	/**
+	 * Writes the statistics as the counters, the distribution and the targets
+	 *
+	 * @param buffer The buffer to write to, which must have {@link #bytes()} remaining
+	 */
+	void write(ByteBuffer buffer) {
+		buffer.putInt(played)
+				.putInt(wins)
+				.putInt(currentStreak)
+				.putInt(maxStreak)
+				.putInt(distribution.length);
+		for (int count : distribution) {
+			buffer.putInt(count);
+		}
+		for (int i = 0; i < played; i++) {
+			buffer.putLong(targets[i]);
+		}
+	}
+
+	/**
+	 * Reads statistics written by {@link #write(ByteBuffer)}
+	 *
+	 * @param buffer The buffer to read from
+	 * @return The statistics
+	 * @throws IllegalArgumentException if the buffer does not hold statistics
+	 */
+	static PlayerStats read(ByteBuffer buffer) {
+		PlayerStats stats = new PlayerStats();
+		stats.played = buffer.getInt();
+		stats.wins = buffer.getInt();
+		stats.currentStreak = buffer.getInt();
+		stats.maxStreak = buffer.getInt();
+		int length = buffer.getInt();
+		if (stats.played < 0 || length < 0 || buffer.remaining() != (long) length * Integer.BYTES + (long) stats.played * Long.BYTES) {
+			throw new IllegalArgumentException("Buffer does not hold player statistics");
+		}
+
+		stats.distribution = new int[length];
+		buffer.asIntBuffer().get(stats.distribution);
+		buffer.position(buffer.position() + length * Integer.BYTES);
+
+		stats.targets = new long[Math.max(16, stats.played)];
+		buffer.asLongBuffer().get(stats.targets, 0, stats.played);
+		buffer.position(buffer.position() + stats.played * Long.BYTES);
+		return stats;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("Played: %d%n", played));
+		report.append(String.format("Win rate: %.1f%%%n", winRate() * 100));
+		report.append(String.format("Current streak: %d%n", currentStreak));
+		report.append(String.format("Max streak: %d%n", maxStreak));
+		for (int i = 0; i < distribution.length; i++) {
+			report.append(String.format("%d: %d%n", i + 1, distribution[i]));
+		}
+		return report.toString();
+	}
+}
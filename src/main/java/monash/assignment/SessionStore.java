@@ -0,0 +1,256 @@
+package monash.assignment;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * The SessionStore class holds paused sessions for a long-running multi-player deployment
+ * A paused session is kept as a compact {@link Snapshot} of packed words and dictionary indices
+ * instead of its {@link Commandle} and {@link Game} objects, so an idle session costs tens of bytes.
+ * Hard mode is kept, but a {@link MultiBoardGame} in progress cannot be paused
+ *
+ * <p>Sessions are evicted once they have been idle for longer than the TTL, and the least recently
+ * used sessions are evicted whenever the estimated size of all snapshots goes over the byte budget.
+ * Every method is synchronized, the lock is only held to copy a snapshot in or out.</p>
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>dictionary - the {@link WordIndex} every stored session uses</li>
+ *     <li>solver - the {@link Solver} given to every resumed session for hints</li>
+ *     <li>ttl - how long in nanoseconds a session can be idle before it is evicted</li>
+ *     <li>maxBytes - the budget for the estimated size of all stored snapshots</li>
+ *     <li>clock - the source of the current time in nanoseconds</li>
+ *     <li>sessions - the stored sessions in least recently used order</li>
+ *     <li>bytes - the estimated size of all stored snapshots</li>
+ * </ol>
+ */
+public final class SessionStore {
+	private static final Logger log = LogManager.getLogger(SessionStore.class);
+
+	private final WordIndex dictionary;
+	private final Solver solver;
+	private final long ttl;
+	private final long maxBytes;
+	private final LongSupplier clock;
+	private final LinkedHashMap<String, Entry> sessions = new LinkedHashMap<>(16, 0.75f, true);
+	private long bytes;
+
+	/**
+	 * @param dictionary The dictionary every stored session uses
+	 * @param solver     The solver given to every resumed session for hints
+	 * @param ttl        How long a session can be idle before it is evicted
+	 * @param maxBytes   The budget for the estimated size of all stored snapshots
+	 */
+	public SessionStore(WordIndex dictionary, Solver solver, Duration ttl, long maxBytes) {
+		this(dictionary, solver, ttl, maxBytes, System::nanoTime);
+	}
+
+	SessionStore(WordIndex dictionary, Solver solver, Duration ttl, long maxBytes, LongSupplier clock) {
+		this.dictionary = dictionary;
+		this.solver = solver;
+		this.ttl = ttl.toNanos();
+		this.maxBytes = maxBytes;
+		this.clock = clock;
+	}
+
+	/**
+	 * @return The dictionary every stored session uses
+	 */
+	public WordIndex dictionary() {
+		return dictionary;
+	}
+
+	/**
+	 * Stores a compact copy of a session. The session must use the dictionary of this store
+	 *
+	 * @param id        The id of the session
+	 * @param commandle The session to pause
+	 * @throws IllegalArgumentException if the session is playing a {@link MultiBoardGame}
+	 */
+	public synchronized void pause(String id, Commandle commandle) {
+		Snapshot snapshot = Snapshot.of(commandle, dictionary);
+		Entry previous = sessions.put(id, new Entry(snapshot, clock.getAsLong()));
+		if (previous != null) {
+			bytes -= previous.snapshot().bytes();
+		}
+		bytes += snapshot.bytes();
+
+		evictExpired();
+		Iterator<Map.Entry<String, Entry>> eldest = sessions.entrySet().iterator();
+		while (bytes > maxBytes && eldest.hasNext()) {
+			Map.Entry<String, Entry> entry = eldest.next();
+			if (entry.getKey().equals(id)) {
+				break;
+			}
+			bytes -= entry.getValue().snapshot().bytes();
+			eldest.remove();
+			log.debug("Evicted session {} to stay within {} bytes", entry.getKey(), maxBytes);
+		}
+	}
+
+	/**
+	 * Removes a session from the store and rebuilds it. A game that was in progress is restored
+	 * with its guesses, so it continues with {@link Commandle#startGame()}
+	 *
+	 * @param id The id of the session
+	 * @param io The {@link GameIO} the resumed session reads from and writes to
+	 * @return The session, or null if it was never stored or has been evicted
+	 */
+	public synchronized Commandle resume(String id, GameIO io) {
+		evictExpired();
+		Entry entry = sessions.remove(id);
+		if (entry == null) {
+			return null;
+		}
+
+		bytes -= entry.snapshot().bytes();
+		return entry.snapshot().restore(dictionary, solver, io);
+	}
+
+	/**
+	 * Evicts every session that has been idle for longer than the TTL. Sessions are kept in least
+	 * recently used order, so this stops at the first session that is still fresh
+	 *
+	 * @return The number of sessions evicted
+	 */
+	public synchronized int evictExpired() {
+		long now = clock.getAsLong();
+		int evicted = 0;
+
+		Iterator<Entry> oldest = sessions.values().iterator();
+		while (oldest.hasNext()) {
+			Entry entry = oldest.next();
+			if (now - entry.pausedAt() <= ttl) {
+				break;
+			}
+			bytes -= entry.snapshot().bytes();
+			oldest.remove();
+			evicted++;
+		}
+
+		return evicted;
+	}
+
+	public synchronized int size() {
+		return sessions.size();
+	}
+
+	/**
+	 * @return The estimated size in bytes of all stored snapshots
+	 */
+	public synchronized long bytes() {
+		return bytes;
+	}
+
+	private record Entry(Snapshot snapshot, long pausedAt) {
+	}
+
+	/**
+	 * The compact form of a paused session
+	 * sessionTargets is stored as sorted dictionary indices while that is smaller than a bitset over
+	 * the dictionary, and as the bitset once the session has used many targets
+	 *
+	 * @param target        The dictionary index of the target word, or -1 between games
+	 * @param round         The round of the game in progress
+	 * @param tries         The number of tries of the game in progress, or of the next game between games
+	 * @param hardMode      Whether the session is played in hard mode
+	 * @param guesses       The guesses of the game in progress in order, packed with {@link WordIndex#pack(CharSequence)}
+	 * @param targetIndices The sorted dictionary indices of sessionTargets, or null if targetBits is used
+	 * @param targetBits    The bitset of dictionary indices of sessionTargets, or null if targetIndices is used
+	 */
+	record Snapshot(int target, int round, int tries, boolean hardMode, long[] guesses, int[] targetIndices, long[] targetBits) {
+
+		static Snapshot of(Commandle commandle, WordIndex dictionary) {
+			Game game = commandle.getGame();
+			if (game instanceof MultiBoardGame) {
+				throw new IllegalArgumentException("A game of several boards cannot be paused");
+			}
+			int target = commandle.getTargetWord() == null ? -1 : dictionary.indexOf(commandle.getTargetWord());
+
+			long[] guesses = new long[0];
+			int round = 1;
+			int tries = commandle.getTries();
+			boolean hardMode = commandle.isHardMode();
+			if (game != null) {
+				guesses = game.getTurns().stream().mapToLong(Game.Turn::guess).toArray();
+				round = game.getRound();
+				tries = game.getTries();
+				hardMode |= game.isHardMode();
+			}
+
+			Set<String> sessionTargets = commandle.getSessionTargets();
+			int[] indices = sessionTargets.stream().mapToInt(dictionary::indexOf).filter(i -> i >= 0).sorted().toArray();
+			if ((long) indices.length * Integer.SIZE < dictionary.size()) {
+				return new Snapshot(target, round, tries, hardMode, guesses, indices, null);
+			}
+
+			long[] bits = new long[(dictionary.size() + 63) >>> 6];
+			for (int index : indices) {
+				bits[index >>> 6] |= 1L << index;
+			}
+			return new Snapshot(target, round, tries, hardMode, guesses, null, bits);
+		}
+
+		Commandle restore(WordIndex dictionary, Solver solver, GameIO io) {
+			Set<String> sessionTargets = new HashSet<>();
+			if (targetIndices != null) {
+				for (int index : targetIndices) {
+					sessionTargets.add(dictionary.get(index));
+				}
+			} else {
+				for (int i = 0; i < targetBits.length; i++) {
+					for (long word = targetBits[i]; word != 0; word &= word - 1) {
+						sessionTargets.add(dictionary.get((i << 6) + Long.numberOfTrailingZeros(word)));
+					}
+				}
+			}
+
+			Commandle commandle = new Commandle();
+			commandle.setDictionary(dictionary);
+			commandle.setSessionTargets(sessionTargets);
+			commandle.setTries(tries);
+			commandle.setHardMode(hardMode);
+			commandle.setSolver(solver);
+			commandle.setIo(io);
+
+			if (target >= 0) {
+				String targetWord = dictionary.get(target);
+				Game game = new Game(targetWord, dictionary, tries);
+				for (long guess : guesses) {
+					String word = WordIndex.unpack(guess);
+					game.getGuesses().add(word);
+					game.play(word);
+				}
+				game.setRound(round);
+				game.setHardMode(hardMode);
+				game.setSolver(solver);
+				game.setIo(io);
+				commandle.setTargetWord(targetWord);
+				commandle.setGame(game);
+			}
+
+			return commandle;
+		}
+
+		/**
+		 * @return An estimate of the heap used by the snapshot and its arrays
+		 */
+		long bytes() {
+			long size = 40 + 16 + 8L * guesses.length;
+			if (targetIndices != null) {
+				size += 16 + 4L * targetIndices.length;
+			} else {
+				size += 16 + 8L * targetBits.length;
+			}
+			return size;
+		}
+	}
+}
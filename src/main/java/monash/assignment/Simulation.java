@@ -0,0 +1,144 @@
+package monash.assignment;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * The Simulation class plays games of Commandle headlessly with a {@link GuessStrategy}
+ * Games run in parallel across all cores with no console I/O, and the results are summarised
+ * as throughput, the distribution of guesses needed to win and the failure rate
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>dictionary - the {@link WordIndex} of words used as targets and valid guesses</li>
+ *     <li>tries - the number of tries each game has to guess the target word</li>
+ *     <li>strategy - the {@link GuessStrategy} that makes every guess</li>
+ * </ol>
+ */
+public final class Simulation {
+	private final WordIndex dictionary;
+	private final int tries;
+	private final GuessStrategy strategy;
+
+	public Simulation(WordIndex dictionary, int tries, GuessStrategy strategy) {
+		this.dictionary = dictionary;
+		this.tries = tries;
+		this.strategy = strategy;
+	}
+
+	/**
+	 * Plays one game with every word in the dictionary as the target
+	 *
+	 * @return The results of the games
+	 */
+	public Result runAll() {
+		int[] targets = new int[dictionary.size()];
+		for (int i = 0; i < targets.length; i++) {
+			targets[i] = i;
+		}
+		return run(targets);
+	}
+
+	/**
+	 * Plays games against targets drawn at random from the dictionary
+	 *
+	 * @param games The number of games to play
+	 * @param seed  The seed used to draw the targets
+	 * @return The results of the games
+	 */
+	public Result run(int games, long seed) {
+		SplittableRandom random = new SplittableRandom(seed);
+		return run(random.ints(games, 0, dictionary.size()).toArray());
+	}
+
+	/**
+	 * Plays one game for each target in parallel
+	 *
+	 * <p>Variables defined in this method:</p>
+	 * <ol>
+	 *     <li>guesses - the number of guesses each game took to win, or 0 if the game was lost</li>
+	 * </ol>
+	 *
+	 * @param targets The dictionary indices of the target words
+	 * @return The results of the games
+	 */
+	public Result run(int[] targets) {
+		long started = System.nanoTime();
+		int[] guesses = new int[targets.length];
+
+		IntStream.range(0, targets.length).parallel()
+				.forEach(i -> guesses[i] = play(dictionary.get(targets[i])));
+
+		long[] distribution = new long[tries + 1];
+		for (int count : guesses) {
+			distribution[count]++;
+		}
+
+		return new Result(targets.length, distribution, System.nanoTime() - started);
+	}
+
+	/**
+	 * @param target The target word
+	 * @return The number of guesses taken to win the game, or 0 if the game was lost
+	 */
+	public int play(String target) {
+		Game game = new Game(target, dictionary, tries);
+		int allCorrect = Feedback.allCorrect(dictionary.length());
+
+		for (int round = 1; round <= tries; round++) {
+			String guess = strategy.nextGuess(game);
+			if (guess == null) {
+				return 0;
+			}
+			if (game.play(guess) == allCorrect) {
+				return round;
+			}
+		}
+
+		return 0;
+	}
+
+	/**
+	 * The results of a simulation run
+	 *
+	 * @param games        The number of games played
+	 * @param distribution The number of games won in each number of guesses, index 0 counts the games lost
+	 * @param nanos        The time taken to play every game
+	 */
+	public record Result(int games, long[] distribution, long nanos) {
+
+		public long failures() {
+			return distribution[0];
+		}
+
+		public double failureRate() {
+			return games == 0 ? 0 : (double) failures() / games;
+		}
+
+		public double gamesPerSecond() {
+			return games / (nanos / 1e9);
+		}
+
+		public double averageGuesses() {
+			long won = 0;
+			long guesses = 0;
+			for (int i = 1; i < distribution.length; i++) {
+				won += distribution[i];
+				guesses += i * distribution[i];
+			}
+			return won == 0 ? 0 : (double) guesses / won;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder report = new StringBuilder();
+			report.append(String.format("Played %d games in %.2f s (%.1f games/sec)%n", games, nanos / 1e9, gamesPerSecond()));
+			report.append(String.format("Failures: %d (%.2f%%) with %d tries%n", failures(), failureRate() * 100, distribution.length - 1));
+			report.append(String.format("Average guesses to win: %.3f%n", averageGuesses()));
+			for (int i = 1; i < distribution.length; i++) {
+				report.append(String.format("%d: %d (%.2f%%)%n", i, distribution[i], games == 0 ? 0 : distribution[i] * 100.0 / games));
+			}
+			return report.toString();
+		}
+	}
+}
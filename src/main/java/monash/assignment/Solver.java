@@ -0,0 +1,268 @@
+package monash.assignment;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * The Solver class suggests the guess that gives the most information about the target word
+ * For every possible guess the remaining candidates are split into buckets by feedback code,
+ * and the guess whose buckets have the highest entropy is chosen. Ties go to guesses that
+ * could still be the target word, then to the guess that comes first in the dictionary
+ *
+ * <p>Guesses are scored in parallel chunks on the common fork/join pool. The best opening
+ * guess only depends on the dictionary, so it is computed once and reused. With an
+ * {@link OpeningBook}, the guesses for games that follow the book are looked up instead.</p>
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>table - the {@link FeedbackTable} used to score guesses against candidates</li>
+ *     <li>dictionary - the {@link WordIndex} of words that can be guessed</li>
+ *     <li>openingGuess - the dictionary index of the best first guess, or -1 until it is computed</li>
+ *     <li>book - the {@link OpeningBook} of precomputed guesses, or null to compute every guess</li>
+ * </ol>
+ */
+public final class Solver {
+	private static final int CHUNK = 256;
+
+	private final FeedbackTable table;
+	private final WordIndex dictionary;
+	private volatile int openingGuess = -1;
+	private volatile OpeningBook book;
+
+	public Solver(FeedbackTable table) {
+		this.table = table;
+		this.dictionary = table.dictionary();
+	}
+
+	/**
+	 * @return The table used to score guesses against candidates
+	 */
+	public FeedbackTable getTable() {
+		return table;
+	}
+
+	/**
+	 * @return The book of precomputed guesses, or null if there is none
+	 */
+	public OpeningBook getBook() {
+		return book;
+	}
+
+	/**
+	 * @param book The book of precomputed guesses to look guesses up in, or null to compute every guess
+	 * @throws IllegalArgumentException if the book was built for a different dictionary
+	 */
+	public void setBook(OpeningBook book) {
+		if (book != null && book.dictionary().fingerprint() != dictionary.fingerprint()) {
+			throw new IllegalArgumentException("The opening book was built for a different dictionary");
+		}
+		this.book = book;
+	}
+
+	/**
+	 * @param game The game being played. It must use the same dictionary as this solver
+	 * @return The best next guess for the game, or null if no word fits the feedback so far
+	 */
+	public String bestGuess(Game game) {
+		int booked = booked(game.getTurns());
+		if (booked >= 0) {
+			return dictionary.get(booked);
+		}
+
+		int[] candidates = new int[dictionary.size()];
+		int count = game.candidates().toArray(candidates);
+		int guess = bestGuess(candidates, count);
+		return guess < 0 ? null : dictionary.get(guess);
+	}
+
+	/**
+	 * @param turns The guesses made so far and their feedback codes
+	 * @return The best next guess, or null if no word fits the feedback so far
+	 */
+	public String bestGuess(List<Game.Turn> turns) {
+		int booked = booked(turns);
+		if (booked >= 0) {
+			return dictionary.get(booked);
+		}
+
+		int[] candidates = new int[dictionary.size()];
+		int count = candidates(turns, candidates);
+		int guess = bestGuess(candidates, count);
+		return guess < 0 ? null : dictionary.get(guess);
+	}
+
+	/**
+	 * @return The dictionary index of the guess in the book for the turns, or -1 if there is no book
+	 * or the turns are not in it
+	 */
+	private int booked(List<Game.Turn> turns) {
+		OpeningBook current = book;
+		return current == null ? -1 : current.guess(turns);
+	}
+
+	/**
+	 * Collects the dictionary indices of the words that give the same feedback as every turn
+	 *
+	 * @param turns      The guesses made so far and their feedback codes
+	 * @param candidates The array the indices are written to, at least as long as the dictionary
+	 * @return The number of candidates written
+	 */
+	public int candidates(List<Game.Turn> turns, int[] candidates) {
+		CandidateSet remaining = CandidateSet.all(dictionary);
+		for (Game.Turn turn : turns) {
+			remaining.apply(turn.guess(), turn.feedback());
+		}
+
+		return remaining.toArray(candidates);
+	}
+
+	/**
+	 * @param candidates The dictionary indices of the words that can still be the target
+	 * @param count      The number of candidates in the array
+	 * @return The dictionary index of the best next guess, or -1 if there are no candidates
+	 */
+	public int bestGuess(int[] candidates, int count) {
+		if (count <= 2) {
+			return count == 0 ? -1 : candidates[0];
+		}
+
+		boolean opening = count == dictionary.size();
+		if (opening && openingGuess >= 0) {
+			return openingGuess;
+		}
+
+		long[] candidateSet = new long[(dictionary.size() + 63) >>> 6];
+		for (int i = 0; i < count; i++) {
+			candidateSet[candidates[i] >>> 6] |= 1L << candidates[i];
+		}
+
+		double[] weights = new double[count + 1];
+		for (int c = 2; c <= count; c++) {
+			weights[c] = c * Math.log(c);
+		}
+
+		BulkScorer scorer = null;
+		if (!table.isPrecomputed()) {
+			long[] packed = new long[count];
+			for (int i = 0; i < count; i++) {
+				packed[i] = dictionary.packedAt(candidates[i]);
+			}
+			scorer = new BulkScorer(packed, count);
+		}
+
+		BulkScorer shared = scorer;
+		int chunks = (dictionary.size() + CHUNK - 1) / CHUNK;
+		int guess = IntStream.range(0, chunks).parallel()
+				.mapToObj(chunk -> bestInChunk(chunk * CHUNK, Math.min(dictionary.size(), (chunk + 1) * CHUNK),
+						candidates, count, candidateSet, weights, shared == null ? null : new BulkScorer(shared)))
+				.reduce(Choice::better)
+				.orElseThrow()
+				.guess();
+
+		if (opening) {
+			openingGuess = guess;
+		}
+		return guess;
+	}
+
+	/**
+	 * Finds the best next guess among the candidates only, such as for hard mode where a guess
+	 * has to fit the feedback so far. Every candidate is scored against every other, so this is
+	 * meant for the small candidate sets left after the first guess
+	 *
+	 * @param candidates The dictionary indices of the words that can still be the target
+	 * @param count      The number of candidates in the array
+	 * @return The dictionary index of the candidate that gains the most information, or -1 if there are no candidates
+	 */
+	public int bestCandidate(int[] candidates, int count) {
+		int best = -1;
+		double bestEntropy = -1;
+		for (int i = 0; i < count; i++) {
+			double entropy = entropy(candidates[i], candidates, count);
+			if (entropy > bestEntropy) {
+				best = candidates[i];
+				bestEntropy = entropy;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * @param guess      The dictionary index of the guess
+	 * @param candidates The dictionary indices of the words that can still be the target
+	 * @param count      The number of candidates in the array
+	 * @return The expected information in bits gained by making the guess
+	 */
+	public double entropy(int guess, int[] candidates, int count) {
+		int[] histogram = new int[Feedback.patterns(dictionary.length())];
+		for (int i = 0; i < count; i++) {
+			histogram[table.feedback(guess, candidates[i])]++;
+		}
+
+		double sum = 0;
+		for (int bucket : histogram) {
+			if (bucket > 1) {
+				sum += bucket * Math.log(bucket);
+			}
+		}
+
+		return (Math.log(count) - sum / count) / Math.log(2);
+	}
+
+	/**
+	 * Finds the best guess in a range of dictionary indices. Only the sum of c·ln(c) over the
+	 * feedback buckets is compared, since the entropy is ln(n) minus that sum divided by n.
+	 * When the table is not precomputed, each guess is scored against every candidate at once
+	 * with the scorer instead of one cell of the table at a time
+	 *
+	 * <p>Variables defined in this method:</p>
+	 * <ol>
+	 *     <li>histogram - the number of candidates that give each feedback code, reused for every guess in the range</li>
+	 *     <li>codes - scratch for the scorer, the feedback code of each candidate</li>
+	 *     <li>spread - the sum of c·ln(c) over the buckets, lower is better</li>
+	 * </ol>
+	 *
+	 * @param scorer A {@link BulkScorer} of the candidates for this chunk only, or null to score with the table
+	 */
+	private Choice bestInChunk(int from, int to, int[] candidates, int count, long[] candidateSet, double[] weights, BulkScorer scorer) {
+		int[] histogram = new int[Feedback.patterns(dictionary.length())];
+		int[] codes = scorer == null ? null : new int[count];
+		Choice best = null;
+
+		for (int guess = from; guess < to; guess++) {
+			if (scorer != null) {
+				scorer.histogram(dictionary.packedAt(guess), codes, histogram);
+			} else {
+				for (int i = 0; i < count; i++) {
+					histogram[table.feedback(guess, candidates[i])]++;
+				}
+			}
+
+			double spread = 0;
+			for (int code = 0; code < histogram.length; code++) {
+				spread += weights[histogram[code]];
+				histogram[code] = 0;
+			}
+
+			boolean candidate = (candidateSet[guess >>> 6] & (1L << guess)) != 0;
+			if (best == null || spread < best.spread() || (spread == best.spread() && candidate && !best.candidate())) {
+				best = new Choice(spread, candidate, guess);
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 * The best guess found in a chunk. Chunks are reduced in dictionary order, so on a full tie
+	 * the guess from the earlier chunk is kept
+	 */
+	private record Choice(double spread, boolean candidate, int guess) {
+		Choice better(Choice other) {
+			if (other.spread < spread || (other.spread == spread && other.candidate && !candidate)) {
+				return other;
+			}
+			return this;
+		}
+	}
+}
@@ -0,0 +1,373 @@
+package monash.assignment;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * The StatsJournal class stores the outcome of every game a player finishes, so their
+ * {@link PlayerStats} survive between runs
+ * Outcomes are appended to a journal through a buffer that is written in one batch when it fills
+ * or the journal is flushed. Once the journal holds enough outcomes it is compacted: the statistics
+ * are written to a snapshot and the journal is emptied. Opening the journal reads the snapshot and
+ * replays only the outcomes after it, so startup does not grow with the number of games played
+ *
+ * <p>Both files are big-endian. The journal is a header of magic 0x434D444A ("CMDJ") and version,
+ * followed by records of:</p>
+ * <ol>
+ *     <li>length - the number of bytes in the rest of the record after the checksum</li>
+ *     <li>checksum - the CRC32 of the rest of the record</li>
+ *     <li>sequence - the number of the game, counting from 1</li>
+ *     <li>timestamp - when the game finished, in milliseconds since the epoch</li>
+ *     <li>target - the packed target word, see {@link WordIndex#pack(CharSequence)}</li>
+ *     <li>won - 1 if the target word was guessed, otherwise 0</li>
+ *     <li>count - the number of guesses as an unsigned short</li>
+ *     <li>guesses - count packed guesses</li>
+ * </ol>
+ *
+ * <p>The snapshot is a header of magic 0x434D4450 ("CMDP"), version, the sequence of the last
+ * game it holds, the length and CRC32 of its body, followed by the body written by
+ * {@link PlayerStats}. Records that a snapshot already holds are skipped on replay, so a journal
+ * left behind by a compaction that did not finish is harmless. A record cut short by a crash is
+ * dropped along with anything after it.</p>
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>directory - the directory of the journal and snapshot files</li>
+ *     <li>compactEvery - how many records the journal can hold before it is compacted</li>
+ *     <li>channel - the open journal file</li>
+ *     <li>buffer - the records waiting to be written to the journal</li>
+ *     <li>stats - the statistics of every game in the snapshot and the journal</li>
+ *     <li>sequence - the number of the last game recorded</li>
+ *     <li>snapshotSequence - the number of the last game in the snapshot</li>
+ * </ol>
+ */
+public final class StatsJournal implements Closeable {
+	private static final Logger log = LogManager.getLogger(StatsJournal.class);
+
+	static final String JOURNAL_FILE = "stats.journal";
+	static final String SNAPSHOT_FILE = "stats.snapshot";
+	static final int COMPACT_EVERY = 1024;
+
+	private static final int JOURNAL_MAGIC = 0x434D444A;
+	private static final int SNAPSHOT_MAGIC = 0x434D4450;
+	private static final int VERSION = 1;
+	private static final int JOURNAL_HEADER_BYTES = 8;
+	private static final int SNAPSHOT_HEADER_BYTES = 24;
+	private static final int RECORD_HEADER_BYTES = 8;
+	private static final int RECORD_FIXED_BYTES = 3 * Long.BYTES + 1 + Short.BYTES;
+	private static final int BUFFER_BYTES = 1 << 16;
+
+	private final Path directory;
+	private final int compactEvery;
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+	private final PlayerStats stats;
+	private long sequence;
+	private long snapshotSequence;
+
+	private StatsJournal(Path directory, int compactEvery, FileChannel channel, PlayerStats stats, long sequence, long snapshotSequence) {
+		this.directory = directory;
+		this.compactEvery = compactEvery;
+		this.channel = channel;
+		this.stats = stats;
+		this.sequence = sequence;
+		this.snapshotSequence = snapshotSequence;
+	}
+
+	/**
+	 * Opens the journal in a directory, creating it if it does not exist, and rebuilds the
+	 * statistics from the snapshot and the journal
+	 *
+	 * @param directory The directory of the journal and snapshot files
+	 * @return The journal, which must be closed to write the last outcomes
+	 * @throws IOException if the files cannot be read or written
+	 */
+	public static StatsJournal open(Path directory) throws IOException {
+		return open(directory, COMPACT_EVERY);
+	}
+
+	static StatsJournal open(Path directory, int compactEvery) throws IOException {
+		long started = System.nanoTime();
+		Files.createDirectories(directory);
+
+		PlayerStats stats = new PlayerStats();
+		long snapshotSequence = 0;
+		Path snapshot = directory.resolve(SNAPSHOT_FILE);
+		if (Files.isRegularFile(snapshot)) {
+			try {
+				ByteBuffer body = ByteBuffer.wrap(Files.readAllBytes(snapshot));
+				snapshotSequence = readSnapshotHeader(body);
+				stats = PlayerStats.read(body);
+			} catch (IOException | IllegalArgumentException | BufferUnderflowException e) {
+				log.warn("Ignoring unreadable stats snapshot {}: {}", snapshot, e.getMessage());
+				snapshotSequence = 0;
+				stats = new PlayerStats();
+			}
+		}
+
+		Path file = directory.resolve(JOURNAL_FILE);
+		ByteBuffer journal = ByteBuffer.wrap(Files.isRegularFile(file) ? Files.readAllBytes(file) : new byte[0]);
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		long sequence;
+		try {
+			if (journal.remaining() < JOURNAL_HEADER_BYTES || journal.getInt() != JOURNAL_MAGIC || journal.getInt() != VERSION) {
+				if (journal.limit() > 0) {
+					log.warn("Replacing unreadable stats journal in {}", directory);
+				}
+				channel.truncate(0);
+				channel.write(ByteBuffer.allocate(JOURNAL_HEADER_BYTES).putInt(JOURNAL_MAGIC).putInt(VERSION).flip(), 0);
+				journal = ByteBuffer.allocate(JOURNAL_HEADER_BYTES).position(JOURNAL_HEADER_BYTES);
+			}
+
+			sequence = replay(journal, stats, snapshotSequence);
+			if (journal.hasRemaining()) {
+				log.warn("Dropping {} bytes of an incomplete record from the stats journal in {}", journal.remaining(), directory);
+				channel.truncate(journal.position());
+			}
+			channel.position(journal.position());
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+
+		StatsJournal statsJournal = new StatsJournal(directory, compactEvery, channel, stats, sequence, snapshotSequence);
+		if (sequence - snapshotSequence >= compactEvery) {
+			statsJournal.compact();
+		}
+
+		log.info("Loaded {} games of stats from {} in {} ms", stats.played(), directory, (System.nanoTime() - started) / 1_000_000);
+		return statsJournal;
+	}
+
+	/**
+	 * Reads the records of the journal into the statistics, stopping at the first record that is
+	 * incomplete or does not match its checksum
+	 *
+	 * @param journal          The journal after its header. Its position is left after the last good record
+	 * @param stats            The statistics to add the records to
+	 * @param snapshotSequence The sequence of the last game already in the statistics
+	 * @return The sequence of the last game
+	 */
+	private static long replay(ByteBuffer journal, PlayerStats stats, long snapshotSequence) {
+		long sequence = snapshotSequence;
+		CRC32 crc = new CRC32();
+		while (journal.remaining() >= RECORD_HEADER_BYTES) {
+			int start = journal.position();
+			int length = journal.getInt();
+			int checksum = journal.getInt();
+			if (length < RECORD_FIXED_BYTES || length > journal.remaining()) {
+				journal.position(start);
+				break;
+			}
+
+			ByteBuffer record = journal.slice(journal.position(), length);
+			crc.reset();
+			crc.update(record.duplicate());
+			if ((int) crc.getValue() != checksum) {
+				journal.position(start);
+				break;
+			}
+			journal.position(journal.position() + length);
+
+			long recordSequence = record.getLong();
+			record.getLong();
+			long target = record.getLong();
+			boolean won = record.get() == 1;
+			int guesses = Short.toUnsignedInt(record.getShort());
+			if (recordSequence > sequence) {
+				stats.add(target, guesses, won);
+				sequence = recordSequence;
+			}
+		}
+		return sequence;
+	}
+
+	private static long readSnapshotHeader(ByteBuffer snapshot) throws IOException {
+		if (snapshot.remaining() < SNAPSHOT_HEADER_BYTES
+				|| snapshot.getInt() != SNAPSHOT_MAGIC
+				|| snapshot.getInt() != VERSION) {
+			throw new IOException("Not a stats snapshot of this version");
+		}
+
+		long sequence = snapshot.getLong();
+		int length = snapshot.getInt();
+		int checksum = snapshot.getInt();
+		if (length != snapshot.remaining()) {
+			throw new IOException(String.format("Stats snapshot should hold %d bytes but has %d", length, snapshot.remaining()));
+		}
+
+		CRC32 crc = new CRC32();
+		crc.update(snapshot.duplicate());
+		if ((int) crc.getValue() != checksum) {
+			throw new IOException("Stats snapshot checksum does not match");
+		}
+		return sequence;
+	}
+
+	/**
+	 * Records a finished game. The record is buffered until the buffer fills or the journal is
+	 * flushed, and the statistics are updated straight away
+	 *
+	 * @param timestamp When the game finished, in milliseconds since the epoch
+	 * @param target    The packed target word
+	 * @param guesses   The packed guesses, in order
+	 * @param won       Whether the target word was guessed
+	 * @throws IOException if a full buffer cannot be written
+	 */
+	public synchronized void record(long timestamp, long target, long[] guesses, boolean won) throws IOException {
+		if (guesses.length > 0xFFFF) {
+			throw new IllegalArgumentException(String.format("Cannot record a game of %d guesses", guesses.length));
+		}
+
+		int length = RECORD_FIXED_BYTES + guesses.length * Long.BYTES;
+		if (buffer.remaining() < RECORD_HEADER_BYTES + length) {
+			write();
+		}
+		ByteBuffer record = RECORD_HEADER_BYTES + length <= buffer.capacity() ? buffer : ByteBuffer.allocate(RECORD_HEADER_BYTES + length);
+
+		int start = record.position();
+		record.putInt(length)
+				.putInt(0)
+				.putLong(++sequence)
+				.putLong(timestamp)
+				.putLong(target)
+				.put((byte) (won ? 1 : 0))
+				.putShort((short) guesses.length);
+		for (long guess : guesses) {
+			record.putLong(guess);
+		}
+
+		CRC32 crc = new CRC32();
+		crc.update(record.slice(start + RECORD_HEADER_BYTES, length));
+		record.putInt(start + Integer.BYTES, (int) crc.getValue());
+
+		if (record != buffer) {
+			write(record.flip());
+		}
+		stats.add(target, guesses.length, won);
+	}
+
+	/**
+	 * Records a finished game
+	 *
+	 * @param target The target word
+	 * @param game   The finished game
+	 * @param won    Whether the target word was guessed
+	 * @throws IOException if a full buffer cannot be written
+	 */
+	public void record(String target, Game game, boolean won) throws IOException {
+		List<Game.Turn> turns = game.getTurns();
+		long[] guesses = new long[turns.size()];
+		for (int i = 0; i < guesses.length; i++) {
+			guesses[i] = turns.get(i).guess();
+		}
+
+		record(System.currentTimeMillis(), WordIndex.pack(target), guesses, won);
+	}
+
+	/**
+	 * Writes the buffered records to the journal, and compacts it if it has grown past compactEvery records.
+	 * The records survive the JVM exiting once this returns, but are not forced to the disk
+	 *
+	 * @throws IOException if the journal cannot be written
+	 */
+	public synchronized void flush() throws IOException {
+		write();
+		if (sequence - snapshotSequence >= compactEvery) {
+			compact();
+		}
+	}
+
+	/**
+	 * Writes the statistics to a new snapshot, which replaces the old one once it is complete,
+	 * and then empties the journal
+	 *
+	 * @throws IOException if the snapshot or journal cannot be written
+	 */
+	public synchronized void compact() throws IOException {
+		write();
+
+		ByteBuffer body = ByteBuffer.allocate(stats.bytes());
+		stats.write(body);
+		body.flip();
+
+		CRC32 crc = new CRC32();
+		crc.update(body.duplicate());
+
+		ByteBuffer header = ByteBuffer.allocate(SNAPSHOT_HEADER_BYTES)
+				.putInt(SNAPSHOT_MAGIC)
+				.putInt(VERSION)
+				.putLong(sequence)
+				.putInt(body.remaining())
+				.putInt((int) crc.getValue())
+				.flip();
+
+		Path temp = Files.createTempFile(directory, "stats", ".tmp");
+		try (FileChannel snapshot = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+			ByteBuffer[] buffers = {header, body};
+			while (header.hasRemaining() || body.hasRemaining()) {
+				snapshot.write(buffers);
+			}
+			snapshot.force(false);
+		} catch (IOException e) {
+			Files.deleteIfExists(temp);
+			throw e;
+		}
+		Files.move(temp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		channel.truncate(JOURNAL_HEADER_BYTES);
+		channel.position(JOURNAL_HEADER_BYTES);
+		log.debug("Compacted {} games of stats up to game {}", sequence - snapshotSequence, sequence);
+		snapshotSequence = sequence;
+	}
+
+	/**
+	 * @return The statistics of every game recorded, including buffered games
+	 */
+	public synchronized PlayerStats stats() {
+		return stats;
+	}
+
+	/**
+	 * Writes the buffered records and forces the journal to the disk
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (!channel.isOpen()) {
+			return;
+		}
+
+		try {
+			flush();
+			channel.force(false);
+		} finally {
+			channel.close();
+		}
+	}
+
+	private void write() throws IOException {
+		try {
+			write(buffer.flip());
+		} finally {
+			buffer.compact();
+		}
+	}
+
+	private void write(ByteBuffer records) throws IOException {
+		while (records.hasRemaining()) {
+			channel.write(records);
+		}
+	}
+}
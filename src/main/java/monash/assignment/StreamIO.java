@@ -0,0 +1,72 @@
+package monash.assignment;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * The StreamIO class plays a game over a pair of character streams, such as a socket or a script
+ * Messages and error messages go to the same writer. Output is buffered, and for an interactive
+ * player it is flushed whenever they are asked for input, so each prompt costs one write.
+ * A script does not wait for prompts, so its output is only flushed when the buffer fills
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>reader - the player's input</li>
+ *     <li>writer - where messages are written</li>
+ *     <li>interactive - whether output is flushed before each line of input is read</li>
+ * </ol>
+ */
+class StreamIO implements GameIO, Closeable {
+	private final BufferedReader reader;
+	private final Writer writer;
+	private final boolean interactive;
+
+	StreamIO(BufferedReader reader, Writer writer) {
+		this(reader, writer, true);
+	}
+
+	StreamIO(BufferedReader reader, Writer writer, boolean interactive) {
+		this.reader = reader;
+		this.writer = writer;
+		this.interactive = interactive;
+	}
+
+	@Override
+	public String readLine() {
+		try {
+			if (interactive) {
+				writer.flush();
+			}
+			return reader.readLine();
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	@Override
+	public void print(String text) {
+		try {
+			writer.write(text);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public void error(String text) {
+		print(text);
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			writer.flush();
+		} finally {
+			reader.close();
+			writer.close();
+		}
+	}
+}
@@ -0,0 +1,337 @@
+package monash.assignment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The WordDawg class holds the words of a {@link WordIndex} as a minimized directed acyclic word
+ * graph: a trie in which equal suffixes are shared, so each word is a path of one edge per letter
+ * from the root. It answers membership and prefix queries, such as autocompleting a guess while
+ * the player types, by walking one node per letter
+ *
+ * <p>The graph is built in one pass over the words in sorted order with the incremental algorithm
+ * of Daciuk et al., which registers each finished node and replaces it with an equal one that
+ * is already registered. It is then stored in flat primitive arrays. The children of a node are
+ * stored next to each other in letter order, and each node has a bitmask of the letters it has a
+ * child for, so the child for a letter is found with a bit count instead of a search.</p>
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>letters - the bitmask of the letters each node has a child for, bit 0 is a</li>
+ *     <li>first - the index in children of the first child of each node</li>
+ *     <li>children - the child nodes of every node, by parent and then by letter</li>
+ *     <li>terminal - a bitset of the nodes that end a word</li>
+ *     <li>counts - the number of words that can be completed from each node</li>
+ * </ol>
+ */
+public final class WordDawg {
+	private static final int ROOT = 0;
+
+	private final int[] letters;
+	private final int[] first;
+	private final int[] children;
+	private final long[] terminal;
+	private final int[] counts;
+
+	/**
+	 * Builds the graph for every word of a dictionary. Packed words of the same length sort in the
+	 * same order as the strings, so the words are sorted without being unpacked
+	 *
+	 * @param dictionary The dictionary to build the graph for
+	 */
+	WordDawg(WordIndex dictionary) {
+		long[] sorted = dictionary.words().clone();
+		Arrays.sort(sorted);
+
+		int length = dictionary.length();
+		Builder builder = new Builder();
+		int[] word = new int[length];
+		for (long packed : sorted) {
+			for (int i = 0; i < length; i++) {
+				word[i] = WordIndex.letter(packed, length, i);
+			}
+			builder.add(word);
+		}
+		State root = builder.finish();
+
+		Map<State, Integer> ids = new IdentityHashMap<>();
+		List<State> states = new ArrayList<>();
+		number(root, ids, states);
+
+		int edges = 0;
+		for (State state : states) {
+			edges += state.size;
+		}
+
+		letters = new int[states.size()];
+		first = new int[states.size()];
+		children = new int[edges];
+		terminal = new long[(states.size() + 63) >>> 6];
+		counts = new int[states.size()];
+
+		int edge = 0;
+		for (int node = states.size() - 1; node >= 0; node--) {
+			State state = states.get(node);
+			first[node] = edge;
+			int count = state.terminal ? 1 : 0;
+			for (int i = 0; i < state.size; i++) {
+				int child = ids.get(state.next[i]);
+				letters[node] |= 1 << state.labels[i];
+				children[edge++] = child;
+				count += counts[child];
+			}
+			counts[node] = count;
+			if (state.terminal) {
+				terminal[node >>> 6] |= 1L << node;
+			}
+		}
+	}
+
+	/**
+	 * Numbers the nodes so that every child has a higher number than its parents, which lets the
+	 * counts be summed from the last node back to the root. Each shared node is numbered once
+	 */
+	private static void number(State root, Map<State, Integer> ids, List<State> states) {
+		Map<State, Integer> parents = new IdentityHashMap<>();
+		List<State> order = new ArrayList<>();
+		List<State> stack = new ArrayList<>();
+		stack.add(root);
+		parents.put(root, 0);
+		while (!stack.isEmpty()) {
+			State state = stack.remove(stack.size() - 1);
+			order.add(state);
+			for (int i = 0; i < state.size; i++) {
+				if (parents.put(state.next[i], 0) == null) {
+					stack.add(state.next[i]);
+				}
+			}
+		}
+
+		for (State state : order) {
+			for (int i = 0; i < state.size; i++) {
+				parents.merge(state.next[i], 1, Integer::sum);
+			}
+		}
+
+		List<State> ready = new ArrayList<>();
+		ready.add(root);
+		while (!ready.isEmpty()) {
+			State state = ready.remove(ready.size() - 1);
+			ids.put(state, states.size());
+			states.add(state);
+			for (int i = state.size - 1; i >= 0; i--) {
+				if (parents.merge(state.next[i], -1, Integer::sum) == 0) {
+					ready.add(state.next[i]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param word A word, in lowercase
+	 * @return true if the word is in the graph
+	 */
+	public boolean contains(CharSequence word) {
+		int node = walk(word);
+		return node >= 0 && (terminal[node >>> 6] & (1L << node)) != 0;
+	}
+
+	/**
+	 * @param prefix The start of a word, in lowercase
+	 * @return The number of words in the graph that start with the prefix
+	 */
+	public int count(CharSequence prefix) {
+		int node = walk(prefix);
+		return node < 0 ? 0 : counts[node];
+	}
+
+	/**
+	 * Lists the words that start with a prefix in alphabetical order, for autocomplete
+	 *
+	 * <p>Variables defined in this method:</p>
+	 * <ol>
+	 *     <li>word - the letters of the word being completed</li>
+	 * </ol>
+	 *
+	 * @param prefix The start of a word, in lowercase
+	 * @param limit  The most words to list
+	 * @return Up to limit words that start with the prefix
+	 */
+	public List<String> complete(CharSequence prefix, int limit) {
+		List<String> words = new ArrayList<>(Math.min(limit, 16));
+		int node = walk(prefix);
+		if (node >= 0 && limit > 0) {
+			StringBuilder word = new StringBuilder(prefix);
+			complete(node, word, words, limit);
+		}
+		return words;
+	}
+
+	private void complete(int node, StringBuilder word, List<String> words, int limit) {
+		if ((terminal[node >>> 6] & (1L << node)) != 0) {
+			words.add(word.toString());
+		}
+
+		int edge = first[node];
+		for (int mask = letters[node]; mask != 0 && words.size() < limit; mask &= mask - 1) {
+			word.append((char) ('a' + Integer.numberOfTrailingZeros(mask)));
+			complete(children[edge++], word, words, limit);
+			word.setLength(word.length() - 1);
+		}
+	}
+
+	/**
+	 * @return The node reached by following the letters of the text from the root, or -1 if the
+	 * text is not the start of any word in the graph
+	 */
+	private int walk(CharSequence text) {
+		int node = ROOT;
+		for (int i = 0; i < text.length(); i++) {
+			int letter = text.charAt(i) - 'a';
+			if (letter < 0 || letter >= 26 || (letters[node] & (1 << letter)) == 0) {
+				return -1;
+			}
+			node = children[first[node] + Integer.bitCount(letters[node] & ((1 << letter) - 1))];
+		}
+		return node;
+	}
+
+	/**
+	 * @return The number of nodes in the graph
+	 */
+	public int nodes() {
+		return letters.length;
+	}
+
+	/**
+	 * @return The number of edges in the graph
+	 */
+	public int edges() {
+		return children.length;
+	}
+
+	/**
+	 * @return The number of words in the graph
+	 */
+	public int size() {
+		return counts[ROOT];
+	}
+
+	/**
+	 * A node of the graph while it is being built. Two nodes are equal when both or neither end a
+	 * word and they have the same children for the same letters. Children are compared by identity,
+	 * since only registered nodes, which are already unique, are compared
+	 */
+	private static final class State {
+		private boolean terminal;
+		private byte[] labels = new byte[2];
+		private State[] next = new State[2];
+		private int size;
+
+		private State last() {
+			return size == 0 ? null : next[size - 1];
+		}
+
+		private State add(int letter) {
+			if (size == labels.length) {
+				labels = Arrays.copyOf(labels, size * 2);
+				next = Arrays.copyOf(next, size * 2);
+			}
+			State child = new State();
+			labels[size] = (byte) letter;
+			next[size++] = child;
+			return child;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof State other) || terminal != other.terminal || size != other.size) {
+				return false;
+			}
+			for (int i = 0; i < size; i++) {
+				if (labels[i] != other.labels[i] || next[i] != other.next[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = terminal ? 1 : 0;
+			for (int i = 0; i < size; i++) {
+				hash = 31 * (31 * hash + labels[i]) + System.identityHashCode(next[i]);
+			}
+			return hash;
+		}
+	}
+
+	/**
+	 * Adds words in sorted order. Only the nodes along the last word added can still change, so
+	 * the rest of the graph below the point where a new word leaves the last one is registered
+	 *
+	 * <p>Variables defined in this class:</p>
+	 * <ol>
+	 *     <li>root - the root node</li>
+	 *     <li>register - the unique finished nodes, by their own value</li>
+	 *     <li>previous - the letters of the last word added</li>
+	 *     <li>previousLength - the number of letters in the last word added</li>
+	 * </ol>
+	 */
+	private static final class Builder {
+		private final State root = new State();
+		private final Map<State, State> register = new HashMap<>();
+		private int[] previous = new int[0];
+		private int previousLength;
+
+		private void add(int[] word) {
+			int common = 0;
+			while (common < word.length && common < previousLength && word[common] == previous[common]) {
+				common++;
+			}
+
+			State state = root;
+			for (int i = 0; i < common; i++) {
+				state = state.last();
+			}
+			if (common == word.length && common == previousLength) {
+				return;
+			}
+
+			replaceOrRegister(state);
+			for (int i = common; i < word.length; i++) {
+				state = state.add(word[i]);
+			}
+			state.terminal = true;
+
+			previous = word.clone();
+			previousLength = word.length;
+		}
+
+		private State finish() {
+			replaceOrRegister(root);
+			return root;
+		}
+
+		/**
+		 * Registers the finished nodes along the last child of a node, deepest first, replacing
+		 * each one that equals a node already registered
+		 */
+		private void replaceOrRegister(State state) {
+			State child = state.last();
+			if (child == null) {
+				return;
+			}
+
+			replaceOrRegister(child);
+			State registered = register.putIfAbsent(child, child);
+			if (registered != null) {
+				state.next[state.size - 1] = registered;
+			}
+		}
+	}
+}
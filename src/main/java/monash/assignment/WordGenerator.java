@@ -4,37 +4,76 @@ import lombok.AccessLevel;
 import lombok.Data;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
+import java.util.Arrays;
 import java.util.Set;
+import java.util.SplittableRandom;
 
 /**
  * The WordGenerator class handles the logic for generating a target word for a game of Commandle
  * A target word is defined as the word that the user is trying to guess
  *
+ * <p>Target words are drawn without replacement from a permutation of dictionary indices.
+ * A drawn index is swapped to the end of the available part of the permutation, so each draw
+ * is O(1) no matter how many games have been played in the session.</p>
+ *
  * <p>Variables defined in this class:</p>
  * <ol>
- *     <li>wordList - the list of words that can be used as the target word</li>
+ *     <li>wordList - the {@link WordIndex} of words that can be used as the target word</li>
  *     <li>sessionTargets - the list of words that have been used as a target word in the current session</li>
  *     <li>targetWord - the word that the user is trying to guess</li>
+ *     <li>random - the random number generator used to draw target words, seedable for reproducible sessions</li>
+ *     <li>pool - a permutation of dictionary indices, the first available entries have not been drawn yet</li>
+ *     <li>available - the number of entries in pool that have not been drawn yet</li>
  * </ol>
  */
 @Data
 public class WordGenerator {
 	private static final Logger log = LogManager.getLogger(WordGenerator.class);
+	private static final Metrics metrics = Metrics.global();
 
 	@NonNull
 	@Getter(AccessLevel.NONE)
-	private List<String> wordList;
+	private WordIndex wordList;
 	@NonNull
 	@Getter(AccessLevel.NONE)
 	private Set<String> sessionTargets;
 	@Getter(AccessLevel.NONE)
 	private String targetWord;
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private SplittableRandom random;
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private int[] pool;
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private int available;
+
+	public WordGenerator(@NonNull WordIndex wordList, @NonNull Set<String> sessionTargets) {
+		this(wordList, sessionTargets, new SplittableRandom());
+	}
+
+	/**
+	 * @param seed The seed for drawing target words. The same seed and dictionary give the same sequence of target words
+	 */
+	public WordGenerator(@NonNull WordIndex wordList, @NonNull Set<String> sessionTargets, long seed) {
+		this(wordList, sessionTargets, new SplittableRandom(seed));
+	}
+
+	private WordGenerator(WordIndex wordList, Set<String> sessionTargets, SplittableRandom random) {
+		this.wordList = wordList;
+		this.sessionTargets = sessionTargets;
+		this.random = random;
+	}
+
+	public void setWordList(@NonNull WordIndex wordList) {
+		this.wordList = wordList;
+		this.pool = null;
+	}
 
 	/**
 	 * @param word The word to be used as the target word
@@ -43,8 +82,9 @@ public class WordGenerator {
 	 * with {@link #generateTargetWord()}
 	 */
 	public String generateTargetWord(String word) {
-		if (sessionTargets.contains(word) || word.length() != 5 || !wordList.contains(word)) {
-			log.warn(String.format("Word [%s] has already been used in this session. Another target word will be generated", word));
+		if (sessionTargets.contains(word) || !wordList.contains(word)) {
+			log.warn("Word [{}] has already been used in this session. Another target word will be generated", word);
+			metrics.targetRegenerations.increment();
 			word = generateTargetWord();
 		} else {
 			sessionTargets.add(word);
@@ -54,17 +94,116 @@ public class WordGenerator {
 	}
 
 	/**
+	 * Draws a random word that has not been used in the session and adds it to sessionTargets.
+	 * Words added to sessionTargets outside of this generator are skipped when they are drawn,
+	 * and words removed from it are found again once the pool has run dry, see {@link #draw(boolean)}
+	 *
+	 * @return A random word from the dictionary that has not been used in the session
+	 * @throws IllegalStateException if every word in the dictionary has been used in the session
+	 */
+	public String generateTargetWord() {
+		long started = System.nanoTime();
+		boolean full = fillPool();
+
+		int index;
+		while ((index = draw(full)) >= 0) {
+			full |= available == pool.length - 1;
+			String word = wordList.get(index);
+			if (sessionTargets.add(word)) {
+				metrics.targetsGenerated.increment();
+				metrics.generateTarget.recordSince(started);
+				return word;
+			}
+			metrics.targetRegenerations.increment();
+		}
+
+		throw new IllegalStateException("Every word in the dictionary has been used as a target word in this session");
+	}
+
+	/**
+	 * Draws several distinct random words that have not been used in the session, such as the
+	 * targets of a {@link MultiBoardGame}, in one pass over the pool. The words are only added to
+	 * sessionTargets once all of them have been drawn, so a failed draw leaves the session as it was
+	 *
 	 * <p>Variables defined in this method:</p>
 	 * <ol>
-	 *     <li>availableWords - the list of words that have not been used as the target word in the current session</li>
+	 *     <li>drawn - the number of words drawn so far</li>
+	 *     <li>full - whether the pool has been full during the draw, so every word has been looked at</li>
 	 * </ol>
 	 *
-	 * @return A random word from the dictionary that has not been used in the session
+	 * @param count The number of words to draw
+	 * @return The words, in the order they were drawn
+	 * @throws IllegalStateException if fewer than count words in the dictionary have not been used in the session
 	 */
-	public String generateTargetWord() {
-		List<String> availableWords = new ArrayList<>(wordList);
-		sessionTargets.forEach(availableWords::remove);
-		return availableWords.get(new Random().nextInt(availableWords.size()));
+	public String[] generateTargetWords(int count) {
+		long started = System.nanoTime();
+		boolean full = fillPool();
+
+		String[] words = new String[count];
+		int drawn = 0;
+		int index;
+		while (drawn < count && (index = draw(full)) >= 0) {
+			full |= available == pool.length - 1;
+			String word = wordList.get(index);
+			if (sessionTargets.contains(word) || Arrays.asList(words).subList(0, drawn).contains(word)) {
+				metrics.targetRegenerations.increment();
+			} else {
+				words[drawn++] = word;
+			}
+		}
+
+		if (drawn < count) {
+			throw new IllegalStateException(String.format("Fewer than %d words in the dictionary have not been used as a target word in this session", count));
+		}
+
+		sessionTargets.addAll(Arrays.asList(words));
+		metrics.targetsGenerated.add(count);
+		metrics.generateTarget.recordSince(started);
+		return words;
+	}
+
+	/**
+	 * Takes a random index out of the available part of the pool. Once the pool has run dry it is
+	 * refilled, as words may have been removed from sessionTargets since they were drawn, unless
+	 * the pool has already been full during this draw
+	 *
+	 * <p>Variables defined in this method:</p>
+	 * <ol>
+	 *     <li>slot - the position in pool of the drawn index</li>
+	 *     <li>index - the dictionary index of the drawn word</li>
+	 * </ol>
+	 *
+	 * @param full Whether the pool has been full during this draw
+	 * @return The dictionary index, or -1 if every word has been looked at
+	 */
+	private int draw(boolean full) {
+		if (available == 0) {
+			if (full || pool.length == 0) {
+				return -1;
+			}
+			available = pool.length;
+		}
+
+		int slot = random.nextInt(available);
+		int index = pool[slot];
+		pool[slot] = pool[--available];
+		pool[available] = index;
+		return index;
 	}
 
+	/**
+	 * Creates the pool on the first draw, and makes every word available again once sessionTargets has been cleared
+	 *
+	 * @return true if every word in the pool is available
+	 */
+	private boolean fillPool() {
+		if (pool == null) {
+			pool = new int[wordList.size()];
+			Arrays.setAll(pool, i -> i);
+			available = pool.length;
+		} else if (sessionTargets.isEmpty()) {
+			available = pool.length;
+		}
+		return available == pool.length;
+	}
 }
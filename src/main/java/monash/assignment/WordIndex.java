@@ -0,0 +1,382 @@
+package monash.assignment;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * The WordIndex class holds the game dictionary for one word length as packed primitive words
+ * Each letter of a word is stored in 5 bits (a = 1 ... z = 26) of a long with the first letter
+ * in the most significant position, so packed words of the same length sort in the same order as
+ * the strings. The first letter is never 0, so the length of a packed word is known from its highest bit
+ *
+ * <p>Membership checks go through an open-addressed hash table of packed words, so
+ * {@link #contains(Object)} and {@link #indexOf(Object)} are O(1) and do not allocate.
+ * A WordIndex is immutable once built and can be shared between sessions and threads.</p>
+ *
+ * <p>Variables defined in this class:</p>
+ * <ol>
+ *     <li>length - the number of letters in every word of the index</li>
+ *     <li>words - the packed words in dictionary order</li>
+ *     <li>table - the open-addressed hash table of packed words, 0 marks an empty slot</li>
+ *     <li>slots - the dictionary index of the packed word stored in the same slot of table</li>
+ *     <li>shift - the shift used to turn a hashed word into a table slot</li>
+ *     <li>fingerprint - a 64-bit FNV-1a hash of the packed words, used to tie caches to this dictionary</li>
+ *     <li>constraints - the {@link ConstraintIndex} over the words, built the first time it is needed</li>
+ *     <li>dawg - the {@link WordDawg} of the words, built the first time it is needed</li>
+ *     <li>scorer - the {@link BulkScorer} of the words, built the first time it is needed</li>
+ * </ol>
+ */
+public final class WordIndex extends AbstractList<String> implements RandomAccess {
+
+	public static final int WORD_LENGTH = 5;
+	public static final int MIN_LENGTH = 4;
+	public static final int MAX_LENGTH = 8;
+	public static final int BITS_PER_LETTER = 5;
+	public static final long INVALID = -1;
+
+	public static final WordIndex EMPTY = new WordIndex(new long[0], WORD_LENGTH);
+
+	private final int length;
+	private final long[] words;
+	private final long[] table;
+	private final int[] slots;
+	private final int shift;
+	private final long fingerprint;
+	private volatile ConstraintIndex constraints;
+	private volatile WordDawg dawg;
+	private volatile BulkScorer scorer;
+
+	/**
+	 * Builds the index from a list of words. Words that are not {@value #WORD_LENGTH} lowercase
+	 * letters long are skipped, as are duplicates
+	 *
+	 * @param words The words to index
+	 */
+	public WordIndex(Iterable<String> words) {
+		this(words, WORD_LENGTH);
+	}
+
+	/**
+	 * Builds the index from a list of words. Words that are not length lowercase letters long
+	 * are skipped, as are duplicates
+	 *
+	 * @param words  The words to index
+	 * @param length The number of letters in every word of the index, from {@value #MIN_LENGTH} to {@value #MAX_LENGTH}
+	 */
+	public WordIndex(Iterable<String> words, int length) {
+		this(packAll(words, checkLength(length)), length);
+	}
+
+	private WordIndex(long[] packed, int length) {
+		int capacity = Integer.highestOneBit(Math.max(packed.length, 1) * 4 - 1);
+		long[] keys = new long[capacity];
+		int[] values = new int[capacity];
+		int s = 64 - Integer.numberOfTrailingZeros(capacity);
+		int size = 0;
+
+		for (long word : packed) {
+			int slot = hash(word, s);
+			while (keys[slot] != 0 && keys[slot] != word) {
+				slot = (slot + 1) & (capacity - 1);
+			}
+			if (keys[slot] == 0) {
+				keys[slot] = word;
+				values[slot] = size;
+				packed[size++] = word;
+			}
+		}
+
+		this.length = length;
+		this.words = size == packed.length ? packed : Arrays.copyOf(packed, size);
+		this.table = keys;
+		this.slots = values;
+		this.shift = s;
+		this.fingerprint = fingerprint(this.words, length);
+	}
+
+	/**
+	 * Builds the index from words that are already packed, e.g. read from a compiled dictionary
+	 *
+	 * @param packed The packed words, this array is not modified
+	 * @param length The number of letters in every word
+	 * @return The index of the words
+	 * @throws IllegalArgumentException if any value is not a packed word of the length
+	 */
+	public static WordIndex ofPacked(long[] packed, int length) {
+		checkLength(length);
+		for (long word : packed) {
+			if (!isPacked(word) || length(word) != length) {
+				throw new IllegalArgumentException(String.format("Value [%d] is not a packed %d letter word", word, length));
+			}
+		}
+
+		return new WordIndex(packed.clone(), length);
+	}
+
+	/**
+	 * @param packed A value that may be a packed word
+	 * @return true if the value has {@value #MIN_LENGTH} to {@value #MAX_LENGTH} letters and every letter is between a and z
+	 */
+	public static boolean isPacked(long packed) {
+		if (packed <= 0) {
+			return false;
+		}
+
+		int length = length(packed);
+		if (length < MIN_LENGTH || length > MAX_LENGTH) {
+			return false;
+		}
+
+		for (int i = 0; i < length; i++) {
+			int letter = letter(packed, length, i);
+			if (letter < 0 || letter > 25) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * @param word The word to pack
+	 * @return The packed form of the word, or {@link #INVALID} if the word is not
+	 * {@value #MIN_LENGTH} to {@value #MAX_LENGTH} lowercase letters long
+	 */
+	public static long pack(CharSequence word) {
+		if (word == null || word.length() < MIN_LENGTH || word.length() > MAX_LENGTH) {
+			return INVALID;
+		}
+
+		long packed = 0;
+		for (int i = 0; i < word.length(); i++) {
+			char c = word.charAt(i);
+			if (c < 'a' || c > 'z') {
+				return INVALID;
+			}
+			packed = (packed << BITS_PER_LETTER) | (c - 'a' + 1);
+		}
+
+		return packed;
+	}
+
+	/**
+	 * @param packed A word created by {@link #pack(CharSequence)}
+	 * @return The word as a String
+	 */
+	public static String unpack(long packed) {
+		int length = length(packed);
+		char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = (char) ('a' + letter(packed, length, i));
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * @param packed A word created by {@link #pack(CharSequence)}
+	 * @return The number of letters in the word
+	 */
+	public static int length(long packed) {
+		return (Long.SIZE - Long.numberOfLeadingZeros(packed) + BITS_PER_LETTER - 1) / BITS_PER_LETTER;
+	}
+
+	/**
+	 * @param packed   A word created by {@link #pack(CharSequence)}
+	 * @param position The position of the letter, starting from 0
+	 * @return The letter at the position, from 0 (a) to 25 (z)
+	 */
+	public static int letter(long packed, int position) {
+		return letter(packed, length(packed), position);
+	}
+
+	/**
+	 * Reads a letter of a word whose length is already known, which saves working it out in loops over every letter
+	 *
+	 * @param packed   A word created by {@link #pack(CharSequence)}
+	 * @param length   The number of letters in the word
+	 * @param position The position of the letter, starting from 0
+	 * @return The letter at the position, from 0 (a) to 25 (z)
+	 */
+	public static int letter(long packed, int length, int position) {
+		return (int) ((packed >>> (BITS_PER_LETTER * (length - 1 - position))) & 31) - 1;
+	}
+
+	/**
+	 * @return The number of letters in every word of the index
+	 */
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public String get(int index) {
+		return unpack(words[index]);
+	}
+
+	@Override
+	public int size() {
+		return words.length;
+	}
+
+	/**
+	 * @param index The dictionary index of the word
+	 * @return The packed word at the index
+	 */
+	public long packedAt(int index) {
+		return words[index];
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return indexOf(o) >= 0;
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		return o instanceof CharSequence word ? indexOfPacked(pack(word)) : -1;
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		return indexOf(o);
+	}
+
+	public boolean containsPacked(long packed) {
+		return indexOfPacked(packed) >= 0;
+	}
+
+	/**
+	 * @param packed A word created by {@link #pack(CharSequence)}
+	 * @return The dictionary index of the word, or -1 if it is not in the dictionary
+	 */
+	public int indexOfPacked(long packed) {
+		if (packed <= 0) {
+			return -1;
+		}
+
+		int mask = table.length - 1;
+		int slot = hash(packed, shift);
+		long key;
+		while ((key = table[slot]) != 0) {
+			if (key == packed) {
+				return slots[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * @return A hash of the word length and the words in the index and their order. Two indexes
+	 * built from the same word list have the same fingerprint
+	 */
+	public long fingerprint() {
+		return fingerprint;
+	}
+
+	/**
+	 * @return The {@link ConstraintIndex} over the words in this index
+	 */
+	public ConstraintIndex constraints() {
+		ConstraintIndex index = constraints;
+		if (index == null) {
+			synchronized (this) {
+				index = constraints;
+				if (index == null) {
+					constraints = index = new ConstraintIndex(this);
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * @return The {@link WordDawg} of the words in this index, for prefix lookups
+	 */
+	public WordDawg dawg() {
+		WordDawg graph = dawg;
+		if (graph == null) {
+			synchronized (this) {
+				graph = dawg;
+				if (graph == null) {
+					dawg = graph = new WordDawg(this);
+				}
+			}
+		}
+		return graph;
+	}
+
+	/**
+	 * @return The {@link BulkScorer} of the words in this index. Its scratch arrays are shared, so
+	 * callers score with their own {@link BulkScorer#BulkScorer(BulkScorer) copy} of it
+	 */
+	public BulkScorer scorer() {
+		BulkScorer bulk = scorer;
+		if (bulk == null) {
+			synchronized (this) {
+				bulk = scorer;
+				if (bulk == null) {
+					scorer = bulk = new BulkScorer(words, words.length);
+				}
+			}
+		}
+		return bulk;
+	}
+
+	/**
+	 * Exposes the packed words without copying. Callers must not modify the array
+	 */
+	long[] words() {
+		return words;
+	}
+
+	/**
+	 * @param length A word length
+	 * @return The length
+	 * @throws IllegalArgumentException if the length is not between {@value #MIN_LENGTH} and {@value #MAX_LENGTH}
+	 */
+	static int checkLength(int length) {
+		if (length < MIN_LENGTH || length > MAX_LENGTH) {
+			throw new IllegalArgumentException(String.format("Word length %d is not between %d and %d", length, MIN_LENGTH, MAX_LENGTH));
+		}
+		return length;
+	}
+
+	private static int hash(long packed, int shift) {
+		return (int) ((packed * 0x9E3779B97F4A7C15L) >>> shift);
+	}
+
+	private static long fingerprint(long[] words, int length) {
+		long hash = (0xcbf29ce484222325L ^ length) * 0x100000001b3L;
+		for (long word : words) {
+			for (int i = 0; i < Long.BYTES; i++) {
+				hash ^= (word >>> (i * 8)) & 0xFF;
+				hash *= 0x100000001b3L;
+			}
+		}
+		return hash;
+	}
+
+	private static long[] packAll(Iterable<String> words, int length) {
+		long[] packed = new long[16];
+		int size = 0;
+
+		for (String word : words) {
+			if (word == null || word.length() != length) {
+				continue;
+			}
+			long p = pack(word);
+			if (p == INVALID) {
+				continue;
+			}
+			if (size == packed.length) {
+				packed = Arrays.copyOf(packed, size * 2);
+			}
+			packed[size++] = p;
+		}
+
+		return Arrays.copyOf(packed, size);
+	}
+}
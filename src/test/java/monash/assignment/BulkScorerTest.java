@@ -0,0 +1,139 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkScorerTest {
+	private WordIndex dictionary;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		dictionary = new WordIndex(Files.readAllLines(Path.of("src/test/resources/dictionary.txt")));
+	}
+
+	@Test
+	public void testScore_matchesScalarForEveryGuess() {
+		// given
+		BulkScorer scorer = new BulkScorer(dictionary.words(), dictionary.size());
+		int[] codes = new int[dictionary.size()];
+		int[] expected = new int[dictionary.size()];
+
+		for (int guess = 0; guess < dictionary.size(); guess++) {
+			// when
+			scorer.score(dictionary.packedAt(guess), codes);
+			scorer.scoreScalar(dictionary.packedAt(guess), expected);
+
+			// then
+			assertArrayEquals(expected, codes, dictionary.get(guess));
+		}
+	}
+
+	@Test
+	public void testScore_whenSubsetOfCandidates() {
+		// given
+		BulkScorer scorer = new BulkScorer(dictionary.scorer());
+		int[] everyThird = new int[dictionary.size()];
+		int count = 0;
+		for (int i = 0; i < dictionary.size(); i += 3) {
+			everyThird[count++] = i;
+		}
+		int[] few = {dictionary.size() - 1, 7, 0};
+		int[] codes = new int[dictionary.size()];
+
+		for (int guess = 0; guess < dictionary.size(); guess += 97) {
+			long packedGuess = dictionary.packedAt(guess);
+			for (int[] indices : new int[][]{everyThird, few}) {
+				int n = indices == few ? few.length : count;
+
+				// when
+				scorer.score(packedGuess, indices, n, codes);
+
+				// then
+				for (int k = 0; k < n; k++) {
+					assertEquals(Feedback.score(packedGuess, dictionary.packedAt(indices[k])), codes[k], dictionary.get(guess) + " " + dictionary.get(indices[k]));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testScore_whenRepeatedLetters() {
+		// given
+		List<String> words = List.of("apple", "pelpa", "eerie", "there", "sissy", "assay", "llama", "hello", "geese", "speed");
+		long[] packed = words.stream().mapToLong(WordIndex::pack).toArray();
+		BulkScorer scorer = new BulkScorer(packed, packed.length);
+		int[] codes = new int[packed.length];
+
+		for (long guess : packed) {
+			// when
+			scorer.score(guess, codes);
+
+			// then
+			for (int i = 0; i < packed.length; i++) {
+				assertEquals(Feedback.score(guess, packed[i]), codes[i], WordIndex.unpack(guess) + " " + words.get(i));
+			}
+		}
+	}
+
+	@Test
+	public void testScore_whenSixLetterWords() {
+		// given
+		List<String> words = List.of("banana", "bandit", "cannon", "nation", "annals", "sanity", "assess", "tattoo");
+		long[] packed = words.stream().mapToLong(WordIndex::pack).toArray();
+		BulkScorer scorer = new BulkScorer(packed, packed.length);
+		int[] codes = new int[packed.length];
+		int[] expected = new int[packed.length];
+
+		for (long guess : packed) {
+			// when
+			scorer.score(guess, codes);
+			scorer.scoreScalar(guess, expected);
+
+			// then
+			assertArrayEquals(expected, codes, WordIndex.unpack(guess));
+		}
+	}
+
+	@Test
+	public void testHistogram_countsEveryCandidate() {
+		// given
+		BulkScorer scorer = new BulkScorer(dictionary.words(), dictionary.size());
+		long guess = WordIndex.pack("tares");
+		int[] histogram = new int[Feedback.PATTERNS];
+		int[] expected = new int[Feedback.PATTERNS];
+		for (int i = 0; i < dictionary.size(); i++) {
+			expected[Feedback.score(guess, dictionary.packedAt(i))]++;
+		}
+
+		// when
+		scorer.histogram(guess, new int[scorer.count()], histogram);
+
+		// then
+		assertArrayEquals(expected, histogram);
+	}
+
+	@Test
+	public void testCopy_scoresTheSameCandidates() {
+		// given
+		long[] packed = {WordIndex.pack("apple"), WordIndex.pack("pears"), WordIndex.pack("geese")};
+		BulkScorer scorer = new BulkScorer(packed, 2);
+		BulkScorer copy = new BulkScorer(scorer);
+		int[] codes = new int[2];
+		int[] copied = new int[2];
+
+		// when
+		scorer.score(WordIndex.pack("eerie"), codes);
+		copy.score(WordIndex.pack("eerie"), copied);
+
+		// then
+		assertEquals(2, copy.count());
+		assertArrayEquals(codes, copied);
+	}
+}
@@ -0,0 +1,95 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CandidateSetTest {
+	private WordIndex dictionary;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		dictionary = new WordIndex(Files.readAllLines(Path.of("src/test/resources/dictionary.txt")));
+	}
+
+	@Test
+	public void testAll_containsEveryWord() {
+		// given
+		CandidateSet set = CandidateSet.all(dictionary);
+
+		// then
+		assertEquals(dictionary.size(), set.count());
+		assertTrue(set.contains(dictionary.size() - 1));
+	}
+
+	@Test
+	public void testApply_matchesFeedbackScoring() {
+		// given
+		List<String> pairs = List.of("apple", "pelpa", "eerie", "there", "sissy", "assay", "llama", "hello", "geese", "eerie");
+
+		for (int p = 0; p < pairs.size(); p += 2) {
+			long guess = WordIndex.pack(pairs.get(p));
+			int code = Feedback.score(guess, WordIndex.pack(pairs.get(p + 1)));
+			CandidateSet set = CandidateSet.all(dictionary);
+
+			// when
+			set.apply(guess, code);
+
+			// then
+			for (int i = 0; i < dictionary.size(); i++) {
+				assertEquals(Feedback.score(guess, dictionary.packedAt(i)) == code, set.contains(i), pairs.get(p) + " " + dictionary.get(i));
+			}
+		}
+	}
+
+	@Test
+	public void testApply_acrossDictionary() {
+		// given
+		for (int g = 0; g < dictionary.size(); g += 53) {
+			long guess = dictionary.packedAt(g);
+			int code = Feedback.score(guess, dictionary.packedAt((g * 31) % dictionary.size()));
+			CandidateSet set = CandidateSet.all(dictionary);
+
+			// when
+			set.apply(guess, code);
+
+			// then
+			int expected = 0;
+			for (int i = 0; i < dictionary.size(); i++) {
+				if (Feedback.score(guess, dictionary.packedAt(i)) == code) {
+					assertTrue(set.contains(i));
+					expected++;
+				}
+			}
+			assertEquals(expected, set.count());
+		}
+	}
+
+	@Test
+	public void testIterator_matchesToArray() {
+		// given
+		CandidateSet set = CandidateSet.all(dictionary);
+		set.apply(WordIndex.pack("grape"), Feedback.score(WordIndex.pack("grape"), WordIndex.pack("apple")));
+		int[] indices = new int[dictionary.size()];
+		List<Integer> iterated = new ArrayList<>();
+
+		// when
+		int count = set.toArray(indices);
+		PrimitiveIterator.OfInt iterator = set.iterator();
+		iterator.forEachRemaining((int i) -> iterated.add(i));
+
+		// then
+		assertEquals(count, iterated.size());
+		for (int i = 0; i < count; i++) {
+			assertEquals(indices[i], iterated.get(i));
+		}
+	}
+}
@@ -3,12 +3,18 @@ package monash.assignment;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -117,7 +123,7 @@ class CommandleTest {
 		// given
 		String[] args = {targetWord};
 
-		commandle.setDictionary(new ArrayList<>());
+		commandle.setDictionary(WordIndex.EMPTY);
 
 		// when
 		commandle.run(args);
@@ -178,7 +184,7 @@ class CommandleTest {
 	@Test
 	public void testPlayAgain_whenYes() throws Exception {
 		// given
-		commandle.setDictionary(List.of("apple"));
+		commandle.setDictionary(new WordIndex(List.of("apple")));
 
 		// when
 		when(wordGenerator.generateTargetWord()).thenReturn("apple");
@@ -198,7 +204,7 @@ class CommandleTest {
 		List<String> dictionary = List.of("apple", "woman", "ultra");
 		int size = dictionary.size();
 
-		commandle.setDictionary(dictionary);
+		commandle.setDictionary(new WordIndex(dictionary));
 
 		// when
 		when(wordGenerator.generateTargetWord()).thenReturn("apple", "woman", "ultra");
@@ -211,4 +217,164 @@ class CommandleTest {
 		// then
 		assertEquals(size, sessionTargets.stream().distinct().count());
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testRun_longScriptedSessionDoesNotRecurse() {
+		// given
+		int games = 50_000;
+		String script = "apple\ny\n".repeat(games - 1) + "apple\nn\n";
+		StringWriter output = new StringWriter();
+
+		commandle = new Commandle();
+		commandle.setDictionary(new WordIndex(List.of("apple")));
+		commandle.setIo(new StreamIO(new BufferedReader(new StringReader(script)), output, false));
+
+		// when
+		commandle.run(new String[0]);
+
+		// then
+		String[] lines = output.toString().split("Congratulations!", -1);
+		assertEquals(games + 1, lines.length);
+		assertTrue(output.toString().endsWith("Thank you for playing Commandle!" + System.lineSeparator()));
+	}
+
+	@Test
+	public void testRun_recordsGamesInStatsJournal(@TempDir Path dir) throws IOException {
+		// given
+		String script = "apple\ny\ngrape\napple\nn\n";
+		commandle = new Commandle();
+		commandle.setDictionary(new WordIndex(List.of("apple", "grape")));
+		commandle.setWordGenerator(wordGenerator);
+		commandle.setIo(new StreamIO(new BufferedReader(new StringReader(script)), new StringWriter(), false));
+
+		// when
+		when(wordGenerator.generateTargetWord()).thenReturn("apple");
+		try (StatsJournal journal = StatsJournal.open(dir)) {
+			commandle.setStats(journal);
+			commandle.run(new String[0]);
+		}
+
+		// then
+		try (StatsJournal journal = StatsJournal.open(dir)) {
+			assertEquals(2, journal.stats().played());
+			assertEquals(1, journal.stats().wonIn(1));
+			assertEquals(1, journal.stats().wonIn(2));
+		}
+	}
+
+	@Test
+	public void testRun_whenScriptEndsMidGame(@TempDir Path dir) throws IOException {
+		// given
+		String script = "grape\n";
+		StringWriter output = new StringWriter();
+		commandle = new Commandle();
+		commandle.setDictionary(new WordIndex(List.of("apple", "grape")));
+		commandle.setWordGenerator(wordGenerator);
+		commandle.setIo(new StreamIO(new BufferedReader(new StringReader(script)), output, false));
+
+		// when
+		when(wordGenerator.generateTargetWord()).thenReturn("apple");
+		try (StatsJournal journal = StatsJournal.open(dir)) {
+			commandle.setStats(journal);
+			commandle.run(new String[0]);
+		}
+
+		// then
+		try (StatsJournal journal = StatsJournal.open(dir)) {
+			assertEquals(0, journal.stats().played());
+		}
+		assertFalse(output.toString().contains("run out of tries"));
+	}
+
+	@Test
+	public void testRun_playsEveryBoard() {
+		// given
+		StringWriter output = new StringWriter();
+		commandle = new Commandle();
+		commandle.setDictionary(new WordIndex(List.of("apple", "grape")));
+		commandle.setBoards(2);
+		commandle.setTries(1);
+		commandle.setAnalysis(true);
+		commandle.setIo(new StreamIO(new BufferedReader(new StringReader("apple\nn\n")), output, false));
+
+		// when
+		commandle.run(new String[0]);
+
+		// then
+		assertEquals(2, commandle.getTargetWords().size());
+		assertTrue(output.toString().contains("You have 1 tries to guess 2 target words."));
+		assertTrue(output.toString().contains("You have run out of tries. The target words were "));
+		assertTrue(output.toString().contains("Analysis is only available for games of one board"));
+		assertThrows(IllegalArgumentException.class, () -> commandle.setBoards(33));
+	}
+
+	@Test
+	public void testSetHardMode_whenSeveralBoards() {
+		// given
+		Commandle boards = new Commandle();
+		boards.setBoards(2);
+		Commandle hard = new Commandle();
+		hard.setHardMode(true);
+
+		// then
+		assertThrows(IllegalArgumentException.class, () -> boards.setHardMode(true));
+		assertThrows(IllegalArgumentException.class, () -> hard.setBoards(2));
+		assertFalse(boards.isHardMode());
+		assertEquals(1, hard.getBoards());
+	}
+
+	@Test
+	public void testRun_newGamesUseReloadedDictionary(@TempDir Path dir) throws IOException {
+		// given
+		Path file = dir.resolve("dictionary.txt");
+		Files.write(file, List.of("apple", "grape"));
+		StringWriter output = new StringWriter();
+		commandle = new Commandle();
+		commandle.loadDictionary(file.toString());
+		BufferedReader input = new BufferedReader(new StringReader("apple\ny\nlemon\nmelon\nn\n")) {
+			private boolean reloaded;
+
+			@Override
+			public String readLine() throws IOException {
+				if (!reloaded) {
+					reloaded = true;
+					Files.write(file, List.of("lemon", "melon"));
+					commandle.getWatcher().reload();
+				}
+				return super.readLine();
+			}
+		};
+		commandle.setIo(new StreamIO(input, output, false));
+
+		// when
+		try (DictionaryWatcher watcher = commandle.watchDictionary(file)) {
+			commandle.run(new String[]{"apple"});
+			assertTrue(watcher.reloads() >= 1);
+		}
+
+		// then
+		assertTrue(output.toString().startsWith("You have 6 tries to guess the target word."));
+		assertTrue(output.toString().contains("1: apple  1: apple"));
+		assertTrue(commandle.getDictionary().contains("melon"));
+		assertFalse(commandle.getDictionary().contains("apple"));
+		assertTrue(List.of("lemon", "melon").contains(commandle.getTargetWord()));
+		assertSame(commandle.getWatcher().solver(commandle.getDictionary()), commandle.solver());
+	}
+
+	@Test
+	public void testRun_analysesFinishedGame() {
+		// given
+		StringWriter output = new StringWriter();
+		commandle = new Commandle();
+		commandle.setDictionary(new WordIndex(List.of("apple", "grape", "pears")));
+		commandle.setAnalysis(true);
+		commandle.setIo(new StreamIO(new BufferedReader(new StringReader("grape\npears\napple\nn\n")), output, false));
+
+		// when
+		commandle.run(new String[]{"apple"});
+
+		// then
+		assertTrue(output.toString().contains("1: grape  3 words, expected to leave 0.7 (suggested [grape] 0.7), left 1"));
+		assertTrue(output.toString().contains("Skill: "));
+	}
+}
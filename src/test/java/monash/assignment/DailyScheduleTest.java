@@ -0,0 +1,129 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DailyScheduleTest {
+	private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+	private WordIndex dictionary;
+
+	@TempDir
+	Path cacheDir;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		dictionary = new WordIndex(Files.readAllLines(Path.of("src/test/resources/dictionary.txt")));
+	}
+
+	@Test
+	public void testBuild_pinnedWordsComeFirst() {
+		// given
+		List<String> pinned = List.of("apple", "notaword", "angel", "apple");
+
+		// when
+		DailySchedule schedule = DailySchedule.build(dictionary, pinned, START, 1);
+
+		// then
+		assertEquals("apple", schedule.target(START));
+		assertEquals("angel", schedule.target(START.plusDays(1)));
+		assertNotEquals("apple", schedule.target(START.plusDays(2)));
+	}
+
+	@Test
+	public void testBuild_playsEveryWordOncePerCycle() {
+		// given
+		DailySchedule schedule = DailySchedule.build(dictionary, List.of(), START, 1);
+		Set<String> played = new HashSet<>();
+
+		// when
+		for (int day = 0; day < schedule.size(); day++) {
+			played.add(schedule.target(START.plusDays(day)));
+		}
+
+		// then
+		assertEquals(dictionary.size(), schedule.size());
+		assertEquals(new HashSet<>(dictionary), played);
+		assertEquals(schedule.target(START), schedule.target(START.plusDays(schedule.size())));
+		assertEquals(schedule.target(START.minusDays(1)), schedule.target(START.plusDays(schedule.size() - 1)));
+	}
+
+	@Test
+	public void testBuild_isDeterministic() {
+		// given
+		DailySchedule first = DailySchedule.build(dictionary, List.of("apple"), START, 42);
+		DailySchedule second = DailySchedule.build(dictionary, List.of("apple"), START, 42);
+		DailySchedule other = DailySchedule.build(dictionary, List.of("apple"), START, 43);
+
+		// then
+		boolean differs = false;
+		for (int day = 0; day < 100; day++) {
+			LocalDate date = START.plusDays(day);
+			assertEquals(first.target(date), second.target(date));
+			differs |= !first.target(date).equals(other.target(date));
+		}
+		assertTrue(differs);
+	}
+
+	@Test
+	public void testLoad_writesAndReopens() throws IOException {
+		// given
+		Path file = cacheDir.resolve("schedule.bin");
+		DailySchedule built = DailySchedule.load(file, dictionary, List.of("apple"), START, 7);
+
+		// when
+		DailySchedule opened = DailySchedule.open(file);
+
+		// then
+		assertEquals(START, opened.start());
+		assertEquals(built.size(), opened.size());
+		for (int day = 0; day < built.size(); day += 97) {
+			assertEquals(built.target(START.plusDays(day)), opened.target(START.plusDays(day)));
+		}
+	}
+
+	@Test
+	public void testLoad_rebuildsWhenInputsChange() throws IOException {
+		// given
+		Path file = cacheDir.resolve("schedule.bin");
+		DailySchedule.load(file, dictionary, List.of("apple"), START, 7);
+
+		// when
+		DailySchedule rebuilt = DailySchedule.load(file, dictionary, List.of("angel"), START, 7);
+
+		// then
+		assertEquals("angel", rebuilt.target(START));
+		assertEquals("angel", DailySchedule.open(file).target(START));
+	}
+
+	@Test
+	public void testOpen_whenCorrupt() throws IOException {
+		// given
+		Path file = cacheDir.resolve("schedule.bin");
+		DailySchedule.build(dictionary, List.of(), START, 7).write(file);
+		byte[] bytes = Files.readAllBytes(file);
+		bytes[bytes.length - 1] ^= 1;
+		Files.write(file, bytes);
+
+		// then
+		assertThrows(IOException.class, () -> DailySchedule.open(file));
+		assertEquals(dictionary.size(), DailySchedule.load(file, dictionary, List.of(), START, 7).size());
+	}
+
+	@Test
+	public void testLoadPinnedResource() throws IOException {
+		// then
+		assertEquals(List.of("acari"), DailySchedule.loadPinnedResource());
+	}
+}
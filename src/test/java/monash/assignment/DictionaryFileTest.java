@@ -0,0 +1,98 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DictionaryFileTest {
+	@TempDir
+	private Path dir;
+
+	@Test
+	public void testWrite_roundTrip() throws IOException {
+		// given
+		WordIndex dictionary = DictionaryFile.readText(Path.of("src/test/resources/dictionary.txt")).forLength(5);
+		Path file = dir.resolve("dictionary.bin");
+
+		// when
+		DictionaryFile.write(new PartitionedDictionary(dictionary), file);
+		WordIndex loaded = DictionaryFile.load(file).forLength(5);
+
+		// then
+		assertEquals(dictionary, loaded);
+		assertEquals(dictionary.fingerprint(), loaded.fingerprint());
+		assertEquals(16 + dictionary.size() * 8, Files.size(file));
+	}
+
+	@Test
+	public void testLoad_whenTextFile() throws IOException {
+		// given
+		Path file = dir.resolve("dictionary.txt");
+		Files.write(file, List.of(" Apple", "GRAPE ", "", "pears"));
+
+		// when
+		WordIndex loaded = DictionaryFile.load(file).forLength(5);
+
+		// then
+		assertEquals(List.of("apple", "grape", "pears"), loaded);
+	}
+
+	@Test
+	public void testRead_whenChecksumDoesNotMatch() throws IOException {
+		// given
+		Path file = dir.resolve("dictionary.bin");
+		DictionaryFile.write(new PartitionedDictionary(List.of("apple", "grape")), file);
+		byte[] bytes = Files.readAllBytes(file);
+		bytes[bytes.length - 1] ^= 1;
+
+		// then
+		assertThrows(IOException.class, () -> DictionaryFile.read(ByteBuffer.wrap(bytes)));
+	}
+
+	@Test
+	public void testRead_whenTruncated() throws IOException {
+		// given
+		Path file = dir.resolve("dictionary.bin");
+		DictionaryFile.write(new PartitionedDictionary(List.of("apple", "grape")), file);
+		byte[] bytes = Files.readAllBytes(file);
+
+		// then
+		assertThrows(IOException.class, () -> DictionaryFile.read(ByteBuffer.wrap(bytes, 0, bytes.length - 4)));
+	}
+
+	@Test
+	public void testLoadResource_usesCompiledDictionary() throws IOException {
+		// when
+		WordIndex loaded = DictionaryFile.loadResource().forLength(5);
+
+		// then
+		assertEquals(12947, loaded.size());
+		assertTrue(loaded.contains("zymic"));
+	}
+
+	@Test
+	public void testWrite_roundTripOfEveryLength() throws IOException {
+		// given
+		PartitionedDictionary dictionary = new PartitionedDictionary(List.of("tree", "apple", "orange", "bananas", "mandarin", "kiwifruits", "fig"));
+		Path file = dir.resolve("dictionary.bin");
+
+		// when
+		DictionaryFile.write(dictionary, file);
+		PartitionedDictionary loaded = DictionaryFile.load(file);
+
+		// then
+		assertEquals(5, loaded.size());
+		assertEquals(List.of("tree"), loaded.forLength(4));
+		assertEquals(List.of("apple"), loaded.forLength(5));
+		assertEquals(List.of("orange"), loaded.forLength(6));
+		assertEquals(List.of("bananas"), loaded.forLength(7));
+		assertEquals(List.of("mandarin"), loaded.forLength(8));
+	}
+}
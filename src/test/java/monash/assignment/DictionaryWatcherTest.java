@@ -0,0 +1,110 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DictionaryWatcherTest {
+	@TempDir
+	private Path dir;
+
+	private Path file;
+
+	private PartitionedDictionary initial;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		file = dir.resolve("dictionary.txt");
+		Files.write(file, List.of("apple", "grape"));
+		initial = DictionaryFile.load(file);
+	}
+
+	@Test
+	public void testReload_publishesNewSnapshot() throws IOException {
+		// given
+		try (DictionaryWatcher watcher = DictionaryWatcher.start(file, initial, null, snapshot -> null)) {
+			Files.write(file, List.of("apple", "grape", "melon"));
+
+			// when
+			boolean reloaded = watcher.reload();
+
+			// then
+			assertTrue(reloaded);
+			assertTrue(watcher.current().forLength(5).contains("melon"));
+			assertFalse(initial.forLength(5).contains("melon"));
+			assertTrue(watcher.reloads() >= 1);
+		}
+	}
+
+	@Test
+	public void testReload_publishesPreparedSolver() throws IOException {
+		// given
+		try (DictionaryWatcher watcher = DictionaryWatcher.start(file, initial, null,
+				snapshot -> new Solver(FeedbackTable.direct(snapshot.forLength(5))))) {
+			Files.write(file, List.of("apple", "grape", "melon"));
+
+			// when
+			watcher.reload();
+			WordIndex latest = watcher.current().forLength(5);
+
+			// then
+			assertSame(latest, watcher.solver(latest).getTable().dictionary());
+			assertNull(watcher.solver(initial.forLength(5)));
+		}
+	}
+
+	@Test
+	public void testReload_whenPrepareFails() throws IOException {
+		// given
+		try (DictionaryWatcher watcher = DictionaryWatcher.start(file, initial, null, snapshot -> {
+			throw new IllegalStateException("cache directory is full");
+		})) {
+			Files.write(file, List.of("melon"));
+
+			// when
+			boolean reloaded = watcher.reload();
+
+			// then
+			assertFalse(reloaded);
+			assertSame(initial, watcher.current());
+		}
+	}
+
+	@Test
+	public void testReload_whenFileIsMissing() throws IOException {
+		// given
+		try (DictionaryWatcher watcher = DictionaryWatcher.start(file, initial, null, snapshot -> null)) {
+			Files.delete(file);
+
+			// when
+			boolean reloaded = watcher.reload();
+
+			// then
+			assertFalse(reloaded);
+			assertSame(initial, watcher.current());
+		}
+	}
+
+	@Test
+	public void testWatch_reloadsWhenFileChanges() throws Exception {
+		// given
+		try (DictionaryWatcher watcher = DictionaryWatcher.start(file, initial, null, snapshot -> null)) {
+			// when
+			Files.write(file, List.of("melon", "lemon"));
+			long deadline = System.nanoTime() + 20_000_000_000L;
+			while (!watcher.current().forLength(5).contains("lemon") && System.nanoTime() < deadline) {
+				Thread.sleep(50);
+			}
+
+			// then
+			assertEquals(List.of("melon", "lemon"), watcher.current().forLength(5));
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedbackMatrixTest {
+	@TempDir
+	private Path cacheDir;
+
+	private WordIndex dictionary;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		dictionary = new WordIndex(Files.readAllLines(Path.of("src/test/resources/dictionary.txt")).subList(0, 300));
+	}
+
+	@Test
+	public void testOpen_matchesDirectScoring() throws IOException {
+		// given
+		FeedbackMatrix matrix = FeedbackMatrix.open(dictionary, cacheDir);
+		FeedbackTable direct = FeedbackTable.direct(dictionary);
+
+		// then
+		for (int guess = 0; guess < dictionary.size(); guess++) {
+			for (int target = 0; target < dictionary.size(); target++) {
+				assertEquals(direct.feedback(guess, target), matrix.feedback(guess, target));
+			}
+		}
+	}
+
+	@Test
+	public void testOpen_reusesCacheFile() throws IOException {
+		// given
+		FeedbackMatrix.open(dictionary, cacheDir);
+		Path file = FeedbackMatrix.cacheFile(dictionary, cacheDir);
+		FileTime built = FileTime.fromMillis(0);
+		Files.setLastModifiedTime(file, built);
+
+		// when
+		FeedbackMatrix matrix = FeedbackMatrix.open(dictionary, cacheDir);
+
+		// then
+		assertEquals(built, Files.getLastModifiedTime(file));
+		assertEquals(Feedback.ALL_CORRECT, matrix.feedback(7, 7));
+	}
+
+	@Test
+	public void testOpen_whenCacheFileIsCorrupt() throws IOException {
+		// given
+		FeedbackMatrix.open(dictionary, cacheDir);
+		Path file = FeedbackMatrix.cacheFile(dictionary, cacheDir);
+		Files.write(file, new byte[(int) Files.size(file)]);
+
+		// when
+		FeedbackMatrix matrix = FeedbackMatrix.open(dictionary, cacheDir);
+
+		// then
+		assertEquals(Feedback.ALL_CORRECT, matrix.feedback(3, 3));
+	}
+
+	@Test
+	public void testOpen_whenDictionaryChanges() throws IOException {
+		// given
+		WordIndex other = new WordIndex(List.of("apple", "grape", "pears"));
+
+		// when
+		FeedbackMatrix.open(dictionary, cacheDir);
+		FeedbackMatrix matrix = FeedbackMatrix.open(other, cacheDir);
+
+		// then
+		assertNotEquals(FeedbackMatrix.cacheFile(dictionary, cacheDir), FeedbackMatrix.cacheFile(other, cacheDir));
+		assertSame(other, matrix.dictionary());
+		assertEquals(Feedback.score(WordIndex.pack("grape"), WordIndex.pack("apple")), matrix.feedback(1, 0));
+	}
+
+	@Test
+	public void testOpen_whenWordsNeedWideCells() throws IOException {
+		// given
+		WordIndex sixes = new WordIndex(List.of("orange", "banana", "tomato", "potato", "carrot", "radish"), 6);
+
+		// when
+		FeedbackMatrix matrix = FeedbackMatrix.open(sixes, cacheDir);
+		FeedbackTable direct = FeedbackTable.direct(sixes);
+
+		// then
+		for (int guess = 0; guess < sixes.size(); guess++) {
+			for (int target = 0; target < sixes.size(); target++) {
+				assertEquals(direct.feedback(guess, target), matrix.feedback(guess, target));
+			}
+		}
+		assertEquals(Feedback.allCorrect(6), matrix.feedback(2, 2));
+	}
+}
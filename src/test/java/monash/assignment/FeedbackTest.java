@@ -0,0 +1,122 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedbackTest {
+
+	private static String check(String guess, String target) {
+		return Feedback.render(guess, Feedback.score(WordIndex.pack(guess), WordIndex.pack(target)));
+	}
+
+	@Test
+	public void testScore_whenCorrectGuess() {
+		// given
+		int code = Feedback.score(WordIndex.pack("apple"), WordIndex.pack("apple"));
+
+		// then
+		assertEquals(Feedback.ALL_CORRECT, code);
+	}
+
+	@Test
+	public void testScore_whenIncorrectGuess() {
+		// then
+		assertEquals(0, Feedback.score(WordIndex.pack("whirs"), WordIndex.pack("apple")));
+	}
+
+	@Test
+	public void testScore_digits() {
+		// given
+		int code = Feedback.score(WordIndex.pack("grape"), WordIndex.pack("apple"));
+
+		// then
+		assertEquals(Feedback.ABSENT, Feedback.digit(code, 0));
+		assertEquals(Feedback.ABSENT, Feedback.digit(code, 1));
+		assertEquals(Feedback.PRESENT, Feedback.digit(code, 2));
+		assertEquals(Feedback.PRESENT, Feedback.digit(code, 3));
+		assertEquals(Feedback.CORRECT, Feedback.digit(code, 4));
+	}
+
+	@Test
+	public void testScore_whenDuplicateLettersInGuess() {
+		// then
+		assertEquals("??##?", check("easel", "apple"));
+		assertEquals("#?##?", check("bezel", "apple"));
+		assertEquals("#pp?#", check("upper", "apple"));
+	}
+
+	@Test
+	public void testScore_whenDuplicateLettersInTarget() {
+		// then
+		assertEquals("?????", check("pelpa", "apple"));
+		assertEquals("?#s#y", check("sissy", "assay"));
+	}
+
+	@Test
+	public void testScore_whenCorrectLetterTakesPriority() {
+		// then
+		assertEquals("?#?#e", check("eerie", "there"));
+		assertEquals("####e", check("eeeee", "apple"));
+	}
+
+	@Test
+	public void testRender() {
+		// then
+		assertEquals("##??e", Feedback.render("grape", Feedback.score(WordIndex.pack("grape"), WordIndex.pack("apple"))));
+	}
+
+	@Test
+	public void testScore_whenLongerWords() {
+		// then
+		assertEquals(Feedback.allCorrect(8), Feedback.score(WordIndex.pack("mandarin"), WordIndex.pack("mandarin")));
+		assertEquals("#anda#in", check("bandanin", "mandarin"));
+		assertEquals("?#e#", check("eyes", "tree"));
+	}
+
+	@Test
+	public void testPatterns() {
+		// then
+		assertEquals(Feedback.PATTERNS, Feedback.patterns(5));
+		assertEquals(81, Feedback.patterns(4));
+		assertEquals(6561, Feedback.patterns(8));
+		assertEquals(Feedback.ALL_CORRECT, Feedback.allCorrect(5));
+	}
+
+	@Test
+	public void testScore_manyTargetsMatchesScoringEachTarget() throws IOException {
+		// given
+		List<String> words = Files.readAllLines(Path.of("src/test/resources/dictionary.txt")).subList(0, 400);
+		long[] targets = words.stream().mapToLong(WordIndex::pack).toArray();
+		int[] codes = new int[targets.length];
+
+		for (String guess : List.of("eerie", "apple", "sissy", "crane", words.get(7))) {
+			// when
+			Feedback.score(WordIndex.pack(guess), targets, codes);
+
+			// then
+			for (int t = 0; t < targets.length; t++) {
+				assertEquals(Feedback.score(WordIndex.pack(guess), targets[t]), codes[t], guess + " " + words.get(t));
+			}
+		}
+	}
+
+	@Test
+	public void testScore_manyTargetsOfEightLetters() {
+		// given
+		long[] targets = {WordIndex.pack("mandarin"), WordIndex.pack("bandanas")};
+		int[] codes = new int[2];
+
+		// when
+		Feedback.score(WordIndex.pack("mandarin"), targets, codes);
+
+		// then
+		assertEquals(Feedback.allCorrect(8), codes[0]);
+		assertEquals(Feedback.score(WordIndex.pack("mandarin"), targets[1]), codes[1]);
+	}
+}
@@ -0,0 +1,114 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameAnalysisTest {
+	private WordIndex dictionary;
+
+	private Solver solver;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		dictionary = new WordIndex(Files.readAllLines(Path.of("src/test/resources/dictionary.txt")));
+		solver = new Solver(FeedbackTable.direct(dictionary));
+	}
+
+	@Test
+	public void testAnalyze_countsCandidatesEachTurn() {
+		// given
+		Game game = new Game("apple", dictionary, 6);
+		game.play("grape");
+		game.play("ample");
+		game.play("apple");
+
+		// when
+		List<GameAnalysis.Turn> turns = GameAnalysis.analyze(game.getTurns(), solver).turns();
+
+		// then
+		assertEquals(3, turns.size());
+		assertEquals(dictionary.size(), turns.get(0).remaining());
+		assertEquals(turns.get(0).left(), turns.get(1).remaining());
+		assertEquals(turns.get(1).left(), turns.get(2).remaining());
+		assertEquals(0, turns.get(2).left());
+		assertEquals("grape", turns.get(0).guess());
+	}
+
+	@Test
+	public void testAnalyze_expectedMatchesPartition() {
+		// given
+		Game game = new Game("apple", dictionary, 6);
+		game.play("grape");
+		long grape = WordIndex.pack("grape");
+		int[] histogram = new int[Feedback.PATTERNS];
+		for (int i = 0; i < dictionary.size(); i++) {
+			histogram[Feedback.score(grape, dictionary.packedAt(i))]++;
+		}
+		histogram[Feedback.ALL_CORRECT] = 0;
+		double expected = 0;
+		for (int bucket : histogram) {
+			expected += (double) bucket * bucket / dictionary.size();
+		}
+
+		// when
+		GameAnalysis.Turn turn = GameAnalysis.analyze(game.getTurns(), solver).turns().get(0);
+
+		// then
+		assertEquals(expected, turn.expected(), 1e-9);
+	}
+
+	@Test
+	public void testAnalyze_suggestionIsNoWorseThanGuess() {
+		// given
+		Game game = new Game("apple", dictionary, 6);
+		game.play("fuzzy");
+		game.play("pears");
+		game.play("apple");
+
+		// when
+		GameAnalysis analysis = GameAnalysis.analyze(game.getTurns(), solver);
+
+		// then
+		for (GameAnalysis.Turn turn : analysis.turns()) {
+			assertTrue(turn.suggestedExpected() <= turn.expected(), turn.toString());
+			assertTrue(turn.skill() >= 0 && turn.skill() <= 1, turn.toString());
+		}
+		assertTrue(analysis.skill() < 100);
+		assertEquals(0, analysis.turns().get(2).left());
+	}
+
+	@Test
+	public void testAnalyze_whenSolverPlays() {
+		// given
+		Game game = new Game("apple", dictionary, 6);
+		while (game.getTurns().isEmpty() || game.getTurns().get(game.getTurns().size() - 1).feedback() != Feedback.ALL_CORRECT) {
+			game.play(solver.bestGuess(game));
+		}
+
+		// when
+		GameAnalysis analysis = GameAnalysis.analyze(game.getTurns(), solver);
+
+		// then
+		assertEquals(1, analysis.turns().get(0).skill());
+		assertTrue(analysis.skill() >= 80, analysis.toString());
+		assertTrue(analysis.toString().contains("Skill: "));
+	}
+
+	@Test
+	public void testLuck_whenFewerLeftThanExpected() {
+		// given
+		GameAnalysis.Turn lucky = new GameAnalysis.Turn("apple", 100, 15, "apple", 15, 0);
+		GameAnalysis.Turn unlucky = new GameAnalysis.Turn("apple", 100, 15, "apple", 15, 31);
+
+		// then
+		assertEquals(4, lucky.luck(), 1e-9);
+		assertEquals(-1, unlucky.luck(), 1e-9);
+	}
+}
@@ -0,0 +1,195 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameServerTest {
+	private static final String[] WORDS = {"apple", "grape"};
+
+	private WordIndex dictionary;
+
+	private GameServer server;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		dictionary = new WordIndex(List.of(WORDS));
+		server = new GameServer(dictionary, new Solver(FeedbackTable.direct(dictionary)), 0);
+		server.start();
+	}
+
+	@AfterEach
+	public void teardown() throws IOException {
+		server.close();
+	}
+
+	private String play(int games) throws IOException {
+		return play(games, WORDS);
+	}
+
+	/**
+	 * Answers each prompt from the server like a player would, guessing the words in order,
+	 * and moving on to the next word when a guess is rejected
+	 */
+	private String play(int games, String... words) throws IOException {
+		try (Socket socket = new Socket("localhost", server.getPort())) {
+			Reader in = new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8);
+			Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+			StringBuilder output = new StringBuilder();
+			int played = 0;
+			int guess = 0;
+			int c;
+
+			while ((c = in.read()) != -1) {
+				output.append((char) c);
+				if (output.toString().endsWith("Please enter your guess: ") || output.toString().endsWith("Please try again: ")) {
+					out.write(words[guess++ % words.length] + "\n");
+					out.flush();
+				} else if (output.toString().endsWith("Play again? (Y/N): ")) {
+					guess = 0;
+					out.write(++played < games ? "y\n" : "n\n");
+					out.flush();
+				}
+			}
+
+			return output.toString();
+		}
+	}
+
+	private String send(String input) throws IOException {
+		try (Socket socket = new Socket("localhost", server.getPort())) {
+			socket.getOutputStream().write(input.getBytes(StandardCharsets.UTF_8));
+			socket.shutdownOutput();
+			return new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	@Test
+	public void testSession_playsUntilPlayerStops() throws IOException {
+		// when
+		String output = play(1);
+
+		// then
+		assertTrue(output.startsWith("You have 6 tries to guess the target word."));
+		assertTrue(output.contains("Congratulations! You have guessed the target word!"));
+		assertTrue(output.endsWith("Thank you for playing Commandle!" + System.lineSeparator()));
+	}
+
+	@Test
+	public void testSession_whenHardMode() throws IOException {
+		// given
+		server.close();
+		dictionary = new WordIndex(List.of("apple", "mango", "tiger"));
+		server = new GameServer(dictionary, new Solver(FeedbackTable.direct(dictionary)), 0);
+		server.setHardMode(true);
+		server.start();
+
+		// when
+		String output = play(3, "apple", "mango", "tiger");
+
+		// then
+		assertTrue(output.contains("Hard mode: "), output);
+		assertEquals(3, output.split("Congratulations!", -1).length - 1, output);
+	}
+
+	@Test
+	public void testSession_whenSeveralBoards() throws IOException {
+		// given
+		server.setBoards(2);
+
+		// when
+		String output = play(1);
+
+		// then
+		assertTrue(output.startsWith("You have 6 tries to guess 2 target words."), output);
+		assertTrue(output.contains("Congratulations! You have guessed the target word!"), output);
+		assertThrows(IllegalArgumentException.class, () -> server.setHardMode(true));
+	}
+
+	@Test
+	public void testSession_whenPlayerDisconnects() throws IOException {
+		// when
+		String output = send("banana\n");
+
+		// then
+		assertTrue(output.contains("Please enter a word of 5 letters: "));
+		assertTrue(output.endsWith("Thank you for playing Commandle!" + System.lineSeparator()));
+	}
+
+	@Test
+	public void testSessions_keepTheirOwnTargets() throws Exception {
+		// given
+		ExecutorService clients = Executors.newFixedThreadPool(8);
+		List<Future<String>> outputs = new ArrayList<>();
+
+		// when
+		for (int i = 0; i < 32; i++) {
+			outputs.add(clients.submit(() -> play(2)));
+		}
+
+		// then
+		for (Future<String> output : outputs) {
+			String session = output.get(10, TimeUnit.SECONDS);
+			assertEquals(2, session.split("Congratulations!", -1).length - 1, session);
+		}
+		clients.shutdown();
+	}
+
+	@Test
+	public void testSession_resumesGameAfterDisconnect() throws IOException {
+		// given
+		SessionStore store = new SessionStore(dictionary, new Solver(FeedbackTable.direct(dictionary)), Duration.ofMinutes(5), Long.MAX_VALUE);
+		server.setStore(store);
+		String first = send("\n");
+		Matcher id = Pattern.compile("Your session id is \\[([0-9a-f]+)]").matcher(first);
+		assertTrue(id.find(), first);
+		assertEquals(1, store.size());
+
+		// when
+		String resumed = send(id.group(1) + "\napple\ngrape\nn\n");
+
+		// then
+		assertTrue(resumed.startsWith(GameServer.RESUME_PROMPT + "Resumed session [" + id.group(1) + "]"), resumed);
+		assertTrue(resumed.contains("Congratulations! You have guessed the target word!"));
+		assertEquals(0, store.size());
+	}
+
+	@Test
+	public void testSession_whenSessionIdIsUnknown() throws IOException {
+		// given
+		server.setStore(new SessionStore(dictionary, new Solver(FeedbackTable.direct(dictionary)), Duration.ofMinutes(5), Long.MAX_VALUE));
+
+		// when
+		String output = send("0123456789abcdef\n");
+
+		// then
+		assertTrue(output.startsWith(GameServer.RESUME_PROMPT + "Your session id is ["), output);
+		assertFalse(output.contains("[0123456789abcdef]"));
+	}
+
+	@Test
+	public void testSession_whenGameFinished() throws IOException {
+		// given
+		SessionStore store = new SessionStore(dictionary, new Solver(FeedbackTable.direct(dictionary)), Duration.ofMinutes(5), Long.MAX_VALUE);
+		server.setStore(store);
+
+		// when
+		String output = send("\napple\ngrape\nn\n");
+
+		// then
+		assertTrue(output.contains("Congratulations! You have guessed the target word!"));
+		assertEquals(0, store.size());
+	}
+}
@@ -8,6 +8,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -15,6 +16,7 @@ import java.util.Set;
 import static com.github.stefanbirkner.systemlambda.SystemLambda.tapSystemOut;
 import static com.github.stefanbirkner.systemlambda.SystemLambda.withTextFromSystemIn;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 @ExtendWith(MockitoExtension.class)
 class GameTest {
@@ -35,7 +37,7 @@ class GameTest {
 		dictionary = List.of("apple", "pears", "whirs", "easel", "upper", "abers", "bezel");
 		targetWord = "apple";
 
-		game = new Game(targetWord, dictionary, 6);
+		game = new Game(targetWord, new WordIndex(dictionary), 6);
 	}
 
 	@Test
@@ -204,7 +206,7 @@ class GameTest {
 		// given
 		List<Boolean> results = new ArrayList<>();
 
-		game.setDictionary(dictionary);
+		game.setDictionary(new WordIndex(dictionary));
 
 		String message = """
 				You have 6 tries to guess the target word.
@@ -231,7 +233,7 @@ class GameTest {
 		List<Boolean> results = new ArrayList<>();
 
 		game.setTries(2);
-		game.setDictionary(dictionary);
+		game.setDictionary(new WordIndex(dictionary));
 
 		String message = """
 				You have 2 tries to guess the target word.
@@ -252,4 +254,149 @@ class GameTest {
 		assertEquals(message, outContent.toString());
 		assertEquals(errMessage, errContent.toString());
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testGuessValidity_whenHint() {
+		// given
+		game.play("pears");
+		boolean result = game.guessValidity(Game.HINT);
+
+		// then
+		assertFalse(result);
+		assertEquals("Hint: try [apple]. Please enter your guess: ", outContent.toString());
+		assertEquals(1, game.getTurns().size());
+	}
+
+	@Test
+	public void testGuessValidity_whenWordIsHint() {
+		// given
+		Game fourLetters = new Game("mint", new WordIndex(List.of("hint", "mint", "lint"), 4), 6);
+
+		// when
+		boolean result = fourLetters.guessValidity("hint");
+
+		// then
+		assertTrue(result);
+		assertEquals(Set.of("hint"), fourLetters.getGuesses());
+	}
+
+	@Test
+	public void testPlay_recordsTurns() {
+		// when
+		int first = game.play("pears");
+		int second = game.play("apple");
+
+		// then
+		assertEquals(List.of(new Game.Turn(WordIndex.pack("pears"), first), new Game.Turn(WordIndex.pack("apple"), second)), game.getTurns());
+		assertEquals(Feedback.ALL_CORRECT, second);
+	}
+
+	@Test
+	public void testRemainingCandidates_narrowAfterEachTurn() {
+		// given
+		assertEquals(dictionary.size(), game.remainingCandidateCount());
+
+		// when
+		game.play("pears");
+		List<String> remaining = new ArrayList<>();
+		game.remainingCandidates().forEachRemaining(remaining::add);
+
+		// then
+		assertEquals(List.of("apple"), remaining);
+		assertEquals(1, game.remainingCandidateCount());
+	}
+
+	@Test
+	public void testGuessValidity_whenCompletionRequested() {
+		// when
+		boolean result = game.guessValidity("ab*");
+		boolean none = game.guessValidity("zz*");
+
+		// then
+		assertFalse(result);
+		assertFalse(none);
+		assertEquals("Words starting with [ab]: abers (1 in total). Please enter your guess: No words start with [zz]. Please enter your guess: ", outContent.toString());
+	}
+
+	@Test
+	public void testGuessValidity_whenSixLetterWords() {
+		// given
+		game = new Game("orange", new WordIndex(List.of("orange", "banana"), 6), 6);
+
+		// when
+		boolean valid = game.guessValidity("banana");
+		boolean invalid = game.guessValidity("apple");
+
+		// then
+		assertTrue(valid);
+		assertFalse(invalid);
+		assertEquals("Please enter a word of 6 letters: ", errContent.toString());
+	}
+
+	@Test
+	public void testScoreCandidates_afterTurn() {
+		// given
+		game.play("whirs");
+		int[] histogram = new int[Feedback.PATTERNS];
+
+		// when
+		int count = game.scoreCandidates("apple", histogram);
+
+		// then
+		assertEquals(2, count);
+		assertEquals(1, histogram[Feedback.ALL_CORRECT]);
+		assertEquals(1, histogram[Feedback.score(WordIndex.pack("apple"), WordIndex.pack("bezel"))]);
+	}
+
+	@Test
+	public void testScoreCandidates_doesNotAllocateAfterFirstCall() {
+		// given
+		assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		game.play("whirs");
+		int[] histogram = new int[Feedback.PATTERNS];
+		game.scoreCandidates("apple", histogram);
+
+		// when
+		long before = threads.getCurrentThreadAllocatedBytes();
+		for (int i = 0; i < 10_000; i++) {
+			game.scoreCandidates("apple", histogram);
+		}
+		long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+		// then
+		assertTrue(allocated < 64 * 1024, allocated + " bytes");
+		assertEquals(10_001, histogram[Feedback.ALL_CORRECT]);
+	}
+
+	@Test
+	public void testGuessValidity_whenHardModeHintNotReused() {
+		// given
+		game.setHardMode(true);
+		game.guessValidity("pears");
+		game.play("pears");
+
+		// when
+		boolean result = game.guessValidity("whirs");
+
+		// then
+		assertFalse(result);
+		assertEquals("Hard mode: [r] cannot be in position 4. Please try again: ", errContent.toString());
+		assertTrue(game.guessValidity("apple"));
+	}
+
+	@Test
+	public void testHint_whenHardMode() {
+		// given
+		game.setHardMode(true);
+		game.guessValidity("easel");
+		game.play("easel");
+
+		// when
+		String hint = game.hint();
+
+		// then
+		assertNotNull(hint);
+		assertTrue(game.guessValidity(hint));
+	}
+}
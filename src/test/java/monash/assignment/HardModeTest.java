@@ -0,0 +1,107 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HardModeTest {
+	private HardMode hardMode;
+
+	@BeforeEach
+	public void setup() {
+		hardMode = new HardMode(5);
+	}
+
+	private void play(String guess, String target) {
+		hardMode.update(WordIndex.pack(guess), Feedback.score(WordIndex.pack(guess), WordIndex.pack(target)));
+	}
+
+	private boolean allows(String guess) {
+		return hardMode.allows(WordIndex.pack(guess));
+	}
+
+	@Test
+	public void testAllows_beforeAnyTurn() {
+		// then
+		assertTrue(allows("apple"));
+		assertTrue(allows("zzzzz"));
+	}
+
+	@Test
+	public void testAllows_whenCorrectLetterMoves() {
+		// given
+		play("grape", "apple");
+
+		// then
+		assertTrue(allows("apple"));
+		assertTrue(allows("ample"));
+		assertFalse(allows("grape"));
+		assertEquals("position 5 must be [e]", hardMode.violation(WordIndex.pack("pleat")));
+	}
+
+	@Test
+	public void testAllows_whenPresentLetterMissingOrInSamePosition() {
+		// given
+		play("pears", "apple");
+
+		// then
+		assertTrue(allows("apple"));
+		assertFalse(allows("epics"));
+		assertEquals("[p] cannot be in position 1", hardMode.violation(WordIndex.pack("plead")));
+		assertEquals("[a] must be used once", hardMode.violation(WordIndex.pack("evenp")));
+	}
+
+	@Test
+	public void testAllows_whenAbsentLetterReused() {
+		// given
+		play("whirs", "apple");
+
+		// then
+		assertFalse(allows("sheep"));
+		assertEquals("[w] cannot be in position 1", hardMode.violation(WordIndex.pack("wacky")));
+		assertTrue(allows("apple"));
+	}
+
+	@Test
+	public void testAllows_whenDuplicateLetterCountsRequired() {
+		// given
+		play("puppy", "apple");
+
+		// then
+		assertTrue(allows("apple"));
+		assertFalse(allows("ample"));
+		assertEquals("[p] must be used 2 times", hardMode.violation(WordIndex.pack("ample")));
+		assertNull(hardMode.violation(WordIndex.pack("apple")));
+	}
+
+	@Test
+	public void testAllows_whenAbsentCopyOfPresentLetter() {
+		// given
+		play("eerie", "there");
+
+		// then
+		assertTrue(allows("there"));
+		assertFalse(allows("eetxx"));
+	}
+
+	@Test
+	public void testAllows_everyCandidateReusesHints() throws IOException {
+		// given
+		WordIndex dictionary = new WordIndex(Files.readAllLines(Path.of("src/test/resources/dictionary.txt")));
+		CandidateSet candidates = CandidateSet.all(dictionary);
+		long guess = WordIndex.pack("crane");
+		int feedback = Feedback.score(guess, WordIndex.pack("trace"));
+
+		// when
+		hardMode.update(guess, feedback);
+		candidates.apply(guess, feedback);
+
+		// then
+		candidates.iterator().forEachRemaining((int i) -> assertTrue(hardMode.allows(dictionary.packedAt(i)), dictionary.get(i)));
+	}
+}
@@ -0,0 +1,69 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+	@Test
+	public void testIndex_bucketsAreContiguous() {
+		// then
+		for (long value = 0; value < 100_000; value++) {
+			int index = LatencyHistogram.index(value);
+			assertTrue(value <= LatencyHistogram.highestValue(index));
+			assertTrue(index == 0 || value > LatencyHistogram.highestValue(index - 1));
+		}
+		assertTrue(LatencyHistogram.index(Long.MAX_VALUE) > LatencyHistogram.index(1L << 40));
+	}
+
+	@Test
+	public void testPercentile_withinPrecision() {
+		// given
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		// when
+		for (int i = 1; i <= 100_000; i++) {
+			histogram.record(i * 1_000L);
+		}
+
+		// then
+		assertEquals(100_000, histogram.count());
+		assertEquals(50_000_000, histogram.percentile(50), 50_000_000 * 0.04);
+		assertEquals(99_000_000, histogram.percentile(99), 99_000_000 * 0.04);
+		assertEquals(99_900_000, histogram.percentile(99.9), 99_900_000 * 0.04);
+		assertEquals(100_000_000, histogram.max());
+		assertEquals(50_000_500, histogram.mean(), 1);
+	}
+
+	@Test
+	public void testRecord_fromManyThreads() {
+		// given
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		// when
+		IntStream.range(0, 200_000).parallel().forEach(i -> histogram.record(i % 1000));
+
+		// then
+		assertEquals(200_000, histogram.count());
+		assertEquals(999, histogram.max());
+	}
+
+	@Test
+	public void testReset() {
+		// given
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(-5);
+		histogram.record(42);
+
+		// when
+		histogram.reset();
+
+		// then
+		assertEquals(0, histogram.count());
+		assertEquals(0, histogram.percentile(99));
+		assertEquals(0, histogram.max());
+	}
+}
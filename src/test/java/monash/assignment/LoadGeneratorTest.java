@@ -0,0 +1,98 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadGeneratorTest {
+	private WordIndex dictionary;
+
+	private Solver solver;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		dictionary = new WordIndex(Files.readAllLines(Path.of("src/test/resources/dictionary.txt")));
+		solver = new Solver(FeedbackTable.direct(dictionary));
+	}
+
+	@Test
+	public void testRun_playsEveryGameOfEveryPlayer() {
+		// given
+		LoadGenerator generator = new LoadGenerator(dictionary, solver, 6);
+		generator.setRates(0.2, 0.1);
+
+		// when
+		LoadGenerator.Result result = generator.run(8, 5, 7);
+
+		// then
+		assertEquals(40, result.games());
+		assertEquals(8 * 4, result.latencies().get(LoadGenerator.Operation.PLAY_AGAIN).count());
+		assertTrue(result.latencies().get(LoadGenerator.Operation.GUESS).count() >= 40);
+		assertTrue(result.latencies().get(LoadGenerator.Operation.INVALID).count() > 0);
+		assertTrue(result.latencies().get(LoadGenerator.Operation.DUPLICATE).count() > 0);
+		assertTrue(result.operationsPerSecond() > 0);
+		assertTrue(result.toString().startsWith("Played 40 games with 8 players"), result.toString());
+	}
+
+	@Test
+	public void testRun_whenRatesAreZero() {
+		// given
+		LoadGenerator generator = new LoadGenerator(dictionary, solver, 6);
+		generator.setRates(0, 0);
+
+		// when
+		LoadGenerator.Result result = generator.run(2, 3, 7);
+
+		// then
+		assertEquals(0, result.latencies().get(LoadGenerator.Operation.INVALID).count());
+		assertEquals(0, result.latencies().get(LoadGenerator.Operation.DUPLICATE).count());
+	}
+
+	@Test
+	public void testSetRates_whenTooHigh() {
+		// given
+		LoadGenerator generator = new LoadGenerator(dictionary, solver, 6);
+
+		// then
+		assertThrows(IllegalArgumentException.class, () -> generator.setRates(0.6, 0.4));
+	}
+
+	@Test
+	public void testRun_againstServer() throws IOException {
+		// given
+		LoadGenerator generator = new LoadGenerator(dictionary, solver, 6);
+		try (GameServer server = new GameServer(dictionary, solver, 0)) {
+			server.start();
+
+			// when
+			LoadGenerator.Result result = generator.run("localhost", server.getPort(), 4, 3, 7);
+
+			// then
+			assertEquals(12, result.games());
+			assertEquals(4 * 2, result.latencies().get(LoadGenerator.Operation.PLAY_AGAIN).count());
+			assertTrue(result.latencies().get(LoadGenerator.Operation.GUESS).count() >= 12);
+		}
+	}
+
+	@Test
+	public void testRun_againstServerWithSessionStore() throws IOException {
+		// given
+		LoadGenerator generator = new LoadGenerator(dictionary, solver, 6);
+		try (GameServer server = new GameServer(dictionary, solver, 0)) {
+			server.setStore(new SessionStore(dictionary, solver, Duration.ofMinutes(5), Long.MAX_VALUE));
+			server.start();
+
+			// when
+			LoadGenerator.Result result = generator.run("localhost", server.getPort(), 2, 2, 7);
+
+			// then
+			assertEquals(4, result.games());
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class MetricsTest {
+
+	@Test
+	public void testGuessValidity_countsOutcomes() throws IOException {
+		// given
+		WordIndex dictionary = new WordIndex(Files.readAllLines(Path.of("src/test/resources/dictionary.txt")));
+		Game game = new Game("apple", dictionary, 6);
+		game.setIo(mock(GameIO.class));
+		Metrics metrics = Metrics.global();
+		long valid = metrics.getValidGuesses();
+		long invalidLength = metrics.getInvalidLengthGuesses();
+		long duplicate = metrics.getDuplicateGuesses();
+		long outOfDictionary = metrics.getOutOfDictionaryGuesses();
+		long timed = metrics.guessValidity.count();
+
+		// when
+		game.guessValidity("angel");
+		game.guessValidity("angel");
+		game.guessValidity("pear");
+		game.guessValidity("zzzzz");
+		game.checkGuess("angel");
+
+		// then
+		assertEquals(valid + 1, metrics.getValidGuesses());
+		assertEquals(duplicate + 1, metrics.getDuplicateGuesses());
+		assertEquals(invalidLength + 1, metrics.getInvalidLengthGuesses());
+		assertEquals(outOfDictionary + 1, metrics.getOutOfDictionaryGuesses());
+		assertEquals(timed + 4, metrics.guessValidity.count());
+		assertTrue(metrics.checkGuess.count() > 0);
+	}
+
+	@Test
+	public void testGuessValidity_timesHintsOnTheirOwn() throws IOException {
+		// given
+		WordIndex dictionary = new WordIndex(Files.readAllLines(Path.of("src/test/resources/dictionary.txt")));
+		Game game = new Game("apple", dictionary, 6);
+		game.setIo(mock(GameIO.class));
+		Metrics metrics = Metrics.global();
+		long hints = metrics.getHints();
+		long timedHints = metrics.hint.count();
+		long timed = metrics.guessValidity.count();
+
+		// when
+		game.guessValidity(Game.HINT);
+		game.guessValidity("app" + Game.COMPLETE);
+
+		// then
+		assertEquals(hints + 1, metrics.getHints());
+		assertEquals(timedHints + 1, metrics.hint.count());
+		assertEquals(timed, metrics.guessValidity.count());
+	}
+
+	@Test
+	public void testGenerateTargetWord_countsRegenerations() {
+		// given
+		WordGenerator generator = new WordGenerator(new WordIndex(List.of("apple", "angel")), new HashSet<>(), 1);
+		Metrics metrics = Metrics.global();
+		long generated = metrics.getTargetsGenerated();
+		long regenerated = metrics.getTargetRegenerations();
+
+		// when
+		String first = generator.generateTargetWord();
+		generator.generateTargetWord(first);
+
+		// then
+		assertEquals(generated + 2, metrics.getTargetsGenerated());
+		assertEquals(regenerated + 1, metrics.getTargetRegenerations());
+	}
+
+	@Test
+	public void testRegister_exposesMBean() throws Exception {
+		// when
+		Metrics.register();
+		Metrics.register();
+
+		// then
+		Object guesses = ManagementFactory.getPlatformMBeanServer().getAttribute(new ObjectName(Metrics.OBJECT_NAME), "Guesses");
+		assertInstanceOf(Long.class, guesses);
+		assertTrue(Metrics.global().getReport().contains("guessValidity: count="));
+	}
+}
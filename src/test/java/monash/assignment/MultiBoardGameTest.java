@@ -0,0 +1,108 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiBoardGameTest {
+	private WordIndex dictionary;
+
+	private MultiBoardGame game;
+
+	@BeforeEach
+	public void setup() {
+		dictionary = new WordIndex(List.of("apple", "pears", "whirs", "easel", "upper", "grape", "bezel"));
+		game = new MultiBoardGame(List.of("apple", "grape", "pears"), dictionary, 8);
+	}
+
+	@Test
+	public void testConstructor_whenTooFewOrManyBoards() {
+		// then
+		assertThrows(IllegalArgumentException.class, () -> new MultiBoardGame(List.of("apple"), dictionary, 6));
+		assertThrows(IllegalArgumentException.class, () -> new MultiBoardGame(Collections.nCopies(33, "apple"), dictionary, 6));
+		assertThrows(IllegalArgumentException.class, () -> new MultiBoardGame(List.of(), dictionary, 6));
+	}
+
+	@Test
+	public void testConstructor_whenTargetsRepeatedOrUnknown() {
+		// then
+		assertThrows(IllegalArgumentException.class, () -> new MultiBoardGame(List.of("apple", "grape", "apple"), dictionary, 8));
+		assertThrows(IllegalArgumentException.class, () -> new MultiBoardGame(List.of("apple", "mango"), dictionary, 7));
+	}
+
+	@Test
+	public void testSetHardMode_isRejected() {
+		// given
+		game.setHardMode(false);
+
+		// then
+		assertThrows(IllegalArgumentException.class, () -> game.setHardMode(true));
+		assertFalse(game.isHardMode());
+	}
+
+	@Test
+	public void testPlayAll_scoresEveryBoard() {
+		// when
+		int[] codes = game.playAll("grape");
+
+		// then
+		assertEquals("##??e", Feedback.render("grape", codes[0]));
+		assertEquals(Feedback.ALL_CORRECT, codes[1]);
+		assertEquals("#?a??", Feedback.render("grape", codes[2]));
+		assertTrue(game.isSolved(1));
+		assertEquals(1, game.solvedCount());
+		assertEquals(1, game.getTurns().size());
+	}
+
+	@Test
+	public void testStart_winsOnceEveryBoardIsSolved() {
+		// given
+		StringWriter output = new StringWriter();
+		game.setIo(new StreamIO(new BufferedReader(new StringReader("grape\napple\ngrape\npears\n")), output));
+
+		// when
+		boolean won = game.start();
+
+		// then
+		assertTrue(won);
+		assertEquals(3, game.getRound());
+		assertTrue(output.toString().startsWith("You have 8 tries to guess 3 target words."));
+		assertTrue(output.toString().contains("2: apple  apple  -----  ??##?"));
+		assertTrue(output.toString().contains("You have already guessed [grape]"));
+	}
+
+	@Test
+	public void testStart_losesWhenBoardsLeft() {
+		// given
+		game.setTries(2);
+		game.setIo(new StreamIO(new BufferedReader(new StringReader("grape\napple\n")), new StringWriter()));
+
+		// when
+		boolean won = game.start();
+
+		// then
+		assertFalse(won);
+		assertEquals(2, game.solvedCount());
+		assertFalse(game.isSolved(2));
+	}
+
+	@Test
+	public void testHint_isCandidateOfUnsolvedBoard() {
+		// given
+		game.playAll("grape");
+		game.playAll("apple");
+
+		// when
+		String hint = game.hint();
+
+		// then
+		assertEquals("pears", hint);
+	}
+}
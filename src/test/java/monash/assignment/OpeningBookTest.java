@@ -0,0 +1,125 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpeningBookTest {
+	@TempDir
+	private Path cacheDir;
+
+	private WordIndex dictionary;
+
+	private Solver solver;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		dictionary = new WordIndex(Files.readAllLines(Path.of("src/test/resources/dictionary.txt")).subList(0, 300));
+		solver = new Solver(FeedbackTable.direct(dictionary));
+	}
+
+	@Test
+	public void testGuess_matchesSolverForEveryTarget() throws IOException {
+		// given
+		OpeningBook book = OpeningBook.open(solver, 6, cacheDir);
+
+		for (int target = 0; target < dictionary.size(); target++) {
+			Game game = new Game(dictionary.get(target), dictionary, 6);
+
+			while (game.getTurns().size() < 6) {
+				// when
+				int booked = book.guess(game.getTurns());
+
+				// then
+				String expected = solver.bestGuess(game);
+				assertEquals(expected, dictionary.get(booked));
+				if (game.play(expected) == Feedback.ALL_CORRECT) {
+					break;
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testGuess_whenGuessNotInBook() throws IOException {
+		// given
+		OpeningBook book = OpeningBook.open(solver, 6, cacheDir);
+		Game game = new Game(dictionary.get(10), dictionary, 6);
+		String first = dictionary.get(book.guess(List.of()));
+		game.play(first.equals(dictionary.get(0)) ? dictionary.get(1) : dictionary.get(0));
+
+		// when
+		int booked = book.guess(game.getTurns());
+
+		// then
+		assertEquals(-1, booked);
+	}
+
+	@Test
+	public void testGuess_whenTurnsPastDepth() throws IOException {
+		// given
+		OpeningBook book = OpeningBook.open(solver, 1, cacheDir);
+		Game game = new Game(dictionary.get(10), dictionary, 6);
+		game.play(dictionary.get(book.guess(List.of())));
+
+		// when
+		int booked = book.guess(game.getTurns());
+
+		// then
+		assertEquals(1, book.depth());
+		assertEquals(-1, booked);
+	}
+
+	@Test
+	public void testOpen_reusesCacheFile() throws IOException {
+		// given
+		OpeningBook.open(solver, 6, cacheDir);
+		Path file = OpeningBook.cacheFile(dictionary, 6, cacheDir);
+		FileTime built = FileTime.fromMillis(0);
+		Files.setLastModifiedTime(file, built);
+
+		// when
+		OpeningBook book = OpeningBook.open(solver, 6, cacheDir);
+
+		// then
+		assertEquals(built, Files.getLastModifiedTime(file));
+		assertTrue(book.guess(List.of()) >= 0);
+	}
+
+	@Test
+	public void testOpen_whenCacheFileIsCorrupt() throws IOException {
+		// given
+		OpeningBook.open(solver, 6, cacheDir);
+		Path file = OpeningBook.cacheFile(dictionary, 6, cacheDir);
+		Files.write(file, new byte[(int) Files.size(file)]);
+
+		// when
+		OpeningBook book = OpeningBook.open(solver, 6, cacheDir);
+
+		// then
+		assertEquals(solver.bestGuess(List.of()), dictionary.get(book.guess(List.of())));
+	}
+
+	@Test
+	public void testOpen_whenDictionaryChanges() throws IOException {
+		// given
+		WordIndex other = new WordIndex(List.of("apple", "grape", "pears"));
+
+		// when
+		OpeningBook.open(solver, 6, cacheDir);
+		OpeningBook book = OpeningBook.open(new Solver(FeedbackTable.direct(other)), 6, cacheDir);
+
+		// then
+		assertNotEquals(OpeningBook.cacheFile(dictionary, 6, cacheDir), OpeningBook.cacheFile(other, 6, cacheDir));
+		assertSame(other, book.dictionary());
+		assertEquals("apple", other.get(book.guess(List.of())));
+	}
+}
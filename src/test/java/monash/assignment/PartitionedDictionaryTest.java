@@ -0,0 +1,52 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedDictionaryTest {
+	private PartitionedDictionary dictionary;
+
+	@BeforeEach
+	public void setup() {
+		dictionary = new PartitionedDictionary(List.of("tree", "apple", "grape", "orange", "fig", "kiwifruits", "Whirs", "apple"));
+	}
+
+	@Test
+	public void testForLength_splitsWordsByLength() {
+		// then
+		assertEquals(4, dictionary.size());
+		assertEquals(List.of("tree"), dictionary.forLength(4));
+		assertEquals(List.of("apple", "grape"), dictionary.forLength(5));
+		assertEquals(List.of("orange"), dictionary.forLength(6));
+		assertTrue(dictionary.forLength(8).isEmpty());
+		assertEquals(6, dictionary.forLength(6).length());
+	}
+
+	@Test
+	public void testForLength_whenLengthUnsupported() {
+		// then
+		assertThrows(IllegalArgumentException.class, () -> dictionary.forLength(3));
+		assertThrows(IllegalArgumentException.class, () -> dictionary.forLength(9));
+	}
+
+	@Test
+	public void testOfPacked_matchesWords() {
+		// when
+		PartitionedDictionary packed = PartitionedDictionary.ofPacked(dictionary.words());
+
+		// then
+		for (int length = WordIndex.MIN_LENGTH; length <= WordIndex.MAX_LENGTH; length++) {
+			assertEquals(dictionary.forLength(length), packed.forLength(length));
+		}
+	}
+
+	@Test
+	public void testOfPacked_whenValueIsNotAWord() {
+		// then
+		assertThrows(IllegalArgumentException.class, () -> PartitionedDictionary.ofPacked(new long[]{WordIndex.pack("apple"), 0}));
+	}
+}
@@ -0,0 +1,90 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerStatsTest {
+	private PlayerStats stats;
+
+	@BeforeEach
+	public void setup() {
+		stats = new PlayerStats();
+	}
+
+	@Test
+	public void testAdd_countsWinsAndStreaks() {
+		// when
+		stats.add(WordIndex.pack("apple"), 3, true);
+		stats.add(WordIndex.pack("grape"), 4, true);
+		stats.add(WordIndex.pack("pears"), 6, false);
+		stats.add(WordIndex.pack("angel"), 3, true);
+
+		// then
+		assertEquals(4, stats.played());
+		assertEquals(3, stats.wins());
+		assertEquals(0.75, stats.winRate());
+		assertEquals(1, stats.currentStreak());
+		assertEquals(2, stats.maxStreak());
+		assertEquals(2, stats.wonIn(3));
+		assertEquals(1, stats.wonIn(4));
+		assertEquals(0, stats.wonIn(6));
+	}
+
+	@Test
+	public void testAdd_whenMoreGuessesThanDefaultTries() {
+		// when
+		stats.add(WordIndex.pack("apple"), 9, true);
+
+		// then
+		assertEquals(1, stats.wonIn(9));
+		assertEquals(0, stats.wonIn(10));
+	}
+
+	@Test
+	public void testRecentTargets_stopAtRepeat() {
+		// given
+		WordIndex dictionary = new WordIndex(List.of("apple", "grape", "pears", "angel"));
+
+		// when
+		stats.add(WordIndex.pack("apple"), 1, true);
+		stats.add(WordIndex.pack("grape"), 1, true);
+		stats.add(WordIndex.pack("apple"), 1, true);
+		stats.add(WordIndex.pack("orange"), 1, true);
+		stats.add(WordIndex.pack("pears"), 1, true);
+
+		// then
+		assertEquals(Set.of("apple", "grape", "pears"), stats.recentTargets(dictionary));
+	}
+
+	@Test
+	public void testWrite_roundTrip() {
+		// given
+		stats.add(WordIndex.pack("apple"), 2, true);
+		stats.add(WordIndex.pack("grape"), 6, false);
+		ByteBuffer buffer = ByteBuffer.allocate(stats.bytes());
+
+		// when
+		stats.write(buffer);
+		PlayerStats read = PlayerStats.read(buffer.flip());
+
+		// then
+		assertEquals(stats.toString(), read.toString());
+		assertEquals(2, read.played());
+		assertEquals(Set.of("grape", "apple"), read.recentTargets(new WordIndex(List.of("apple", "grape"))));
+	}
+
+	@Test
+	public void testRead_whenBufferTooShort() {
+		// given
+		ByteBuffer buffer = ByteBuffer.allocate(20).putInt(3).putInt(0).putInt(0).putInt(0).putInt(0).flip();
+
+		// then
+		assertThrows(IllegalArgumentException.class, () -> PlayerStats.read(buffer));
+	}
+}
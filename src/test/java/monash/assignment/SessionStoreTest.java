@@ -0,0 +1,212 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class SessionStoreTest {
+	private WordIndex dictionary;
+	private Solver solver;
+	private AtomicLong clock;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		dictionary = new WordIndex(Files.readAllLines(Path.of("src/test/resources/dictionary.txt")));
+		solver = new Solver(FeedbackTable.direct(dictionary));
+		clock = new AtomicLong();
+	}
+
+	private SessionStore store(Duration ttl, long maxBytes) {
+		return new SessionStore(dictionary, solver, ttl, maxBytes, clock::get);
+	}
+
+	private Commandle session(String target, String... guesses) {
+		Commandle commandle = new Commandle();
+		commandle.setDictionary(dictionary);
+		commandle.setTargetWord(target);
+		commandle.getSessionTargets().add(target);
+
+		Game game = new Game(target, dictionary, Commandle.DEFAULT_TRIES);
+		for (String guess : guesses) {
+			game.getGuesses().add(guess);
+			game.play(guess);
+			game.setRound(game.getRound() + 1);
+		}
+		commandle.setGame(game);
+		return commandle;
+	}
+
+	@Test
+	public void testResume_restoresGameInProgress() {
+		// given
+		SessionStore store = store(Duration.ofMinutes(5), Long.MAX_VALUE);
+		Commandle paused = session("apple", "pears", "whirs");
+		paused.getSessionTargets().add("easel");
+
+		// when
+		store.pause("player", paused);
+		Commandle resumed = store.resume("player", GameIO.console());
+
+		// then
+		assertEquals("apple", resumed.getTargetWord());
+		assertEquals(Set.of("apple", "easel"), resumed.getSessionTargets());
+		assertEquals(3, resumed.getGame().getRound());
+		assertEquals(Commandle.DEFAULT_TRIES, resumed.getGame().getTries());
+		assertEquals(Set.of("pears", "whirs"), resumed.getGame().getGuesses());
+		assertEquals(paused.getGame().getTurns(), resumed.getGame().getTurns());
+		assertEquals(paused.getGame().remainingCandidateCount(), resumed.getGame().remainingCandidateCount());
+		assertEquals(0, store.size());
+		assertEquals(0, store.bytes());
+	}
+
+	@Test
+	public void testResume_keepsHardModeAndManyTries() {
+		// given
+		SessionStore store = store(Duration.ofMinutes(5), Long.MAX_VALUE);
+		Commandle paused = new Commandle();
+		paused.setDictionary(dictionary);
+		paused.setTargetWord("apple");
+		paused.setHardMode(true);
+		Game game = new Game("apple", dictionary, 200);
+		game.setHardMode(true);
+		game.getGuesses().add("pears");
+		game.play("pears");
+		game.setRound(130);
+		paused.setGame(game);
+
+		// when
+		store.pause("player", paused);
+		Commandle resumed = store.resume("player", GameIO.console());
+
+		// then
+		assertTrue(resumed.isHardMode());
+		assertTrue(resumed.getGame().isHardMode());
+		assertEquals(200, resumed.getGame().getTries());
+		assertEquals(130, resumed.getGame().getRound());
+		resumed.getGame().setIo(mock(GameIO.class));
+		assertFalse(resumed.getGame().guessValidity("tiger"));
+		assertEquals(1, resumed.getGame().getGuesses().size());
+	}
+
+	@Test
+	public void testPause_whenMultiBoardGame() {
+		// given
+		SessionStore store = store(Duration.ofMinutes(5), Long.MAX_VALUE);
+		Commandle paused = new Commandle();
+		paused.setDictionary(dictionary);
+		paused.setGame(new MultiBoardGame(List.of("apple", "tiger"), dictionary, 7));
+
+		// then
+		assertThrows(IllegalArgumentException.class, () -> store.pause("player", paused));
+		assertEquals(0, store.size());
+	}
+
+	@Test
+	public void testResume_betweenGames() {
+		// given
+		SessionStore store = store(Duration.ofMinutes(5), Long.MAX_VALUE);
+		Commandle paused = new Commandle();
+		paused.setDictionary(dictionary);
+		paused.getSessionTargets().add("apple");
+
+		// when
+		store.pause("player", paused);
+		Commandle resumed = store.resume("player", GameIO.console());
+
+		// then
+		assertNull(resumed.getTargetWord());
+		assertNull(resumed.getGame());
+		assertEquals(Set.of("apple"), resumed.getSessionTargets());
+	}
+
+	@Test
+	public void testResume_whenUnknown() {
+		// given
+		SessionStore store = store(Duration.ofMinutes(5), Long.MAX_VALUE);
+
+		// then
+		assertNull(store.resume("player", GameIO.console()));
+	}
+
+	@Test
+	public void testEvictExpired_whenIdleLongerThanTtl() {
+		// given
+		SessionStore store = store(Duration.ofSeconds(10), Long.MAX_VALUE);
+		store.pause("old", session("apple"));
+		clock.set(Duration.ofSeconds(6).toNanos());
+		store.pause("new", session("pears"));
+
+		// when
+		clock.set(Duration.ofSeconds(12).toNanos());
+		int evicted = store.evictExpired();
+
+		// then
+		assertEquals(1, evicted);
+		assertNull(store.resume("old", GameIO.console()));
+		assertNotNull(store.resume("new", GameIO.console()));
+	}
+
+	@Test
+	public void testPause_evictsLeastRecentlyUsedOverBudget() {
+		// given
+		SessionStore probe = store(Duration.ofMinutes(5), Long.MAX_VALUE);
+		probe.pause("probe", session("apple", "pears"));
+		SessionStore store = store(Duration.ofMinutes(5), probe.bytes() * 2);
+
+		// when
+		store.pause("first", session("apple", "pears"));
+		store.pause("second", session("apple", "pears"));
+		store.resume("first", GameIO.console());
+		store.pause("first", session("apple", "pears"));
+		store.pause("third", session("apple", "pears"));
+
+		// then
+		assertEquals(2, store.size());
+		assertNull(store.resume("second", GameIO.console()));
+		assertNotNull(store.resume("first", GameIO.console()));
+		assertNotNull(store.resume("third", GameIO.console()));
+	}
+
+	@Test
+	public void testSnapshot_usesBitsetForManyTargets() {
+		// given
+		Commandle commandle = new Commandle();
+		commandle.setDictionary(dictionary);
+		Set<String> targets = new HashSet<>(dictionary.subList(0, dictionary.size() / 2));
+		commandle.setSessionTargets(targets);
+
+		// when
+		SessionStore.Snapshot snapshot = SessionStore.Snapshot.of(commandle, dictionary);
+		Commandle restored = snapshot.restore(dictionary, solver, GameIO.console());
+
+		// then
+		assertNull(snapshot.targetIndices());
+		assertNotNull(snapshot.targetBits());
+		assertTrue(snapshot.bytes() < dictionary.size() / 8 + 128);
+		assertEquals(targets, restored.getSessionTargets());
+	}
+
+	@Test
+	public void testSnapshot_isCompact() {
+		// given
+		Commandle commandle = session("apple", "pears", "whirs");
+
+		// when
+		SessionStore.Snapshot snapshot = SessionStore.Snapshot.of(commandle, dictionary);
+
+		// then
+		assertNotNull(snapshot.targetIndices());
+		assertTrue(snapshot.bytes() < 128);
+	}
+}
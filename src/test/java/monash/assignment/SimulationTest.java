@@ -0,0 +1,98 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationTest {
+	private WordIndex dictionary;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		dictionary = new WordIndex(Files.readAllLines(Path.of("src/test/resources/dictionary.txt")));
+	}
+
+	@Test
+	public void testRunAll_playsEveryTarget() {
+		// given
+		Simulation simulation = new Simulation(dictionary, 6, GuessStrategy.firstCandidate());
+
+		// when
+		Simulation.Result result = simulation.runAll();
+
+		// then
+		assertEquals(dictionary.size(), result.games());
+		assertEquals(dictionary.size(), Arrays.stream(result.distribution()).sum());
+		assertEquals(1, result.distribution()[1]);
+	}
+
+	@Test
+	public void testRunAll_whenWordsAreNotFiveLetters() {
+		// given
+		Simulation fourLetters = new Simulation(new WordIndex(List.of("bark", "bare", "barn", "dark"), 4), 6, GuessStrategy.firstCandidate());
+		Simulation sixLetters = new Simulation(new WordIndex(List.of("banana", "bandit", "cabana", "canopy"), 6), 6, GuessStrategy.firstCandidate());
+
+		// when
+		Simulation.Result four = fourLetters.runAll();
+		Simulation.Result six = sixLetters.runAll();
+
+		// then
+		assertEquals(4, four.games());
+		assertEquals(0, four.failures());
+		assertEquals(1, four.distribution()[1]);
+		assertEquals(0, six.failures());
+		assertEquals(1, six.distribution()[1]);
+	}
+
+	@Test
+	public void testRun_withEntropyStrategy() {
+		// given
+		Simulation simulation = new Simulation(dictionary, 6, GuessStrategy.entropy(new Solver(FeedbackTable.direct(dictionary))));
+
+		// when
+		Simulation.Result result = simulation.run(40, 7);
+
+		// then
+		assertEquals(40, result.games());
+		assertEquals(0, result.failures());
+		assertTrue(result.averageGuesses() > 1);
+	}
+
+	@Test
+	public void testPlay_whenStrategyGivesUp() {
+		// given
+		Simulation simulation = new Simulation(dictionary, 6, game -> null);
+
+		// then
+		assertEquals(0, simulation.play("apple"));
+	}
+
+	@Test
+	public void testPlay_whenOutOfTries() {
+		// given
+		List<String> guesses = List.of("pears", "whirs", "easel");
+		Simulation simulation = new Simulation(dictionary, 3, game -> guesses.get(game.getTurns().size()));
+
+		// then
+		assertEquals(0, simulation.play("apple"));
+	}
+
+	@Test
+	public void testResult_report() {
+		// given
+		Simulation.Result result = new Simulation.Result(4, new long[]{1, 0, 2, 1}, 2_000_000_000L);
+
+		// then
+		assertEquals(0.25, result.failureRate());
+		assertEquals(2.0, result.gamesPerSecond());
+		assertEquals(7.0 / 3, result.averageGuesses(), 1e-9);
+		assertTrue(result.toString().contains("Failures: 1 (25.00%) with 3 tries"));
+	}
+}
@@ -0,0 +1,117 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolverTest {
+	private WordIndex dictionary;
+
+	private Solver solver;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		dictionary = new WordIndex(Files.readAllLines(Path.of("src/test/resources/dictionary.txt")));
+		solver = new Solver(FeedbackTable.direct(dictionary));
+	}
+
+	@Test
+	public void testCandidates_matchEveryTurn() {
+		// given
+		Game game = new Game("apple", dictionary, 6);
+		game.play("grape");
+		int[] candidates = new int[dictionary.size()];
+
+		// when
+		int count = solver.candidates(game.getTurns(), candidates);
+
+		// then
+		assertTrue(count > 0);
+		long grape = WordIndex.pack("grape");
+		int code = Feedback.score(grape, WordIndex.pack("apple"));
+		for (int i = 0; i < count; i++) {
+			assertEquals(code, Feedback.score(grape, dictionary.packedAt(candidates[i])));
+		}
+	}
+
+	@Test
+	public void testBestGuess_maximizesEntropy() {
+		// given
+		int[] candidates = new int[dictionary.size()];
+		int count = solver.candidates(List.of(), candidates);
+
+		// when
+		int best = solver.bestGuess(candidates, count);
+
+		// then
+		double bestEntropy = solver.entropy(best, candidates, count);
+		for (int guess = 0; guess < dictionary.size(); guess += 97) {
+			assertTrue(solver.entropy(guess, candidates, count) <= bestEntropy);
+		}
+	}
+
+	@Test
+	public void testBestGuess_reusesOpeningGuess() {
+		// given
+		Game game = new Game("apple", dictionary, 6);
+
+		// then
+		assertEquals(solver.bestGuess(game), solver.bestGuess(game));
+	}
+
+	@Test
+	public void testBestGuess_solvesGame() {
+		// given
+		Game game = new Game("apple", dictionary, 6);
+		int code = 0;
+
+		// when
+		while (game.getTurns().size() < 6 && code != Feedback.ALL_CORRECT) {
+			code = game.play(solver.bestGuess(game));
+		}
+
+		// then
+		assertEquals(Feedback.ALL_CORRECT, code);
+	}
+
+	@Test
+	public void testBestGuess_whenNoCandidates() {
+		// given
+		List<Game.Turn> turns = List.of(new Game.Turn(WordIndex.pack("apple"), 0), new Game.Turn(WordIndex.pack("apple"), Feedback.ALL_CORRECT));
+
+		// then
+		assertNull(solver.bestGuess(turns));
+	}
+
+	@Test
+	public void testBestGuess_usesOpeningBook(@TempDir Path cacheDir) throws IOException {
+		// given
+		Game game = new Game("apple", dictionary, 6);
+		String expected = solver.bestGuess(game);
+		solver.setBook(OpeningBook.open(solver, 6, cacheDir));
+
+		// when
+		String guess = solver.bestGuess(game);
+
+		// then
+		assertNotNull(solver.getBook());
+		assertEquals(expected, guess);
+	}
+
+	@Test
+	public void testSetBook_whenDifferentDictionary(@TempDir Path cacheDir) throws IOException {
+		// given
+		WordIndex other = new WordIndex(List.of("apple", "grape", "pears"));
+		OpeningBook book = OpeningBook.open(new Solver(FeedbackTable.direct(other)), 6, cacheDir);
+
+		// then
+		assertThrows(IllegalArgumentException.class, () -> solver.setBook(book));
+	}
+}
@@ -0,0 +1,136 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatsJournalTest {
+	private static final long APPLE = WordIndex.pack("apple");
+	private static final long GRAPE = WordIndex.pack("grape");
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void testOpen_replaysRecordedGames() throws IOException {
+		// given
+		try (StatsJournal journal = StatsJournal.open(dir)) {
+			journal.record(1, APPLE, new long[]{GRAPE, APPLE}, true);
+			journal.record(2, GRAPE, new long[]{APPLE, APPLE, APPLE}, false);
+		}
+
+		// when
+		PlayerStats stats;
+		try (StatsJournal journal = StatsJournal.open(dir)) {
+			stats = journal.stats();
+		}
+
+		// then
+		assertEquals(2, stats.played());
+		assertEquals(1, stats.wins());
+		assertEquals(1, stats.wonIn(2));
+		assertEquals(0, stats.currentStreak());
+		assertFalse(Files.exists(dir.resolve(StatsJournal.SNAPSHOT_FILE)));
+	}
+
+	@Test
+	public void testFlush_compactsIntoSnapshot() throws IOException {
+		// given
+		int games = 10_000;
+		try (StatsJournal journal = StatsJournal.open(dir, 100)) {
+			for (int i = 0; i < games; i++) {
+				journal.record(i, APPLE, new long[]{APPLE}, true);
+				if (i % 10 == 0) {
+					journal.flush();
+				}
+			}
+		}
+
+		// when
+		PlayerStats stats;
+		try (StatsJournal journal = StatsJournal.open(dir, 100)) {
+			stats = journal.stats();
+		}
+
+		// then
+		assertEquals(games, stats.played());
+		assertEquals(games, stats.maxStreak());
+		assertEquals(games, stats.wonIn(1));
+		assertTrue(Files.size(dir.resolve(StatsJournal.JOURNAL_FILE)) < 110 * 40);
+	}
+
+	@Test
+	public void testOpen_skipsGamesAlreadyInSnapshot() throws IOException {
+		// given
+		try (StatsJournal journal = StatsJournal.open(dir)) {
+			journal.record(1, APPLE, new long[]{APPLE}, true);
+			journal.flush();
+			byte[] uncompacted = Files.readAllBytes(dir.resolve(StatsJournal.JOURNAL_FILE));
+			journal.compact();
+			Files.write(dir.resolve(StatsJournal.JOURNAL_FILE), uncompacted);
+		}
+
+		// when
+		PlayerStats stats;
+		try (StatsJournal journal = StatsJournal.open(dir)) {
+			stats = journal.stats();
+		}
+
+		// then
+		assertEquals(1, stats.played());
+	}
+
+	@Test
+	public void testOpen_dropsIncompleteRecord() throws IOException {
+		// given
+		try (StatsJournal journal = StatsJournal.open(dir)) {
+			journal.record(1, APPLE, new long[]{APPLE}, true);
+			journal.record(2, GRAPE, new long[]{APPLE, GRAPE}, true);
+		}
+		Path file = dir.resolve(StatsJournal.JOURNAL_FILE);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() - 3);
+		}
+
+		// when
+		try (StatsJournal journal = StatsJournal.open(dir)) {
+			journal.record(3, GRAPE, new long[]{GRAPE}, true);
+		}
+		PlayerStats stats;
+		try (StatsJournal journal = StatsJournal.open(dir)) {
+			stats = journal.stats();
+		}
+
+		// then
+		assertEquals(2, stats.played());
+		assertEquals(2, stats.wonIn(1));
+	}
+
+	@Test
+	public void testOpen_whenSnapshotIsCorrupt() throws IOException {
+		// given
+		try (StatsJournal journal = StatsJournal.open(dir)) {
+			journal.record(1, APPLE, new long[]{APPLE}, true);
+			journal.compact();
+			journal.record(2, GRAPE, new long[]{GRAPE}, true);
+		}
+		Path snapshot = dir.resolve(StatsJournal.SNAPSHOT_FILE);
+		Files.write(snapshot, new byte[(int) Files.size(snapshot)]);
+
+		// when
+		PlayerStats stats;
+		try (StatsJournal journal = StatsJournal.open(dir)) {
+			stats = journal.stats();
+		}
+
+		// then
+		assertEquals(1, stats.played());
+	}
+}
@@ -0,0 +1,99 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordDawgTest {
+	private List<String> words;
+
+	private WordDawg dawg;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		words = Files.readAllLines(Path.of("src/test/resources/dictionary.txt"));
+		dawg = new WordIndex(words).dawg();
+	}
+
+	@Test
+	public void testContains_everyWord() {
+		// then
+		assertEquals(new WordIndex(words).size(), dawg.size());
+		for (String word : words) {
+			assertTrue(dawg.contains(word), word);
+		}
+	}
+
+	@Test
+	public void testContains_whenNotAWord() {
+		// then
+		assertFalse(dawg.contains("zzzzz"));
+		assertFalse(dawg.contains("appl"));
+		assertFalse(dawg.contains("apples"));
+		assertFalse(dawg.contains("APPLE"));
+		assertFalse(dawg.contains(""));
+	}
+
+	@Test
+	public void testCount_matchesPrefixFilter() {
+		// given
+		List<String> prefixes = List.of("", "a", "ap", "sta", "zz", "appl", "apple", "q");
+
+		for (String prefix : prefixes) {
+			// when
+			int count = dawg.count(prefix);
+
+			// then
+			assertEquals(words.stream().distinct().filter(word -> word.startsWith(prefix)).count(), count, prefix);
+		}
+	}
+
+	@Test
+	public void testComplete_inAlphabeticalOrder() {
+		// given
+		List<String> expected = words.stream().distinct().filter(word -> word.startsWith("st")).sorted().limit(5).toList();
+
+		// when
+		List<String> completions = dawg.complete("st", 5);
+
+		// then
+		assertEquals(expected, completions);
+	}
+
+	@Test
+	public void testComplete_whenNoWordStartsWithPrefix() {
+		// then
+		assertEquals(List.of(), dawg.complete("zzq", 5));
+		assertEquals(List.of(), dawg.complete("a1", 5));
+		assertEquals(List.of(), dawg.complete("a", 0));
+	}
+
+	@Test
+	public void testBuild_sharesSuffixes() {
+		// given
+		WordDawg small = new WordIndex(List.of("tapes", "taper", "capes", "caper")).dawg();
+
+		// then
+		assertEquals(4, small.size());
+		assertEquals(6, small.nodes());
+		assertEquals(7, small.edges());
+		assertTrue(dawg.edges() < words.size() * WordIndex.WORD_LENGTH / 2);
+	}
+
+	@Test
+	public void testBuild_whenEmpty() {
+		// given
+		WordDawg empty = WordIndex.EMPTY.dawg();
+
+		// then
+		assertEquals(0, empty.size());
+		assertFalse(empty.contains("apple"));
+		assertEquals(List.of(), empty.complete("", 5));
+	}
+}
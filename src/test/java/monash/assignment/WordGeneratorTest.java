@@ -24,7 +24,7 @@ class WordGeneratorTest {
 		dictionary = List.of("apple", "whirs", "ultra", "pears", "grape");
 		sessionTargets = new HashSet<>();
 
-		wordGenerator = new WordGenerator(dictionary, sessionTargets);
+		wordGenerator = new WordGenerator(new WordIndex(dictionary), sessionTargets);
 	}
 
 	@Test
@@ -84,4 +84,118 @@ class WordGeneratorTest {
 		// then
 		assertNotNull(result);
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testGenerateTargetWord_drawsEveryWordOnce() {
+		// given
+		Set<String> drawn = new HashSet<>();
+
+		// when
+		for (int i = 0; i < dictionary.size(); i++) {
+			drawn.add(wordGenerator.generateTargetWord());
+		}
+
+		// then
+		assertEquals(Set.copyOf(dictionary), drawn);
+		assertEquals(Set.copyOf(dictionary), sessionTargets);
+		assertThrows(IllegalStateException.class, () -> wordGenerator.generateTargetWord());
+	}
+
+	@Test
+	public void testGenerateTargetWord_skipsSessionTargets() {
+		// given
+		sessionTargets.addAll(List.of("apple", "whirs", "ultra", "pears"));
+
+		// when
+		String result = wordGenerator.generateTargetWord();
+
+		// then
+		assertEquals("grape", result);
+	}
+
+	@Test
+	public void testGenerateTargetWord_whenSessionTargetsCleared() {
+		// given
+		for (int i = 0; i < dictionary.size(); i++) {
+			wordGenerator.generateTargetWord();
+		}
+		sessionTargets.clear();
+
+		// when
+		String result = wordGenerator.generateTargetWord();
+
+		// then
+		assertTrue(dictionary.contains(result));
+	}
+
+	@Test
+	public void testGenerateTargetWord_whenSeeded() {
+		// given
+		WordGenerator first = new WordGenerator(new WordIndex(dictionary), new HashSet<>(), 42);
+		WordGenerator second = new WordGenerator(new WordIndex(dictionary), new HashSet<>(), 42);
+
+		// then
+		for (int i = 0; i < dictionary.size(); i++) {
+			assertEquals(first.generateTargetWord(), second.generateTargetWord());
+		}
+	}
+
+	@Test
+	public void testGenerateTargetWords_drawsDistinctWordsOutsideSession() {
+		// given
+		sessionTargets.add("apple");
+
+		// when
+		String[] words = wordGenerator.generateTargetWords(4);
+
+		// then
+		assertEquals(Set.of("whirs", "ultra", "pears", "grape"), Set.of(words));
+		assertEquals(new HashSet<>(dictionary), sessionTargets);
+	}
+
+	@Test
+	public void testGenerateTargetWords_whenTooFewWordsLeft() {
+		// given
+		sessionTargets.add("apple");
+		sessionTargets.add("grape");
+
+		// then
+		assertThrows(IllegalStateException.class, () -> wordGenerator.generateTargetWords(4));
+		assertEquals(Set.of("apple", "grape"), sessionTargets);
+		assertEquals(3, wordGenerator.generateTargetWords(3).length);
+	}
+
+	@Test
+	public void testGenerateTargetWords_afterPartialRemovals() {
+		// given
+		for (int i = 0; i < dictionary.size(); i++) {
+			wordGenerator.generateTargetWord();
+		}
+		sessionTargets.remove("apple");
+		sessionTargets.remove("grape");
+
+		// when
+		String[] words = wordGenerator.generateTargetWords(2);
+
+		// then
+		assertEquals(Set.of("apple", "grape"), Set.of(words));
+		assertEquals(Set.copyOf(dictionary), sessionTargets);
+		assertThrows(IllegalStateException.class, () -> wordGenerator.generateTargetWords(1));
+	}
+
+	@Test
+	public void testGenerateTargetWord_afterPartialRemoval() {
+		// given
+		for (int i = 0; i < dictionary.size(); i++) {
+			wordGenerator.generateTargetWord();
+		}
+		sessionTargets.remove("ultra");
+
+		// when
+		String word = wordGenerator.generateTargetWord();
+
+		// then
+		assertEquals("ultra", word);
+		assertThrows(IllegalStateException.class, () -> wordGenerator.generateTargetWord());
+	}
+}
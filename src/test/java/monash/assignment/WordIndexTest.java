@@ -0,0 +1,105 @@
+package monash.assignment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordIndexTest {
+	private WordIndex wordIndex;
+
+	@BeforeEach
+	public void setup() {
+		wordIndex = new WordIndex(List.of("apple", "grape", "pears", "apple", "banana", "Whirs", "12345"));
+	}
+
+	@Test
+	public void testSize_skipsDuplicateAndInvalidWords() {
+		// then
+		assertEquals(3, wordIndex.size());
+		assertEquals(List.of("apple", "grape", "pears"), wordIndex);
+	}
+
+	@Test
+	public void testContains_whenWordInIndex() {
+		// then
+		assertTrue(wordIndex.contains("grape"));
+		assertEquals(1, wordIndex.indexOf("grape"));
+	}
+
+	@Test
+	public void testContains_whenWordNotInIndex() {
+		// then
+		assertFalse(wordIndex.contains("whirs"));
+		assertFalse(wordIndex.contains("banana"));
+		assertFalse(wordIndex.contains(""));
+		assertFalse(wordIndex.contains(null));
+		assertEquals(-1, wordIndex.indexOf("lapel"));
+	}
+
+	@Test
+	public void testPack_roundTrip() {
+		// given
+		long packed = WordIndex.pack("zymic");
+
+		// then
+		assertEquals("zymic", WordIndex.unpack(packed));
+		assertEquals('y' - 'a', WordIndex.letter(packed, 1));
+	}
+
+	@Test
+	public void testPack_keepsAlphabeticalOrder() {
+		// then
+		assertTrue(WordIndex.pack("aahed") < WordIndex.pack("aalii"));
+		assertTrue(WordIndex.pack("yzzzz") < WordIndex.pack("zaaaa"));
+	}
+
+	@Test
+	public void testPack_whenInvalidWord() {
+		// then
+		assertEquals(WordIndex.INVALID, WordIndex.pack("app"));
+		assertEquals(WordIndex.INVALID, WordIndex.pack("applesauce"));
+		assertEquals(WordIndex.INVALID, WordIndex.pack("Apple"));
+		assertEquals(WordIndex.INVALID, WordIndex.pack("app1e"));
+	}
+
+	@Test
+	public void testEmpty() {
+		// then
+		assertEquals(0, WordIndex.EMPTY.size());
+		assertFalse(WordIndex.EMPTY.contains("apple"));
+	}
+
+	@Test
+	public void testPack_roundTripOfEveryLength() {
+		for (String word : List.of("tree", "apple", "orange", "bananas", "mandarin")) {
+			// when
+			long packed = WordIndex.pack(word);
+
+			// then
+			assertEquals(word.length(), WordIndex.length(packed));
+			assertEquals(word, WordIndex.unpack(packed));
+			assertEquals(word.charAt(word.length() - 1) - 'a', WordIndex.letter(packed, word.length() - 1));
+		}
+	}
+
+	@Test
+	public void testConstructor_whenLengthGiven() {
+		// given
+		WordIndex sixes = new WordIndex(List.of("apple", "orange", "banana", "tree"), 6);
+
+		// then
+		assertEquals(6, sixes.length());
+		assertEquals(List.of("orange", "banana"), sixes);
+		assertFalse(sixes.contains("apple"));
+	}
+
+	@Test
+	public void testConstructor_whenLengthUnsupported() {
+		// then
+		assertThrows(IllegalArgumentException.class, () -> new WordIndex(List.of("fig"), 3));
+		assertThrows(IllegalArgumentException.class, () -> new WordIndex(List.of(), 9));
+	}
+}